@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.springcloud.streaminglog;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a {@code follow=true} log stream line by line and hands the lines to the listener in batches.
+ * <ul>
+ *     <li>Lines not yet flushed are kept in a bounded buffer, the oldest ones are dropped if the listener can't keep up.</li>
+ *     <li>When the stream ends or drops, it's reconnected with {@code sinceSeconds} derived from the time the last line was
+ *     received, and the replayed lines already received are skipped. No {@code limitBytes} is set, since the server ends a
+ *     followed stream once the limit is reached.</li>
+ * </ul>
+ */
+public class ResumableLogStream {
+    static final int MAX_BUFFERED_LINES = 10_000;
+    static final long FLUSH_INTERVAL_MILLIS = 100;
+    static final int MAX_RECONNECT_ATTEMPTS = 10;
+    static final long INITIAL_RECONNECT_DELAY_MILLIS = 1000;
+    static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+    // the replay starts at most a second before the last line received, keep a second more for the latency
+    static final long RECENT_LINES_WINDOW_MILLIS = 2000;
+
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "azure-spring-cloud-log-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Connector connector;
+    private final Listener listener;
+    private final long initialReconnectDelayMillis;
+
+    private final Deque<String> buffer = new ArrayDeque<>();
+    private final Object flushLock = new Object();
+    private int droppedLines = 0;
+    // lines received lately with the time they are received, to skip the ones replayed after reconnecting
+    private final Deque<SimpleImmutableEntry<String, Long>> recentLines = new ArrayDeque<>();
+
+    private volatile boolean running = false;
+    private volatile InputStream current;
+    private volatile long lastReceivedTime;
+    private Thread reader;
+    private ScheduledFuture<?> flushTask;
+
+    public ResumableLogStream(Connector connector, Listener listener) {
+        this(connector, listener, INITIAL_RECONNECT_DELAY_MILLIS);
+    }
+
+    ResumableLogStream(Connector connector, Listener listener, long initialReconnectDelayMillis) {
+        this.connector = connector;
+        this.listener = listener;
+        this.initialReconnectDelayMillis = initialReconnectDelayMillis;
+    }
+
+    /**
+     * Start reading the already opened stream in background.
+     */
+    public synchronized void start(InputStream initial) {
+        if (running) {
+            return;
+        }
+        running = true;
+        current = initial;
+        lastReceivedTime = System.currentTimeMillis();
+        flushTask = FLUSHER.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        reader = new Thread(this::read, "azure-spring-cloud-log-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        closeQuietly(current);
+        if (reader != null) {
+            reader.interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void read() {
+        int failures = 0;
+        boolean resumed = false;
+        try {
+            while (running) {
+                final InputStream stream = current;
+                if (stream != null) {
+                    if (readLines(stream, resumed)) {
+                        failures = 0;
+                    }
+                    closeQuietly(stream);
+                }
+                if (!running) {
+                    break;
+                }
+                if (++failures > MAX_RECONNECT_ATTEMPTS) {
+                    systemMessage(String.format("Failed to reconnect after %d attempts.\n", MAX_RECONNECT_ATTEMPTS));
+                    break;
+                }
+                systemMessage("Streaming Log is disconnected, reconnecting...\n");
+                Thread.sleep(Math.min(MAX_RECONNECT_DELAY_MILLIS, initialReconnectDelayMillis << Math.min(failures - 1, 16)));
+                current = connectQuietly();
+                resumed = true;
+            }
+        } catch (final InterruptedException e) {
+            // stopped while waiting to reconnect
+        } finally {
+            running = false;
+            synchronized (this) {
+                if (flushTask != null) {
+                    flushTask.cancel(false);
+                }
+            }
+            flush();
+            listener.onStopped();
+        }
+    }
+
+    /**
+     * @return whether any new line is read from the stream
+     */
+    private boolean readLines(InputStream stream, boolean resumed) {
+        boolean received = false;
+        // the replay after reconnecting is a run of the recent lines, from the one it starts with to the last one
+        final List<String> replayed = new ArrayList<>();
+        if (resumed) {
+            recentLines.forEach(entry -> replayed.add(entry.getKey()));
+        }
+        int replayCursor = -1;
+        try (final BufferedReader lines = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while (running && (line = lines.readLine()) != null) {
+                lastReceivedTime = System.currentTimeMillis();
+                if (!replayed.isEmpty()) {
+                    if (replayCursor < 0) {
+                        replayCursor = replayed.indexOf(line);
+                    } else if (!line.equals(replayed.get(replayCursor))) {
+                        replayCursor = -1;
+                    }
+                    if (replayCursor >= 0) {
+                        if (++replayCursor == replayed.size()) {
+                            replayed.clear();
+                        }
+                        continue;
+                    }
+                    // the replay doesn't go on with the recent lines, so the rest are new
+                    replayed.clear();
+                }
+                received = true;
+                remember(line);
+                offer(line);
+            }
+        } catch (final IOException e) {
+            if (running) {
+                systemMessage(String.format("Streaming Log is interrupted due to error : %s.\n", e.getMessage()));
+            }
+        }
+        return received;
+    }
+
+    private InputStream connectQuietly() {
+        final long elapsedMillis = System.currentTimeMillis() - lastReceivedTime;
+        final int sinceSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(elapsedMillis) + 1);
+        try {
+            return connector.connect(sinceSeconds);
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    private void remember(String line) {
+        final long now = lastReceivedTime;
+        recentLines.addLast(new SimpleImmutableEntry<>(line, now));
+        while (recentLines.size() > MAX_BUFFERED_LINES ||
+                now - recentLines.getFirst().getValue() > RECENT_LINES_WINDOW_MILLIS) {
+            recentLines.removeFirst();
+        }
+    }
+
+    private void offer(String line) {
+        synchronized (buffer) {
+            if (buffer.size() >= MAX_BUFFERED_LINES) {
+                buffer.removeFirst();
+                droppedLines++;
+            }
+            buffer.addLast(line);
+        }
+    }
+
+    private void systemMessage(String message) {
+        // keep the message after the lines received before it
+        synchronized (flushLock) {
+            flush();
+            listener.onSystemMessage(message);
+        }
+    }
+
+    void flush() {
+        synchronized (flushLock) {
+            final StringBuilder text = new StringBuilder();
+            final int dropped;
+            synchronized (buffer) {
+                dropped = droppedLines;
+                droppedLines = 0;
+                for (final String line : buffer) {
+                    text.append(line).append('\n');
+                }
+                buffer.clear();
+            }
+            if (dropped > 0) {
+                listener.onSystemMessage(String.format("... %d lines are skipped as the log is too verbose ...\n", dropped));
+            }
+            if (text.length() > 0) {
+                listener.onLines(text.toString());
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.close();
+        } catch (final IOException e) {
+            // swallow io exception when close
+        }
+    }
+
+    @FunctionalInterface
+    public interface Connector {
+        /**
+         * Open the followed log stream from {@code sinceSeconds} ago, or with the last lines if it's 0.
+         */
+        InputStream connect(int sinceSeconds) throws IOException;
+    }
+
+    public interface Listener {
+        void onLines(String text);
+
+        void onSystemMessage(String message);
+
+        void onStopped();
+    }
+}
@@ -8,7 +8,6 @@ package com.microsoft.azure.toolkit.intellij.springcloud.streaminglog;
 import com.intellij.execution.impl.ConsoleViewImpl;
 import com.intellij.execution.ui.ConsoleViewContentType;
 import com.intellij.openapi.project.Project;
-import com.microsoft.applicationinsights.internal.util.ThreadPoolUtils;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperationBundle;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
@@ -17,20 +16,13 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.Scanner;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
 
 public class SpringCloudStreamingLogConsoleView extends ConsoleViewImpl {
 
-    private ConsoleViewStatus status;
-    private ExecutorService executorService;
+    private volatile ConsoleViewStatus status;
 
     private final String resourceName;
-    private InputStream logInputStream;
+    private volatile ResumableLogStream logStream;
 
     public SpringCloudStreamingLogConsoleView(@NotNull Project project, String resourceName) {
         super(project, true);
@@ -46,42 +38,44 @@ public class SpringCloudStreamingLogConsoleView extends ConsoleViewImpl {
         this.status = status;
     }
 
-    public void startLog(Supplier<? extends InputStream> inputStreamSupplier) throws IOException {
+    public void startLog(ResumableLogStream.Connector connector) throws IOException {
         synchronized (this) {
             if (getStatus() != ConsoleViewStatus.STOPPED) {
                 return;
             }
             setStatus(ConsoleViewStatus.STARTING);
         }
-        logInputStream = inputStreamSupplier.get();
+        final InputStream logInputStream = connector.connect(0);
         if (logInputStream == null) {
             shutdown();
             throw new IOException("Failed to get log streaming content");
         }
         synchronized (this) {
             if (getStatus() != ConsoleViewStatus.STARTING) {
+                logInputStream.close();
                 return;
             }
             setStatus(ConsoleViewStatus.ACTIVE);
         }
         this.print("Streaming Log Start.\n", ConsoleViewContentType.SYSTEM_OUTPUT);
-        executorService = Executors.newSingleThreadExecutor();
-        executorService.submit(() -> {
-            try (final Scanner scanner = new Scanner(new InputStreamReader(logInputStream))) {
-                while (getStatus() == ConsoleViewStatus.ACTIVE && scanner.hasNext()) {
-                    final String log = scanner.nextLine();
-                    SpringCloudStreamingLogConsoleView.this.print(log + "\n", ConsoleViewContentType.NORMAL_OUTPUT);
-                    Thread.sleep(50);
-                }
-            } catch (final InterruptedException e) {
-                // swallow interrupt exception while shutdown
-            } catch (final Exception e) {
-                this.print(String.format("Streaming Log is interrupted due to error : %s.\n", e.getMessage()), ConsoleViewContentType.SYSTEM_OUTPUT);
-            } finally {
-                print("Streaming Log stops.\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+        logStream = new ResumableLogStream(connector, new ResumableLogStream.Listener() {
+            @Override
+            public void onLines(String text) {
+                SpringCloudStreamingLogConsoleView.this.print(text, ConsoleViewContentType.NORMAL_OUTPUT);
+            }
+
+            @Override
+            public void onSystemMessage(String message) {
+                SpringCloudStreamingLogConsoleView.this.print(message, ConsoleViewContentType.SYSTEM_OUTPUT);
+            }
+
+            @Override
+            public void onStopped() {
+                SpringCloudStreamingLogConsoleView.this.print("Streaming Log stops.\n", ConsoleViewContentType.SYSTEM_OUTPUT);
                 setStatus(ConsoleViewStatus.STOPPED);
             }
         });
+        logStream.start(logInputStream);
     }
 
     public void shutdown() {
@@ -93,16 +87,11 @@ public class SpringCloudStreamingLogConsoleView extends ConsoleViewImpl {
         }
         final AzureString title = AzureOperationBundle.title("springcloud|log_stream.close", resourceName);
         AzureTaskManager.getInstance().runInBackground(new AzureTask<>(getProject(), title, false, () -> {
-            try {
-                if (logInputStream != null) {
-                    logInputStream.close();
-                }
-                if (executorService != null) {
-                    ThreadPoolUtils.stop(executorService, 100, TimeUnit.MICROSECONDS);
-                }
-            } catch (final IOException e) {
-                // swallow io exception when close
-            } finally {
+            final ResumableLogStream stream = logStream;
+            if (stream != null && stream.isRunning()) {
+                // the status is set to STOPPED once the reader exits
+                stream.stop();
+            } else {
                 setStatus(ConsoleViewStatus.STOPPED);
             }
         }));
@@ -41,11 +41,12 @@ public class SpringCloudStreamingLogManager {
         final AzureString title = AzureOperationBundle.title("springcloud|log_stream.start", instanceName);
         AzureTaskManager.getInstance().runInBackground(new AzureTask<>(project, title, false, () -> {
             try {
-                consoleView.startLog(() -> {
+                // tail the last lines at first, and resume from the last received line after reconnecting
+                consoleView.startLog(sinceSeconds -> {
                     try {
-                        return getLogStream(app, instanceName, 0, 10, 0, true);
-                    } catch (final IOException | HttpException e) {
-                        return null;
+                        return getLogStream(app, instanceName, sinceSeconds, sinceSeconds > 0 ? 0 : 10, 0, true);
+                    } catch (final HttpException e) {
+                        throw new IOException(e);
                     }
                 });
                 StreamingLogsToolWindowManager.getInstance().showStreamingLogConsole(project, instanceName, instanceName, consoleView);
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.springcloud.streaminglog;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResumableLogStreamTest {
+    private static final long RECONNECT_DELAY_MILLIS = 10;
+
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    // the [from, to] line numbers written by each request, the last one is repeated for the following requests
+    private List<int[]> responses;
+    private HttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/log", this::respond);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testReplayedLinesSkippedAfterDisconnects() throws Exception {
+        // more lines are replayed after each drop than a line count based dedupe could hold
+        responses = Arrays.asList(new int[]{1, 200}, new int[]{51, 300}, new int[]{250, 300});
+        final ResumableLogStream stream = start();
+
+        awaitLine("line 300");
+        stream.stop();
+
+        assertTrue(stopped.await(10, TimeUnit.SECONDS));
+        assertEquals(IntStream.rangeClosed(1, 300).mapToObj(i -> "line " + i).collect(Collectors.toList()), lines);
+        assertTrue(messages.contains("Streaming Log is disconnected, reconnecting...\n"));
+    }
+
+    @Test
+    public void testReconnectFollowsWithoutLimitBytes() throws Exception {
+        responses = Arrays.asList(new int[]{1, 10}, new int[]{5, 20});
+        final ResumableLogStream stream = start();
+
+        awaitLine("line 20");
+        stream.stop();
+
+        assertTrue(stopped.await(10, TimeUnit.SECONDS));
+        assertTrue(queries.size() >= 2);
+        // the server ends a followed stream once limitBytes is reached, which would end up with reconnecting endlessly
+        queries.forEach(query -> assertFalse(query, query.contains("limitBytes")));
+        assertTrue(queries.get(1), queries.get(1).matches("follow=true&sinceSeconds=[1-9]\\d*"));
+    }
+
+    @Test
+    public void testStoppedAfterReconnectAttempts() throws Exception {
+        responses = Arrays.asList(new int[]{1, 10}, new int[]{1, 10});
+        final ResumableLogStream stream = new ResumableLogStream(this::connect, new CollectingListener(), 1);
+        stream.start(connect(0));
+
+        assertTrue(stopped.await(30, TimeUnit.SECONDS));
+        assertFalse(stream.isRunning());
+        assertEquals(10, lines.size());
+        assertEquals(ResumableLogStream.MAX_RECONNECT_ATTEMPTS + 1, queries.size());
+        assertTrue(messages.contains(String.format("Failed to reconnect after %d attempts.\n", ResumableLogStream.MAX_RECONNECT_ATTEMPTS)));
+    }
+
+    private ResumableLogStream start() throws IOException {
+        final ResumableLogStream stream = new ResumableLogStream(this::connect, new CollectingListener(), RECONNECT_DELAY_MILLIS);
+        stream.start(connect(0));
+        return stream;
+    }
+
+    private InputStream connect(int sinceSeconds) throws IOException {
+        final String query = "follow=true" + (sinceSeconds > 0 ? "&sinceSeconds=" + sinceSeconds : "");
+        final HttpURLConnection connection = (HttpURLConnection) new URL(
+                String.format("http://localhost:%d/log?%s", server.getAddress().getPort(), query)).openConnection();
+        return connection.getInputStream();
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        queries.add(exchange.getRequestURI().getQuery());
+        final int[] range = responses.get(Math.min(queries.size(), responses.size()) - 1);
+        final List<String> written = new ArrayList<>();
+        for (int i = range[0]; i <= range[1]; i++) {
+            written.add("line " + i + "\n");
+        }
+        // the connection drops once the lines are written
+        exchange.sendResponseHeaders(200, 0);
+        try (final OutputStream body = exchange.getResponseBody()) {
+            body.write(String.join("", written).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void awaitLine(String line) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (!lines.contains(line) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(lines.contains(line));
+    }
+
+    private class CollectingListener implements ResumableLogStream.Listener {
+        @Override
+        public void onLines(String text) {
+            lines.addAll(Arrays.asList(text.split("\n")));
+        }
+
+        @Override
+        public void onSystemMessage(String message) {
+            messages.add(message);
+        }
+
+        @Override
+        public void onStopped() {
+            stopped.countDown();
+        }
+    }
+}
@@ -16,19 +16,32 @@ import com.microsoft.azure.hdinsight.spark.common.ADLSGen2Deploy;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import rx.Observable;
+import rx.Subscription;
+import rx.exceptions.Exceptions;
+import rx.schedulers.Schedulers;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class ADLSGen2FileSystem extends AzureStorageVirtualFileSystem {
     public static final String myProtocol = "abfs";
+    private static final long LISTING_TTL_MILLIS = TimeUnit.SECONDS.toMillis(30);
 
     @Nullable
     private HttpObservable http;
 
     private AbfsUri rootPathUri;
     private ADLSGen2FSOperation op;
+    private final Map<String, DirectoryListing> listings = new ConcurrentHashMap<>();
+    private final List<Consumer<VirtualFile>> listingUpdatedListeners = new CopyOnWriteArrayList<>();
 
     public ADLSGen2FileSystem(@NotNull HttpObservable http, @NotNull AbfsUri rootPathUri) {
         this.http = http;
@@ -42,34 +55,156 @@ public class ADLSGen2FileSystem extends AzureStorageVirtualFileSystem {
         return myProtocol;
     }
 
+    /**
+     * List the children of the directory. The listing is cached for a short while and fetched page by page: the call
+     * waits for the first page only and returns the children listed so far, the remaining pages are fetched in the
+     * background, and the listing updated listeners are notified as each page arrives.
+     */
     @NotNull
     public VirtualFile[] listFiles(AdlsGen2VirtualFile vf) {
-        List<AdlsGen2VirtualFile> childrenList = new ArrayList<>();
-        if (vf.isDirectory()) {
-            // sample fileSystemRootPath: https://accountName.dfs.core.windows.net/fileSystem/
-            String fileSystemRootPath = rootPathUri.resolve("/").getUrl().toString();
-            // sample directoryParam: sub/path/to
-            String directoryParam = vf.getAbfsUri().getDirectoryParam();
-            childrenList = this.op.list(fileSystemRootPath, directoryParam)
-                    // sample remoteFile.getName(): sub/path/to/SparkSubmission
-                    .map(remoteFile -> new AdlsGen2VirtualFile(
-                            (AbfsUri) AbfsUri.parse(fileSystemRootPath)
-                                    .resolveAsRoot(AzureStorageUri.encodeAndNormalizePath(remoteFile.getName())),
-                            remoteFile.isDirectory(),
-                            this))
-                    .doOnNext(file -> file.setParent(vf))
-                    .onErrorResumeNext(err -> {
-                                String errorMessage = "Failed to list folders and files with error " + err.getMessage() + ". ";
-                                if (err instanceof ForbiddenHttpErrorStatus) {
-                                    errorMessage += ADLSGen2Deploy.getForbiddenErrorHints(vf.toString());
-                                }
-                                return Observable.error(new IOException(errorMessage));
+        if (!vf.isDirectory()) {
+            return VirtualFile.EMPTY_ARRAY;
+        }
+
+        final DirectoryListing listing = listings.compute(vf.getUrl(), (url, cached) -> {
+            if (cached != null && !cached.isExpired()) {
+                return cached;
+            }
+
+            if (cached != null) {
+                cached.cancel();
+            }
+
+            return new DirectoryListing(vf);
+        });
+
+        try {
+            return listing.awaitFirstPage();
+        } catch (RuntimeException ex) {
+            // don't cache the failure, the next call will list the directory again
+            listings.remove(vf.getUrl(), listing);
+            throw ex;
+        }
+    }
+
+    /**
+     * Drop the cached listing of the directory, so that it's listed again when the children are requested next time.
+     */
+    public void invalidate(@NotNull VirtualFile vf) {
+        final DirectoryListing listing = listings.remove(vf.getUrl());
+        if (listing != null) {
+            listing.cancel();
+        }
+    }
+
+    public void addListingUpdatedListener(@NotNull Consumer<VirtualFile> listener) {
+        listingUpdatedListeners.add(listener);
+    }
+
+    public void removeListingUpdatedListener(@NotNull Consumer<VirtualFile> listener) {
+        listingUpdatedListeners.remove(listener);
+    }
+
+    @NotNull
+    private Observable<List<AdlsGen2VirtualFile>> listPages(AdlsGen2VirtualFile vf) {
+        // sample fileSystemRootPath: https://accountName.dfs.core.windows.net/fileSystem/
+        String fileSystemRootPath = rootPathUri.resolve("/").getUrl().toString();
+        // sample directoryParam: sub/path/to
+        String directoryParam = vf.getAbfsUri().getDirectoryParam();
+
+        return this.op.listPages(fileSystemRootPath, directoryParam)
+                .map(remoteFiles -> remoteFiles.stream()
+                        // sample remoteFile.getName(): sub/path/to/SparkSubmission
+                        .map(remoteFile -> {
+                            AdlsGen2VirtualFile file = new AdlsGen2VirtualFile(
+                                    (AbfsUri) AbfsUri.parse(fileSystemRootPath)
+                                            .resolveAsRoot(AzureStorageUri.encodeAndNormalizePath(remoteFile.getName())),
+                                    remoteFile.isDirectory(),
+                                    this);
+                            file.setParent(vf);
+                            return file;
+                        })
+                        .collect(Collectors.toList()))
+                .onErrorResumeNext(err -> {
+                            String errorMessage = "Failed to list folders and files with error " + err.getMessage() + ". ";
+                            if (err instanceof ForbiddenHttpErrorStatus) {
+                                errorMessage += ADLSGen2Deploy.getForbiddenErrorHints(vf.toString());
                             }
-                    )
-                    .toList().toBlocking().lastOrDefault(new ArrayList<>());
+                            return Observable.error(new IOException(errorMessage));
+                        }
+                )
+                // directories are listed in parallel, the pages of one directory are still requested one by one
+                .subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * The children of a directory listed so far, filled in by the background page fetching.
+     */
+    private class DirectoryListing {
+        private final AdlsGen2VirtualFile directory;
+        private final long createdTime = System.currentTimeMillis();
+        private final List<VirtualFile> children = new ArrayList<>();
+        private final CountDownLatch firstPageLatch = new CountDownLatch(1);
+        private final Subscription subscription;
+        @Nullable
+        private volatile Throwable error;
+        private volatile boolean isCompleted = false;
+
+        private DirectoryListing(AdlsGen2VirtualFile directory) {
+            this.directory = directory;
+            this.subscription = listPages(directory).subscribe(this::onPage, this::onError, this::onCompleted);
         }
 
-        return childrenList.toArray(new VirtualFile[0]);
+        private boolean isExpired() {
+            // an incomplete listing is still being fetched, so it's always up to date
+            return error != null || (isCompleted && System.currentTimeMillis() - createdTime > LISTING_TTL_MILLIS);
+        }
+
+        private void cancel() {
+            subscription.unsubscribe();
+        }
+
+        @NotNull
+        private VirtualFile[] awaitFirstPage() {
+            try {
+                firstPageLatch.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw Exceptions.propagate(ex);
+            }
+
+            final Throwable err = error;
+            if (err != null) {
+                throw Exceptions.propagate(err);
+            }
+
+            synchronized (children) {
+                return children.toArray(VirtualFile.EMPTY_ARRAY);
+            }
+        }
+
+        private void onPage(List<AdlsGen2VirtualFile> page) {
+            synchronized (children) {
+                children.addAll(page);
+            }
+
+            // the first page is returned by awaitFirstPage() directly, only the following ones need notification
+            if (firstPageLatch.getCount() == 0) {
+                listingUpdatedListeners.forEach(listener -> listener.accept(directory));
+            }
+
+            firstPageLatch.countDown();
+        }
+
+        private void onError(Throwable err) {
+            this.error = err;
+            firstPageLatch.countDown();
+        }
+
+        private void onCompleted() {
+            this.isCompleted = true;
+            firstPageLatch.countDown();
+        }
     }
 
     @Nullable
@@ -5,6 +5,8 @@
 
 package com.microsoft.azure.hdinsight.spark.ui.filesystem;
 
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
 import com.intellij.openapi.fileChooser.FileChooserDescriptor;
 import com.intellij.openapi.fileChooser.ex.FileChooserDialogImpl;
 import com.intellij.openapi.project.Project;
@@ -16,6 +18,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.awt.*;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class StorageChooserDialogImpl extends FileChooserDialogImpl {
     private FileChooserDescriptor myChooserDescriptor;
@@ -52,7 +57,27 @@ public class StorageChooserDialogImpl extends FileChooserDialogImpl {
     @Override
     @NotNull
     public VirtualFile[] choose(@Nullable final Project project, @NotNull final VirtualFile... toSelect) {
-        super.choose(project, toSelect);
+        // Show the children of the following listing pages once they arrive
+        final Consumer<VirtualFile> onListingUpdated = directory -> ApplicationManager.getApplication().invokeLater(
+                () -> {
+                    if (!isDisposed() && myFileSystemTree != null) {
+                        myFileSystemTree.updateTree();
+                    }
+                }, ModalityState.any());
+        final List<ADLSGen2FileSystem> fileSystems = myChooserDescriptor.getRoots().stream()
+                .map(VirtualFile::getFileSystem)
+                .filter(ADLSGen2FileSystem.class::isInstance)
+                .map(ADLSGen2FileSystem.class::cast)
+                .distinct()
+                .collect(Collectors.toList());
+
+        fileSystems.forEach(fs -> fs.addListingUpdatedListener(onListingUpdated));
+        try {
+            super.choose(project, toSelect);
+        } finally {
+            fileSystems.forEach(fs -> fs.removeListingUpdatedListener(onListingUpdated));
+        }
+
         return myChosenFiles;
     }
 
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.connector.database;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A short-lived pool of JDBC connections keyed by (JDBC URL, username, password), so that repeated connectivity checks
+ * reuse the established connection instead of paying the TLS/auth handshake again, and every connection is closed
+ * either on failure or after being idle for a while. Explicit connection tests should not use it, see
+ * {@link DatabaseConnectionUtils#connectWithPing(com.microsoft.azure.toolkit.lib.database.JdbcUrl, String, String)}.
+ */
+public class DatabaseConnectionPool {
+    private static final long IDLE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final int MAX_IDLE_PER_KEY = 2;
+
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "azure-database-connection-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final DatabaseConnectionPool INSTANCE = new DatabaseConnectionPool(IDLE_TIMEOUT_MILLIS);
+
+    static {
+        EVICTOR.scheduleWithFixedDelay(INSTANCE::evictIdleConnections, IDLE_TIMEOUT_MILLIS, IDLE_TIMEOUT_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private final long idleTimeoutMillis;
+    private final Map<String, Deque<IdleConnection>> idleConnections = new HashMap<>();
+
+    DatabaseConnectionPool(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public static DatabaseConnectionPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Run the callback with a pooled (or newly opened) connection. The connection is returned to the pool if the
+     * callback succeeds, otherwise it's closed.
+     */
+    public <T> T execute(String url, String username, String password, ConnectionCallback<T> callback)
+            throws SQLException {
+        final String key = getKey(url, username, password);
+        Connection connection = takeIdleConnection(key);
+        if (connection == null) {
+            connection = DriverManager.getConnection(url, username, password);
+        }
+        boolean reusable = false;
+        try {
+            final T result = callback.apply(connection);
+            reusable = true;
+            return result;
+        } finally {
+            if (reusable) {
+                releaseConnection(key, connection);
+            } else {
+                closeQuietly(connection);
+            }
+        }
+    }
+
+    /**
+     * Close connections idle for longer than the idle timeout.
+     */
+    public void evictIdleConnections() {
+        final long now = System.currentTimeMillis();
+        final List<Connection> expired = new ArrayList<>();
+        synchronized (idleConnections) {
+            final Iterator<Deque<IdleConnection>> queues = idleConnections.values().iterator();
+            while (queues.hasNext()) {
+                final Deque<IdleConnection> queue = queues.next();
+                queue.removeIf(idle -> {
+                    if (now - idle.releasedTime >= idleTimeoutMillis) {
+                        expired.add(idle.connection);
+                        return true;
+                    }
+                    return false;
+                });
+                if (queue.isEmpty()) {
+                    queues.remove();
+                }
+            }
+        }
+        expired.forEach(DatabaseConnectionPool::closeQuietly);
+    }
+
+    /**
+     * Close all idle connections.
+     */
+    public void close() {
+        final List<Connection> connections = new ArrayList<>();
+        synchronized (idleConnections) {
+            idleConnections.values().forEach(queue -> queue.forEach(idle -> connections.add(idle.connection)));
+            idleConnections.clear();
+        }
+        connections.forEach(DatabaseConnectionPool::closeQuietly);
+    }
+
+    int getIdleConnectionCount() {
+        synchronized (idleConnections) {
+            return idleConnections.values().stream().mapToInt(Deque::size).sum();
+        }
+    }
+
+    private Connection takeIdleConnection(String key) {
+        while (true) {
+            final IdleConnection idle;
+            synchronized (idleConnections) {
+                final Deque<IdleConnection> queue = idleConnections.get(key);
+                idle = queue == null ? null : queue.pollFirst();
+            }
+            if (idle == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - idle.releasedTime < idleTimeoutMillis && isValid(idle.connection)) {
+                return idle.connection;
+            }
+            closeQuietly(idle.connection);
+        }
+    }
+
+    private void releaseConnection(String key, Connection connection) {
+        synchronized (idleConnections) {
+            final Deque<IdleConnection> queue = idleConnections.computeIfAbsent(key, k -> new ArrayDeque<>());
+            if (queue.size() < MAX_IDLE_PER_KEY && !isClosed(connection)) {
+                queue.offerFirst(new IdleConnection(connection, System.currentTimeMillis()));
+                return;
+            }
+        }
+        closeQuietly(connection);
+    }
+
+    private static String getKey(String url, String username, String password) {
+        // password is part of the key, so a connection is never reused with different credentials
+        return String.join("\n", url, StringUtils.defaultString(username),
+                DigestUtils.sha256Hex(StringUtils.defaultString(password)));
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (final SQLException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean isClosed(Connection connection) {
+        try {
+            return connection.isClosed();
+        } catch (final SQLException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (final SQLException | RuntimeException ignored) {
+        }
+    }
+
+    @FunctionalInterface
+    public interface ConnectionCallback<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
+    private static class IdleConnection {
+        private final Connection connection;
+        private final long releasedTime;
+
+        private IdleConnection(Connection connection, long releasedTime) {
+            this.connection = connection;
+            this.releasedTime = releasedTime;
+        }
+    }
+}
@@ -31,57 +31,67 @@ public class DatabaseConnectionUtils {
     public static final int ACCESS_DENIED_ERROR_CODE = 1045;
     private static final int CLASS_NOT_FOUND_ERROR_CODE = -1000;
     private static final int UNKNOWN_EXCEPTION_ERROR_CODE = -1;
+    private static final int PING_QUERY_TIMEOUT_SECONDS = 10;
 
     public static boolean connect(JdbcUrl url, String username, String password) {
         try {
             Class.forName(getDriverClassName(url));
-            DriverManager.getConnection(url.toString(), username, password);
-            return true;
+            return DatabaseConnectionPool.getInstance().execute(url.toString(), username, password, connection -> true);
         } catch (final ClassNotFoundException | SQLException ignored) {
         }
         return false;
     }
 
+    /**
+     * Test the connection with a newly opened connection, which is always closed afterwards, so that the result reflects
+     * the current credentials and network (e.g. firewall rules) rather than a pooled connection established earlier.
+     */
     public static ConnectResult connectWithPing(JdbcUrl url, String username, String password) {
-        int errorCode = 0;
-        boolean connected = false;
-        String errorMessage = null;
-        Long pingCost = null;
-        String serverVersion = null;
+        ConnectResult result;
         // refresh property
         try {
             Class.forName(getDriverClassName(url));
             final long start = System.currentTimeMillis();
-            final Connection connection = DriverManager.getConnection(url.toString(), username, password);
-            connected = true;
-            final Statement statement = connection.createStatement();
-            final ResultSet resultSet = statement.executeQuery("select 'hi'");
-            if (resultSet.next()) {
-                final String result = resultSet.getString(1);
-                connected = "hi".equals(result);
-            }
-            pingCost = System.currentTimeMillis() - start;
-            if (StringUtils.startsWith(url.toString(), SQL_SERVER_URL_PREFIX)) {
-                try {
-                    serverVersion = (String) FieldUtils.readField(connection, "sqlServerVersion", true);
-                } catch (final IllegalAccessException e) {
-                    serverVersion = "unknown";
-                }
-            } else {
-                serverVersion = ((ConnectionImpl) connection).getServerVersion().toString();
+            try (final Connection connection = DriverManager.getConnection(url.toString(), username, password)) {
+                result = ping(url, connection, start);
             }
         } catch (final SQLException exception) {
-            errorCode = exception.getErrorCode();
-            errorMessage = exception.getErrorCode() == CONNECTION_ERROR_CODE ?
+            final String errorMessage = exception.getErrorCode() == CONNECTION_ERROR_CODE ?
                 String.format(CONNECTION_ISSUE_MESSAGE, exception.getMessage()) : exception.getMessage();
+            result = new ConnectResult(false, errorMessage, null, null, exception.getErrorCode());
         } catch (final ClassNotFoundException | RuntimeException exception) {
-            errorCode = exception instanceof ClassNotFoundException ? CLASS_NOT_FOUND_ERROR_CODE : UNKNOWN_EXCEPTION_ERROR_CODE;
-            errorMessage = exception.getMessage();
+            final int errorCode = exception instanceof ClassNotFoundException ? CLASS_NOT_FOUND_ERROR_CODE : UNKNOWN_EXCEPTION_ERROR_CODE;
+            result = new ConnectResult(false, exception.getMessage(), null, null, errorCode);
         }
         EventUtil.logEvent(EventType.info, ActionConstants.parse(ActionConstants.MySQL.TEST_CONNECTION).getServiceName(),
                 ActionConstants.parse(ActionConstants.MySQL.TEST_CONNECTION).getOperationName(),
-                Collections.singletonMap("result", String.valueOf(connected)));
-        return new ConnectResult(connected, errorMessage, pingCost, serverVersion, errorCode);
+                Collections.singletonMap("result", String.valueOf(result.isConnected())));
+        return result;
+    }
+
+    private static ConnectResult ping(JdbcUrl url, Connection connection, long start) throws SQLException {
+        boolean connected = true;
+        try (final Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(PING_QUERY_TIMEOUT_SECONDS);
+            try (final ResultSet resultSet = statement.executeQuery("select 'hi'")) {
+                if (resultSet.next()) {
+                    final String result = resultSet.getString(1);
+                    connected = "hi".equals(result);
+                }
+            }
+        }
+        final Long pingCost = System.currentTimeMillis() - start;
+        String serverVersion;
+        if (StringUtils.startsWith(url.toString(), SQL_SERVER_URL_PREFIX)) {
+            try {
+                serverVersion = (String) FieldUtils.readField(connection, "sqlServerVersion", true);
+            } catch (final IllegalAccessException e) {
+                serverVersion = "unknown";
+            }
+        } else {
+            serverVersion = ((ConnectionImpl) connection).getServerVersion().toString();
+        }
+        return new ConnectResult(connected, null, pingCost, serverVersion, 0);
     }
 
     private static String getDriverClassName(JdbcUrl url) {
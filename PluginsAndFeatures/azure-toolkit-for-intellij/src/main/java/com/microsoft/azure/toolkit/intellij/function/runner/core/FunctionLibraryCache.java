@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.function.runner.core;
+
+import com.microsoft.azure.toolkit.lib.common.logging.Log;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps a per-module copy of the function dependency libraries, so that launching the function host only copies the
+ * libraries changed since last run and hard-links the rest into the (temporary) staging folder.
+ */
+public class FunctionLibraryCache {
+    private static final String CACHE_FOLDER = "azure-functions-libs";
+
+    private final Path cacheFolder;
+
+    public FunctionLibraryCache(String moduleKey) {
+        this.cacheFolder = Paths.get(System.getProperty("java.io.tmpdir"), CACHE_FOLDER, DigestUtils.md5Hex(moduleKey));
+    }
+
+    public void syncLibraries(List<File> libraries, File libFolder) throws IOException {
+        Files.createDirectories(cacheFolder);
+        Files.createDirectories(libFolder.toPath());
+        final Set<String> usedEntries = new HashSet<>();
+        for (final File library : libraries) {
+            final String fingerprint = getFingerprint(library);
+            usedEntries.add(fingerprint);
+            final Path target = new File(libFolder, library.getName()).toPath();
+            Files.deleteIfExists(target);
+            try {
+                Files.createLink(target, getOrCreateCacheEntry(library, fingerprint));
+            } catch (IOException | UnsupportedOperationException e) {
+                // hard links are not available across file stores, fall back to plain copy
+                Log.debug(String.format("failed to link library %s, copying instead: %s", library, e.getMessage()));
+                Files.copy(library.toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        removeStaleEntries(usedEntries);
+    }
+
+    private Path getOrCreateCacheEntry(File library, String fingerprint) throws IOException {
+        final Path entryFolder = cacheFolder.resolve(fingerprint);
+        final Path entry = entryFolder.resolve(library.getName());
+        if (Files.isRegularFile(entry)) {
+            return entry;
+        }
+        Files.createDirectories(entryFolder);
+        final Path temp = Files.createTempFile(entryFolder, library.getName(), ".tmp");
+        try {
+            Files.copy(library.toPath(), temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // another launch of the same module has cached this library already
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return entry;
+    }
+
+    private void removeStaleEntries(Set<String> usedEntries) {
+        final File[] entries = cacheFolder.toFile().listFiles();
+        if (entries == null) {
+            return;
+        }
+        for (final File entry : entries) {
+            if (!usedEntries.contains(entry.getName())) {
+                FileUtils.deleteQuietly(entry);
+            }
+        }
+    }
+
+    private static String getFingerprint(File library) {
+        return DigestUtils.md5Hex(String.join("|", library.getAbsolutePath(),
+                                              Objects.toString(library.length()),
+                                              Objects.toString(library.lastModified())));
+    }
+}
@@ -16,14 +16,17 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.CompilerModuleExtension;
 import com.intellij.openapi.roots.OrderEnumerator;
 import com.intellij.openapi.roots.OrderRootType;
+import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.roots.libraries.Library;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiJavaCodeReferenceElement;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.searches.AnnotatedElementsSearch;
 import com.intellij.util.containers.ContainerUtil;
@@ -61,6 +64,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.microsoft.intellij.ui.messages.AzureBundle.message;
@@ -81,6 +85,7 @@ public class FunctionUtils {
     private static final Map<BindingEnum, List<String>> REQUIRED_ATTRIBUTE_MAP = new HashMap<>();
     private static final List<String> CUSTOM_BINDING_RESERVED_PROPERTIES = Arrays.asList("type", "name", "direction");
     private static final String AZURE_FUNCTIONS_APP_SETTINGS = "Azure Functions App Settings";
+    private static final Map<String, CachedConfigurations> CONFIGURATION_CACHE = new ConcurrentHashMap<>();
 
     static {
         //initialize required attributes, which will be saved to function.json even if it equals to its default value
@@ -266,9 +271,7 @@ public class FunctionUtils {
             return true;
         });
         final File libFolder = new File(stagingFolder.toFile(), "lib");
-        for (final File file : jarFiles) {
-            FileUtils.copyFileToDirectory(file, libFolder);
-        }
+        new FunctionLibraryCache(getModuleKey(module)).syncLibraries(jarFiles, libFolder);
         return configMap;
     }
 
@@ -333,8 +336,80 @@ public class FunctionUtils {
                fileName.substring(0, fileName.length() - 2) : fileName;
     }
 
+    private static String getModuleKey(Module module) {
+        return module.getProject().getBasePath() + "|" + module.getName();
+    }
+
     private static Map<String, FunctionConfiguration> generateConfigurations(final PsiMethod[] methods)
             throws AzureExecutionException {
+        final Map<PsiClass, List<PsiMethod>> classMethods = new LinkedHashMap<>();
+        final List<PsiMethod> orphanMethods = new ArrayList<>();
+        for (final PsiMethod method : methods) {
+            final PsiClass psiClass = method.getContainingClass();
+            if (psiClass == null) {
+                orphanMethods.add(method);
+            } else {
+                classMethods.computeIfAbsent(psiClass, key -> new ArrayList<>()).add(method);
+            }
+        }
+        final Map<String, FunctionConfiguration> configMap = generateConfigurations(orphanMethods);
+        for (final Map.Entry<PsiClass, List<PsiMethod>> entry : classMethods.entrySet()) {
+            configMap.putAll(generateClassConfigurations(entry.getKey(), entry.getValue()));
+        }
+        return configMap;
+    }
+
+    // function.json of a class also depends on other sources and libraries (e.g. constants used in the annotations and
+    // custom binding annotations), so reuse the result until any PSI or project root of the project is modified
+    private static Map<String, FunctionConfiguration> generateClassConfigurations(final PsiClass psiClass, final List<PsiMethod> methods)
+            throws AzureExecutionException {
+        final PsiFile psiFile = psiClass.getContainingFile();
+        final VirtualFile virtualFile = psiFile == null ? null : psiFile.getVirtualFile();
+        if (virtualFile == null) {
+            return generateConfigurations(methods);
+        }
+        final Project project = psiClass.getProject();
+        final String key = project.getLocationHash() + "#" + virtualFile.getPath() + "#" + psiClass.getQualifiedName();
+        final long[] stamps = {PsiModificationTracker.getInstance(project).getModificationCount(),
+                               ProjectRootManager.getInstance(project).getModificationCount()};
+        final CachedConfigurations cached = CONFIGURATION_CACHE.get(key);
+        if (cached != null && Arrays.equals(cached.stamps, stamps)) {
+            return copyConfigurations(cached.configurations);
+        }
+        final Map<String, FunctionConfiguration> configurations = generateConfigurations(methods);
+        CONFIGURATION_CACHE.put(key, new CachedConfigurations(stamps, configurations));
+        return copyConfigurations(configurations);
+    }
+
+    // callers modify the returned configurations (e.g. the script file), which must not leak into the cache
+    private static Map<String, FunctionConfiguration> copyConfigurations(final Map<String, FunctionConfiguration> configurations) {
+        final Map<String, FunctionConfiguration> result = new HashMap<>();
+        configurations.forEach((name, config) -> result.put(name, copyConfiguration(config)));
+        return result;
+    }
+
+    private static FunctionConfiguration copyConfiguration(final FunctionConfiguration config) {
+        final FunctionConfiguration result = new FunctionConfiguration();
+        result.setScriptFile(config.getScriptFile());
+        result.setEntryPoint(config.getEntryPoint());
+        if (config.getBindings() != null) {
+            result.setBindings(config.getBindings().stream().map(FunctionUtils::copyBinding).collect(Collectors.toList()));
+        }
+        return result;
+    }
+
+    private static Binding copyBinding(final Binding binding) {
+        if (binding instanceof UserDefinedBinding) {
+            return ((UserDefinedBinding) binding).copy();
+        }
+        final Binding result = new Binding(binding.getBindingEnum());
+        result.setName(binding.getName());
+        binding.getBindingAttributes().forEach(result::setAttribute);
+        return result;
+    }
+
+    private static Map<String, FunctionConfiguration> generateConfigurations(final List<PsiMethod> methods)
+            throws AzureExecutionException {
         final Map<String, FunctionConfiguration> configMap = new HashMap<>();
         for (final PsiMethod method : methods) {
             final PsiAnnotation annotation = AnnotationUtil.findAnnotation(method,
@@ -420,20 +495,9 @@ public class FunctionUtils {
 
         final Map<String, Object> mergedMap = new HashMap<>(annotationProperties);
         customBindingProperties.forEach(mergedMap::putIfAbsent);
-        final Binding extendBinding = new Binding(BindingEnum.CustomBinding) {
-
-            public String getName() {
-                return (String) mergedMap.get("name");
-            }
-
-            public String getDirection() {
-                return (String) mergedMap.get("direction");
-            }
-
-            public String getType() {
-                return (String) mergedMap.get("type");
-            }
-        };
+        final Binding extendBinding = new UserDefinedBinding((String) mergedMap.get("name"),
+                                                             (String) mergedMap.get("direction"),
+                                                             (String) mergedMap.get("type"));
 
         annotationProperties.forEach((name, value) -> {
             if (!CUSTOM_BINDING_RESERVED_PROPERTIES.contains(name)) {
@@ -519,4 +583,14 @@ public class FunctionUtils {
         }
         return cme.getCompilerOutputUrl() == null && cme.getCompilerOutputUrlForTests() != null;
     }
+
+    private static class CachedConfigurations {
+        private final long[] stamps;
+        private final Map<String, FunctionConfiguration> configurations;
+
+        private CachedConfigurations(long[] stamps, Map<String, FunctionConfiguration> configurations) {
+            this.stamps = stamps;
+            this.configurations = configurations;
+        }
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.function.runner.core;
+
+import com.microsoft.azure.toolkit.lib.legacy.function.bindings.Binding;
+import com.microsoft.azure.toolkit.lib.legacy.function.bindings.BindingEnum;
+
+/**
+ * A binding of a user defined annotation marked with {@code @CustomBinding}, whose name, direction and type are
+ * evaluated from the annotations instead of from the {@link BindingEnum}.
+ */
+class UserDefinedBinding extends Binding {
+    private final String name;
+    private final String direction;
+    private final String type;
+
+    UserDefinedBinding(String name, String direction, String type) {
+        super(BindingEnum.CustomBinding);
+        this.name = name;
+        this.direction = direction;
+        this.type = type;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDirection() {
+        return direction;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    UserDefinedBinding copy() {
+        final UserDefinedBinding result = new UserDefinedBinding(name, direction, type);
+        getBindingAttributes().forEach(result::setAttribute);
+        return result;
+    }
+}
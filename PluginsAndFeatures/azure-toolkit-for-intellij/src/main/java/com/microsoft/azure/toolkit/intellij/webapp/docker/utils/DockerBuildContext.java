@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.webapp.docker.utils;
+
+import com.microsoft.azure.toolkit.lib.common.logging.Log;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Assembles a minimal docker build context from the files referenced by COPY/ADD instructions of the Dockerfile,
+ * instead of sending the whole Dockerfile directory (with target/, .git and IDE metadata) to the docker daemon.
+ * The assembled context is kept in a per-directory cache folder and only rebuilt when its inputs change.
+ */
+public class DockerBuildContext {
+    private static final String CACHE_FOLDER = "azure-docker-contexts";
+    private static final String FINGERPRINT_FILE = ".azure-context-fingerprint";
+    private static final String DOCKER_IGNORE = ".dockerignore";
+    private static final Pattern COPY_INSTRUCTION = Pattern.compile("^\\s*(COPY|ADD)\\s+(.+)$", Pattern.CASE_INSENSITIVE);
+
+    private final Path dockerDirectory;
+    private final String dockerFile;
+    private final Path contextFolder;
+
+    public DockerBuildContext(Path dockerDirectory, String dockerFile) {
+        this(dockerDirectory, dockerFile, Paths.get(System.getProperty("java.io.tmpdir"), CACHE_FOLDER,
+                DigestUtils.md5Hex(dockerDirectory.toAbsolutePath().normalize().toString())));
+    }
+
+    DockerBuildContext(Path dockerDirectory, String dockerFile, Path contextFolder) {
+        this.dockerDirectory = dockerDirectory.toAbsolutePath().normalize();
+        this.dockerFile = dockerFile;
+        this.contextFolder = contextFolder;
+    }
+
+    /**
+     * Get the folder to be used as docker build context. Fall back to the Dockerfile directory if the sources of
+     * the Dockerfile can't be resolved statically, e.g. using build arguments or remote URLs.
+     */
+    public Path prepare() throws IOException {
+        final List<String> sources = getCopySources();
+        if (sources == null) {
+            Log.debug(String.format("sources of %s can't be resolved, use %s as build context", dockerFile, dockerDirectory));
+            return dockerDirectory;
+        }
+        final DockerIgnore dockerIgnore = DockerIgnore.load(dockerDirectory.resolve(DOCKER_IGNORE));
+        final Set<String> files = new TreeSet<>();
+        files.add(dockerFile);
+        for (final String source : sources) {
+            for (final Path path : resolveSource(source)) {
+                collectFiles(path, dockerIgnore, files);
+            }
+        }
+
+        final String fingerprint = getFingerprint(files);
+        final Path fingerprintFile = contextFolder.resolve(FINGERPRINT_FILE);
+        if (Files.isRegularFile(fingerprintFile) &&
+                fingerprint.equals(new String(Files.readAllBytes(fingerprintFile), StandardCharsets.UTF_8))) {
+            return contextFolder;
+        }
+
+        FileUtils.deleteQuietly(contextFolder.toFile());
+        for (final String file : files) {
+            final Path target = contextFolder.resolve(file);
+            Files.createDirectories(target.getParent());
+            Files.copy(dockerDirectory.resolve(file), target, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+        Files.write(fingerprintFile, fingerprint.getBytes(StandardCharsets.UTF_8));
+        // files are filtered already, only keep the fingerprint out of the context sent to docker daemon
+        Files.write(contextFolder.resolve(DOCKER_IGNORE), Arrays.asList(DOCKER_IGNORE, FINGERPRINT_FILE),
+                    StandardCharsets.UTF_8);
+        return contextFolder;
+    }
+
+    /**
+     * @return sources of all COPY/ADD instructions, or null if any of them can't be resolved in local context.
+     */
+    private List<String> getCopySources() throws IOException {
+        final List<String> sources = new ArrayList<>();
+        final String content = new String(Files.readAllBytes(dockerDirectory.resolve(dockerFile)), StandardCharsets.UTF_8);
+        // join the continuation lines
+        for (final String line : content.replaceAll("\\\\\\r?\\n", " ").split("\\r?\\n")) {
+            final Matcher matcher = COPY_INSTRUCTION.matcher(line);
+            if (!matcher.matches()) {
+                continue;
+            }
+            final String arguments = matcher.group(2).trim();
+            if (arguments.startsWith("[") || arguments.contains("$")) {
+                // JSON form and variables are not resolved here
+                return null;
+            }
+            final List<String> tokens = Arrays.stream(arguments.split("\\s+"))
+                    .filter(token -> !token.startsWith("--chown") && !token.startsWith("--chmod"))
+                    .collect(Collectors.toList());
+            if (tokens.stream().anyMatch(token -> token.startsWith("--"))) {
+                // COPY --from copies from another build stage instead of the context
+                continue;
+            }
+            for (final String source : tokens.subList(0, Math.max(tokens.size() - 1, 0))) {
+                if (source.contains("://")) {
+                    return null;
+                }
+                sources.add(source);
+            }
+        }
+        return sources;
+    }
+
+    private List<Path> resolveSource(String source) throws IOException {
+        final String normalized = StringUtils.removeStart(source.replace('\\', '/'), "/");
+        if (!StringUtils.containsAny(normalized, '*', '?', '[')) {
+            final Path path = dockerDirectory.resolve(normalized).normalize();
+            return Files.exists(path) && path.startsWith(dockerDirectory) ? Arrays.asList(path) : new ArrayList<>();
+        }
+        final int lastSlash = normalized.lastIndexOf('/');
+        final Path parent = lastSlash < 0 ? dockerDirectory : dockerDirectory.resolve(normalized.substring(0, lastSlash));
+        final List<Path> result = new ArrayList<>();
+        if (!Files.isDirectory(parent)) {
+            return result;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(parent, normalized.substring(lastSlash + 1))) {
+            stream.forEach(result::add);
+        }
+        return result;
+    }
+
+    private void collectFiles(Path path, DockerIgnore dockerIgnore, Set<String> files) throws IOException {
+        try (Stream<Path> stream = Files.walk(path)) {
+            stream.filter(Files::isRegularFile)
+                  .map(file -> dockerDirectory.relativize(file).toString().replace(File.separatorChar, '/'))
+                  .filter(file -> !dockerIgnore.isIgnored(file))
+                  .forEach(files::add);
+        }
+    }
+
+    private String getFingerprint(Set<String> files) {
+        final StringBuilder builder = new StringBuilder();
+        for (final String file : files) {
+            final File source = dockerDirectory.resolve(file).toFile();
+            builder.append(file).append('|').append(source.length()).append('|').append(source.lastModified()).append('\n');
+        }
+        return DigestUtils.md5Hex(builder.toString());
+    }
+
+    /**
+     * Matcher of .dockerignore patterns, see https://docs.docker.com/engine/reference/builder/#dockerignore-file
+     */
+    static class DockerIgnore {
+        private final List<Pattern> patterns = new ArrayList<>();
+        private final List<Boolean> exclusions = new ArrayList<>();
+
+        static DockerIgnore load(Path file) throws IOException {
+            final DockerIgnore dockerIgnore = new DockerIgnore();
+            if (Files.isRegularFile(file)) {
+                for (final String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    dockerIgnore.addPattern(line);
+                }
+            }
+            return dockerIgnore;
+        }
+
+        void addPattern(String line) {
+            String pattern = line.trim();
+            if (pattern.isEmpty() || pattern.startsWith("#")) {
+                return;
+            }
+            final boolean exclusion = pattern.startsWith("!");
+            pattern = StringUtils.removeStart(StringUtils.removeStart(pattern, "!").trim(), "/");
+            pattern = StringUtils.removeEnd(pattern, "/");
+            patterns.add(Pattern.compile(toRegex(pattern)));
+            exclusions.add(exclusion);
+        }
+
+        /**
+         * A file is ignored if the last pattern matching the file or any of its parent folders is not an exclusion.
+         */
+        boolean isIgnored(String file) {
+            boolean ignored = false;
+            for (int i = 0; i < patterns.size(); i++) {
+                if (matches(patterns.get(i), file)) {
+                    ignored = !exclusions.get(i);
+                }
+            }
+            return ignored;
+        }
+
+        private static boolean matches(Pattern pattern, String file) {
+            String path = file;
+            while (true) {
+                if (pattern.matcher(path).matches()) {
+                    return true;
+                }
+                final int lastSlash = path.lastIndexOf('/');
+                if (lastSlash < 0) {
+                    return false;
+                }
+                path = path.substring(0, lastSlash);
+            }
+        }
+
+        private static String toRegex(String pattern) {
+            final StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < pattern.length(); i++) {
+                final char c = pattern.charAt(i);
+                if (pattern.startsWith("**/", i)) {
+                    // "**/" matches zero or more folders
+                    regex.append("(.*/)?");
+                    i += 2;
+                } else if (pattern.startsWith("**", i)) {
+                    regex.append(".*");
+                    i++;
+                } else if (c == '*') {
+                    regex.append("[^/]*");
+                } else if (c == '?') {
+                    regex.append("[^/]");
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            return regex.toString();
+        }
+    }
+}
@@ -95,7 +95,8 @@ public class DockerUtil {
     public static String buildImage(DockerClient docker, String imageNameWithTag, Path dockerDirectory,
                                     String dockerFile, ProgressHandler progressHandler)
             throws DockerException, InterruptedException, IOException {
-        String imageId = docker.build(dockerDirectory, imageNameWithTag, dockerFile, progressHandler);
+        final Path buildContext = new DockerBuildContext(dockerDirectory, dockerFile).prepare();
+        String imageId = docker.build(buildContext, imageNameWithTag, dockerFile, progressHandler);
         return imageId == null ? null : imageNameWithTag;
     }
 
@@ -6,6 +6,7 @@
 package com.microsoft.azure.toolkit.lib.appservice;
 
 import com.google.common.base.Joiner;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.jcraft.jsch.*;
 import com.microsoft.azure.toolkit.lib.appservice.model.PublishingProfile;
 import com.microsoft.azure.toolkit.lib.appservice.service.IAppService;
@@ -18,6 +19,10 @@ import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import static com.microsoft.intellij.ui.messages.AzureBundle.message;
@@ -29,15 +34,26 @@ public class TunnelProxy {
     public static final String DEFAULT_SSH_PASSWORD = "Docker!";
     private static final Logger logger = Logger.getLogger(TunnelProxy.class.getName());
     private static final String LOCALHOST = "localhost";
+    private static final long IDLE_TIMEOUT_SECONDS = 60;
+    private static final int CONNECT_TIMEOUT_MILLIS = 30 * 1000;
+    // the websocket may drop without closing the local socket, so detect a dead session by keep-alive messages
+    private static final int SERVER_ALIVE_INTERVAL_MILLIS = 15 * 1000;
+    private static final int SERVER_ALIVE_COUNT_MAX = 2;
+    private static final ScheduledExecutorService IDLE_CHECKER = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("app-service-tunnel-idle-checker").setDaemon(true).build());
     private IAppService appService;
     private WebSocketSSLProxy wssProxy;
+    private Session session;
+    private int activeCommands;
+    private long lastUsed;
+    private ScheduledFuture<?> idleCheck;
 
     public TunnelProxy(@NotNull IAppService webAppBase) {
         this.appService = webAppBase;
         reset();
     }
 
-    public void reset() {
+    public synchronized void reset() {
         String host = appService.hostName().toLowerCase().replace("http://", "").replace("https://", "");
         String[] parts = host.split("\\.", 2);
         host = Joiner.on('.').join(parts[0], "scm", parts[1]);
@@ -46,14 +62,23 @@ public class TunnelProxy {
                                          publishingProfile.getGitUsername(), publishingProfile.getGitPassword());
     }
 
-    public void close() {
+    public synchronized void close() {
+        if (Objects.nonNull(idleCheck)) {
+            idleCheck.cancel(false);
+            idleCheck = null;
+        }
+        if (Objects.nonNull(session)) {
+            session.disconnect();
+            session = null;
+        }
+        activeCommands = 0;
         if (Objects.nonNull(wssProxy)) {
             wssProxy.close();
             wssProxy = null;
         }
     }
 
-    public int start() throws IOException {
+    public synchronized int start() throws IOException {
         if (Objects.isNull(wssProxy)) {
             reset();
         }
@@ -61,34 +86,99 @@ public class TunnelProxy {
         return wssProxy.getLocalPort();
     }
 
+    /**
+     * Run the command through a ssh session shared by all commands of this proxy. The tunnel and the session are kept
+     * open between commands and closed once they have been idle for {@link #IDLE_TIMEOUT_SECONDS}.
+     */
     public String executeCommandViaSSH(String cmd) throws IOException {
-        start();
-        String output = executeSSHCommand(cmd, wssProxy.getLocalPort());
-        close();
-        return output;
+        final Session sshSession = acquireSession();
+        if (Objects.isNull(sshSession)) {
+            return null;
+        }
+        boolean isFailed = true;
+        try {
+            final String result = executeSSHCommand(sshSession, cmd);
+            isFailed = false;
+            return result;
+        } catch (JSchException e) {
+            logger.warning(message("appService.tunnel.error.sshFailed", e.getMessage()));
+            return null;
+        } finally {
+            releaseSession(sshSession, isFailed);
+        }
+    }
+
+    private synchronized Session acquireSession() throws IOException {
+        if (Objects.nonNull(session) && !session.isConnected()) {
+            // the tunnel may have been dropped by the server together with the session, so recreate both
+            close();
+        }
+        if (Objects.isNull(session)) {
+            try {
+                session = openSession(start());
+            } catch (JSchException e) {
+                logger.warning(message("appService.tunnel.error.sshFailed", e.getMessage()));
+                close();
+                return null;
+            }
+        }
+        activeCommands++;
+        return session;
+    }
+
+    private synchronized void releaseSession(Session sshSession, boolean isFailed) {
+        if (sshSession != session) {
+            // the session has been closed or replaced since the command started
+            return;
+        }
+        if (isFailed) {
+            // the session or the tunnel may be broken, recreate both for the next command
+            close();
+            return;
+        }
+        activeCommands--;
+        lastUsed = System.currentTimeMillis();
+        if (activeCommands == 0) {
+            if (Objects.nonNull(idleCheck)) {
+                idleCheck.cancel(false);
+            }
+            idleCheck = IDLE_CHECKER.schedule(this::closeIfIdle, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
     }
 
-    private static String executeSSHCommand(String command, int port) throws IOException {
+    private synchronized void closeIfIdle() {
+        final long idleTime = System.currentTimeMillis() - lastUsed;
+        if (activeCommands == 0 && idleTime >= TimeUnit.SECONDS.toMillis(IDLE_TIMEOUT_SECONDS)) {
+            close();
+        }
+    }
+
+    private static Session openSession(int port) throws JSchException {
+        final Properties config = new Properties();
+        config.put("StrictHostKeyChecking", "no");
+        final JSch jsch = new JSch();
+        final Session session = jsch.getSession(DEFAULT_SSH_USERNAME, LOCALHOST, port);
+        session.setPassword(DEFAULT_SSH_PASSWORD);
+        session.setConfig(config);
+        session.setServerAliveInterval(SERVER_ALIVE_INTERVAL_MILLIS);
+        session.setServerAliveCountMax(SERVER_ALIVE_COUNT_MAX);
+        session.connect(CONNECT_TIMEOUT_MILLIS);
+        return session;
+    }
+
+    private static String executeSSHCommand(Session session, String command) throws IOException, JSchException {
+        Channel channel = null;
         try {
-            Properties config = new Properties();
-            config.put("StrictHostKeyChecking", "no");
-            JSch jsch = new JSch();
-            Session session = jsch.getSession(DEFAULT_SSH_USERNAME, LOCALHOST, port);
-            session.setPassword(DEFAULT_SSH_PASSWORD);
-            session.setConfig(config);
-            session.connect();
-            Channel channel = session.openChannel("exec");
+            channel = session.openChannel("exec");
             ((ChannelExec) channel).setCommand(command);
             try (InputStream in = channel.getInputStream()) {
-                channel.connect();
-                String output = IOUtils.toString(in, Charset.defaultCharset());
+                channel.connect(CONNECT_TIMEOUT_MILLIS);
+                return IOUtils.toString(in, Charset.defaultCharset());
+            }
+        } finally {
+            if (Objects.nonNull(channel)) {
                 channel.disconnect();
-                session.disconnect();
-                return output;
             }
-        } catch (JSchException e) {
-            logger.warning(message("appService.tunnel.error.sshFailed", e.getMessage()));
         }
-        return null;
     }
 }
@@ -25,7 +25,6 @@ import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemetry;
 import com.microsoft.azure.toolkit.lib.resource.AzureGroup;
 import com.microsoft.azuretools.sdkmanage.IdentityAzureManager;
 import org.apache.commons.lang3.StringUtils;
-import org.zeroturnaround.zip.ZipUtil;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -224,8 +223,7 @@ public class FunctionAppService {
 
     private File packageStagingDirectory(final File stagingFolder) throws IOException {
         final File zipFile = Files.createTempFile("azure-toolkit", ".zip").toFile();
-        ZipUtil.pack(stagingFolder, zipFile);
-        ZipUtil.removeEntry(zipFile, LOCAL_SETTINGS_FILE);
+        new FunctionPackageBuilder().exclude(LOCAL_SETTINGS_FILE).pack(stagingFolder, zipFile);
         return zipFile;
     }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.function;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.parallel.InputStreamSupplier;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Packages the function staging folder into the deployment zip in one pass. Entries are deflated in parallel,
+ * excluded files are skipped while walking the folder, and already compressed archives are stored as is.
+ */
+public class FunctionPackageBuilder {
+    private static final String[] COMPRESSED_EXTENSIONS = {".jar", ".zip", ".gz", ".war"};
+
+    private final Set<String> excludedEntries = new HashSet<>();
+
+    /**
+     * @param entryName path of the entry relative to the staging folder, using '/' as separator
+     */
+    public FunctionPackageBuilder exclude(@Nonnull String entryName) {
+        excludedEntries.add(entryName);
+        return this;
+    }
+
+    public void pack(@Nonnull File stagingFolder, @Nonnull File zipFile) throws IOException {
+        final Path root = stagingFolder.toPath();
+        final List<Path> files;
+        try (Stream<Path> stream = Files.walk(root)) {
+            files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+
+        // the creator only shuts the pool down once written, so make sure it doesn't leak if packaging fails earlier
+        final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                new ThreadFactoryBuilder().setNameFormat("function-package-builder-%d").setDaemon(true).build());
+        try {
+            final ParallelScatterZipCreator creator = new ParallelScatterZipCreator(executor);
+            for (final Path file : files) {
+                final String entryName = root.relativize(file).toString().replace(File.separatorChar, '/');
+                if (excludedEntries.contains(entryName)) {
+                    continue;
+                }
+                final ZipArchiveEntry entry = new ZipArchiveEntry(entryName);
+                entry.setTime(Files.getLastModifiedTime(file).toMillis());
+                entry.setMethod(StringUtils.endsWithAny(entryName.toLowerCase(), COMPRESSED_EXTENSIONS) ?
+                        ZipEntry.STORED : ZipEntry.DEFLATED);
+                creator.addArchiveEntry(entry, openFile(file));
+            }
+
+            try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(zipFile)) {
+                creator.writeTo(out);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(String.format("Interrupted while packaging %s", stagingFolder), e);
+            } catch (final ExecutionException e) {
+                throw new IOException(String.format("Failed to package %s", stagingFolder), e.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static InputStreamSupplier openFile(@Nonnull Path file) {
+        return () -> {
+            try {
+                return Files.newInputStream(file);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
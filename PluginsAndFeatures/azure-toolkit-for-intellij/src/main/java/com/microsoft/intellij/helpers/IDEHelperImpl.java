@@ -61,6 +61,7 @@ import com.microsoft.intellij.AzureSettings;
 import com.microsoft.intellij.util.PluginUtil;
 import com.microsoft.tooling.msservices.components.DefaultLoader;
 import com.microsoft.tooling.msservices.helpers.IDEHelper;
+import com.microsoft.tooling.msservices.serviceexplorer.azure.appservice.file.AppServiceFilePage;
 import lombok.SneakyThrows;
 import lombok.extern.java.Log;
 import org.apache.commons.io.IOUtils;
@@ -75,6 +76,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.*;
@@ -396,9 +398,7 @@ public class IDEHelperImpl implements IDEHelper {
                     .doAfterTerminate(() -> IOUtils.closeQuietly(output, null))
                     .subscribe(bytes -> {
                         try {
-                            if (bytes != null) {
-                                output.write(bytes.array(), 0, bytes.limit());
-                            }
+                            writeBuffer(bytes, output);
                         } catch (final IOException e) {
                             final String error = "failed to load data into editor";
                             final String action = "try later or downloading it first";
@@ -409,6 +409,60 @@ public class IDEHelperImpl implements IDEHelper {
         AzureTaskManager.getInstance().runInModal(task);
     }
 
+    @AzureOperation(
+            name = "appservice|file.open",
+            params = {"page.getDisplayName()"},
+            type = AzureOperation.Type.SERVICE
+    )
+    @SneakyThrows
+    @Override
+    public void openAppServiceFilePage(AppServiceFilePage page, Object context) {
+        final FileEditorManager fileEditorManager = FileEditorManager.getInstance((Project) context);
+        // a page is only part of the file, so it's opened read-only and never saved back
+        final LightVirtualFile virtualFile = new LightVirtualFile(page.getDisplayName());
+        virtualFile.setFileType(FileTypeManager.getInstance().getFileTypeByFileName(page.getFile().getName()));
+        virtualFile.setCharset(StandardCharsets.UTF_8);
+        final OutputStream output = virtualFile.getOutputStream(null);
+        final AzureString title = AzureOperationBundle.title("appservice|file.open", page.getDisplayName());
+        final AzureTask<Void> task = new AzureTask<>(null, title, false, () -> {
+            final ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
+            indicator.setIndeterminate(true);
+            indicator.setText2("Loading file content");
+            final String failure = String.format("Can not open file (%s). Try downloading it first and open it manually.", page.getDisplayName());
+            page.read()
+                    .doOnComplete(() -> AzureTaskManager.getInstance().runLater(() -> {
+                        virtualFile.setWritable(false);
+                        if (fileEditorManager.openFile(virtualFile, true, true).length == 0) {
+                            Messages.showWarningDialog(failure, "Open File");
+                        }
+                    }, AzureTask.Modality.NONE))
+                    .doAfterTerminate(() -> IOUtils.closeQuietly(output, null))
+                    .subscribe(bytes -> {
+                        try {
+                            writeBuffer(bytes, output);
+                        } catch (final IOException e) {
+                            final String error = "failed to load data into editor";
+                            final String action = "try later or downloading it first";
+                            throw new AzureToolkitRuntimeException(error, e, action);
+                        }
+                    }, IDEHelperImpl::onRxException);
+        });
+        AzureTaskManager.getInstance().runInModal(task);
+    }
+
+    private static void writeBuffer(@Nullable final ByteBuffer bytes, final OutputStream output) throws IOException {
+        if (bytes == null) {
+            return;
+        }
+        if (bytes.hasArray()) {
+            output.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            final byte[] copy = new byte[bytes.remaining()];
+            bytes.duplicate().get(copy);
+            output.write(copy);
+        }
+    }
+
     private boolean openFileInEditor(final Consumer<? super String> contentSaver, VirtualFile virtualFile, FileEditorManager fileEditorManager) {
         final FileEditor[] editors = fileEditorManager.openFile(virtualFile, true, true);
         if (editors.length == 0) {
@@ -491,9 +545,7 @@ public class IDEHelperImpl implements IDEHelper {
                     .doOnTerminate(() -> IOUtils.closeQuietly(output, null))
                     .subscribe(bytes -> {
                         try {
-                            if (bytes != null) {
-                                output.write(bytes.array(), 0, bytes.limit());
-                            }
+                            writeBuffer(bytes, output);
                         } catch (final IOException e) {
                             final String error = "failed to write data into local file";
                             final String action = "try later";
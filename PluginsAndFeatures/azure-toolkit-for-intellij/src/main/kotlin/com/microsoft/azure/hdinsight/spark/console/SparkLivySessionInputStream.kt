@@ -23,24 +23,38 @@
 package com.microsoft.azure.hdinsight.spark.console
 
 import com.microsoft.azure.hdinsight.common.logger.ILogger
+import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.PollingBackoff
 import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.Session
-import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.Statement
+import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement
 import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.StatementOutput
+import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.StatementState
 import java.io.InputStream
 import java.nio.charset.StandardCharsets.UTF_8
-import java.util.*
 
 abstract class SparkLivySessionInputStream(val session: Session) : InputStream(), ILogger {
     private var isClosed: Boolean = false
     private var nextStatementId = 0
-    private var statementOutputQueue: ArrayDeque<Byte>? = null
+    private var emptyPolls = 0
+    private val statementOutputBuffer = ByteRingBuffer()
 
     override fun read(): Int {
         if (isClosed) {
             return -1
         }
 
-        return statementOutputQueue?.pollFirst()?.toInt() ?: -1
+        return statementOutputBuffer.read()
+    }
+
+    override fun read(b: ByteArray, off: Int, len: Int): Int {
+        if (isClosed) {
+            return -1
+        }
+
+        if (len == 0) {
+            return 0
+        }
+
+        return statementOutputBuffer.read(b, off, len).takeIf { it > 0 } ?: -1
     }
 
     override fun close() {
@@ -52,38 +66,115 @@ abstract class SparkLivySessionInputStream(val session: Session) : InputStream()
             return 0;
         }
 
-        if (isOutputEmpty()) {
-            fetchNextStatementOutput()
+        if (statementOutputBuffer.isEmpty()) {
+            fetchStatementOutputs()
 
-            if (isOutputEmpty()) {
-                Thread.sleep(1000)
+            if (statementOutputBuffer.isEmpty()) {
+                // Back off while no statement finishes, and poll quickly again once outputs arrive
+                Thread.sleep(PollingBackoff.delayOf(emptyPolls++))
+            } else {
+                emptyPolls = 0
             }
         }
 
-        return statementOutputQueue?.size ?: 0
+        return statementOutputBuffer.size
     }
 
     abstract fun createStatementBytesQueue(output: StatementOutput): String?
 
-    private fun fetchNextStatementOutput() {
-        val statement = Statement(session, nextStatementId)
-
+    private fun fetchStatementOutputs() {
         try {
-            statementOutputQueue = statement.get()
-                    .map { stm ->
-                        createStatementBytesQueue(stm.output)?.let {
-                            log().debug("Statement $nextStatementId result $it")
-                            ArrayDeque("$it\n".toByteArray(UTF_8).toList())
-                        }
-                    }
+            val statements = session.getStatements(nextStatementId)
                     .toBlocking()
                     .singleOrDefault(null)
+                    ?: return
+
+            // Consume the finished statements in order, stop at the first one still running
+            for (statement in statements) {
+                if (statement.id != nextStatementId || !isDone(statement)) {
+                    break
+                }
+
+                statement.output
+                        ?.let { createStatementBytesQueue(it) }
+                        ?.let {
+                            log().debug("Statement $nextStatementId result $it")
+                            statementOutputBuffer.write("$it\n".toByteArray(UTF_8))
+                        }
 
-            nextStatementId++
+                nextStatementId++
+            }
         } catch (err: Exception) {
             log().debug("Can't get the $nextStatementId output", err)
         }
     }
 
-    private fun isOutputEmpty(): Boolean = (statementOutputQueue?.isEmpty() ?: true)
-}
\ No newline at end of file
+    private fun isDone(statement: Statement): Boolean = when (statement.state) {
+        StatementState.AVAILABLE, StatementState.ERROR, StatementState.CANCELLED -> true
+        else -> false
+    }
+}
+
+/**
+ * A growable ring buffer of primitive bytes, to avoid boxing every output byte.
+ */
+class ByteRingBuffer(initialCapacity: Int = 4096) {
+    private var buffer = ByteArray(maxOf(initialCapacity, 1))
+    private var head = 0
+
+    var size = 0
+        private set
+
+    fun isEmpty(): Boolean = size == 0
+
+    fun write(bytes: ByteArray) {
+        ensureCapacity(size + bytes.size)
+
+        val tail = (head + size) % buffer.size
+        val firstPart = minOf(bytes.size, buffer.size - tail)
+        System.arraycopy(bytes, 0, buffer, tail, firstPart)
+        System.arraycopy(bytes, firstPart, buffer, 0, bytes.size - firstPart)
+        size += bytes.size
+    }
+
+    fun read(): Int {
+        if (size == 0) {
+            return -1
+        }
+
+        val value = buffer[head].toInt() and 0xFF
+        head = (head + 1) % buffer.size
+        size--
+
+        return value
+    }
+
+    fun read(dest: ByteArray, off: Int, len: Int): Int {
+        val count = minOf(len, size)
+        val firstPart = minOf(count, buffer.size - head)
+        System.arraycopy(buffer, head, dest, off, firstPart)
+        System.arraycopy(buffer, 0, dest, off + firstPart, count - firstPart)
+        head = (head + count) % buffer.size
+        size -= count
+
+        return count
+    }
+
+    private fun ensureCapacity(capacity: Int) {
+        if (capacity <= buffer.size) {
+            return
+        }
+
+        var newCapacity = buffer.size
+        while (newCapacity < capacity) {
+            newCapacity *= 2
+        }
+
+        val newBuffer = ByteArray(newCapacity)
+        read(newBuffer, 0, size).also { copied ->
+            head = 0
+            size = copied
+        }
+        buffer = newBuffer
+    }
+}
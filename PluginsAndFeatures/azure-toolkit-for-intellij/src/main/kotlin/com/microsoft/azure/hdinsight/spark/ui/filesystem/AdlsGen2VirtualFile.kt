@@ -47,16 +47,14 @@ open class AdlsGen2VirtualFile(val abfsUri: AbfsUri, private val myIsDirectory:
         this.parent = parent
     }
 
-    override fun getChildren(): Array<VirtualFile>? = myLazyChildren
+    // The listing is cached and paged by the file system, so that the children listed so far are returned and the
+    // ones of following pages show up once the chooser tree is updated
+    override fun getChildren(): Array<VirtualFile>? = (myFileSystem as? ADLSGen2FileSystem)?.listFiles(this)
 
     override fun getUrl(): String {
         return abfsUri.url.toString()
     }
 
-    private val myLazyChildren: Array<VirtualFile>? by lazy {
-        (myFileSystem as? ADLSGen2FileSystem)?.listFiles(this)
-    }
-
     override fun toString(): String {
         return abfsUri.uri.toString()
     }
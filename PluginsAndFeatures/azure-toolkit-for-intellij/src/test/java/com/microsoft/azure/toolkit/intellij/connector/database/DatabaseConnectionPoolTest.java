@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.connector.database;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class DatabaseConnectionPoolTest {
+    private static final String URL = "jdbc:counting://localhost/db";
+
+    private final CountingDriver driver = new CountingDriver();
+    private DatabaseConnectionPool pool;
+
+    @Before
+    public void setUp() throws SQLException {
+        DriverManager.registerDriver(driver);
+        pool = new DatabaseConnectionPool(60_000);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        pool.close();
+        DriverManager.deregisterDriver(driver);
+    }
+
+    @Test
+    public void testConnectionIsReused() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            pool.execute(URL, "admin", "password", connection -> true);
+        }
+
+        assertEquals(1, driver.opened.get());
+        assertEquals(1, driver.open.get());
+        assertEquals(1, pool.getIdleConnectionCount());
+    }
+
+    @Test
+    public void testConnectionIsNotReusedWithDifferentPassword() throws SQLException {
+        pool.execute(URL, "admin", "password", connection -> true);
+        pool.execute(URL, "admin", "another", connection -> true);
+
+        assertEquals(2, driver.opened.get());
+    }
+
+    @Test
+    public void testConnectionIsClosedOnFailure() {
+        try {
+            pool.execute(URL, "admin", "password", connection -> {
+                throw new SQLException("failed");
+            });
+            fail("SQLException is expected");
+        } catch (final SQLException ignored) {
+        }
+
+        assertEquals(0, driver.open.get());
+        assertEquals(0, pool.getIdleConnectionCount());
+    }
+
+    @Test
+    public void testIdleConnectionsAreEvicted() throws SQLException {
+        final DatabaseConnectionPool shortLivedPool = new DatabaseConnectionPool(0);
+        shortLivedPool.execute(URL, "admin", "password", connection -> true);
+        shortLivedPool.evictIdleConnections();
+
+        assertEquals(0, driver.open.get());
+        assertEquals(0, shortLivedPool.getIdleConnectionCount());
+    }
+
+    /**
+     * A JDBC driver stand-in counting the opened and still open connections.
+     */
+    private static class CountingDriver implements Driver {
+        private final AtomicInteger opened = new AtomicInteger();
+        private final AtomicInteger open = new AtomicInteger();
+
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            opened.incrementAndGet();
+            open.incrementAndGet();
+            final boolean[] closed = {false};
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!closed[0]) {
+                                closed[0] = true;
+                                open.decrementAndGet();
+                            }
+                            return null;
+                        case "isClosed":
+                            return closed[0];
+                        case "isValid":
+                            return !closed[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:counting:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.intellij.webapp.docker.utils;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DockerBuildContextTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path projectFolder;
+    private Path contextFolder;
+
+    @Before
+    public void setUp() throws IOException {
+        projectFolder = temporaryFolder.newFolder("project").toPath();
+        contextFolder = temporaryFolder.getRoot().toPath().resolve("context");
+        write("target/app.jar", "jar");
+        write("target/classes/App.class", "class");
+        write(".git/HEAD", "ref");
+        write(".idea/workspace.xml", "xml");
+        write("config/app.properties", "properties");
+        write("config/local.properties", "local");
+    }
+
+    @Test
+    public void testContextOnlyContainsCopiedFiles() throws IOException {
+        write("Dockerfile", "FROM tomcat\nCOPY target/*.jar \\\n  /usr/local/tomcat/webapps/\nADD config /config\n");
+        write(".dockerignore", "**/local.properties\n");
+
+        final Path context = new DockerBuildContext(projectFolder, "Dockerfile", contextFolder).prepare();
+
+        assertEquals(contextFolder, context);
+        assertEquals(Arrays.asList(".azure-context-fingerprint", ".dockerignore", "Dockerfile",
+                                   "config/app.properties", "target/app.jar"), listFiles(context));
+    }
+
+    @Test
+    public void testContextIsReusedWhenInputsAreUnchanged() throws IOException {
+        write("Dockerfile", "FROM tomcat\nCOPY target/app.jar /app.jar\n");
+        final DockerBuildContext buildContext = new DockerBuildContext(projectFolder, "Dockerfile", contextFolder);
+        final Path jar = buildContext.prepare().resolve("target/app.jar");
+        final long lastModified = Files.getLastModifiedTime(jar).toMillis();
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(lastModified - 10000));
+
+        buildContext.prepare();
+        assertEquals(lastModified - 10000, Files.getLastModifiedTime(jar).toMillis());
+
+        write("target/app.jar", "new jar");
+        buildContext.prepare();
+        assertEquals("new jar", new String(Files.readAllBytes(jar), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testFallbackToDockerDirectoryForBuildArguments() throws IOException {
+        write("Dockerfile", "FROM tomcat\nARG JAR\nCOPY ${JAR} /app.jar\n");
+
+        assertEquals(projectFolder, new DockerBuildContext(projectFolder, "Dockerfile", contextFolder).prepare());
+        assertFalse(Files.exists(contextFolder));
+    }
+
+    @Test
+    public void testDockerIgnoreExclusion() {
+        final DockerBuildContext.DockerIgnore dockerIgnore = new DockerBuildContext.DockerIgnore();
+        dockerIgnore.addPattern("# comment");
+        dockerIgnore.addPattern("target");
+        dockerIgnore.addPattern("!target/*.jar");
+        dockerIgnore.addPattern("**/*.tmp");
+
+        assertTrue(dockerIgnore.isIgnored("target/classes/App.class"));
+        assertFalse(dockerIgnore.isIgnored("target/app.jar"));
+        assertTrue(dockerIgnore.isIgnored("a.tmp"));
+        assertTrue(dockerIgnore.isIgnored("src/b.tmp"));
+        assertFalse(dockerIgnore.isIgnored("src/b.java"));
+    }
+
+    private void write(String file, String content) throws IOException {
+        final Path path = projectFolder.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> listFiles(Path folder) throws IOException {
+        try (Stream<Path> stream = Files.walk(folder)) {
+            return stream.filter(Files::isRegularFile)
+                         .map(file -> folder.relativize(file).toString().replace('\\', '/'))
+                         .sorted()
+                         .collect(Collectors.toList());
+        }
+    }
+}
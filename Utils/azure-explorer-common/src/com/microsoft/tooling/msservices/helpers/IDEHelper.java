@@ -10,6 +10,7 @@ import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
 import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.tooling.msservices.serviceexplorer.azure.appservice.file.AppServiceFilePage;
 
 import javax.swing.*;
 import java.io.File;
@@ -143,4 +144,8 @@ public interface IDEHelper {
     default void openAppServiceFile(final AppServiceFile file, Object context) {
         // do nothing in default
     }
+
+    default void openAppServiceFilePage(final AppServiceFilePage page, Object context) {
+        // do nothing in default
+    }
 }
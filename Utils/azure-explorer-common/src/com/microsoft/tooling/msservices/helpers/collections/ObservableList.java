@@ -10,12 +10,23 @@ import com.google.common.collect.ForwardingList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * A list which notifies the listeners of the added and removed elements. Changes made in a batch (see
+ * {@link #batch(Runnable)}) are coalesced, so that the listeners receive at most one {@code remove} and one
+ * {@code add} event for the batch instead of one event per element.
+ */
 public class ObservableList<E> extends ForwardingList<E> {
     private final List<E> delegate = new ArrayList<E>();
-    protected List<ListChangeListener> changeListeners = new ArrayList<ListChangeListener>();
-    private boolean freezeEvents = false;
+    // copy-on-write, so that dispatching events never locks and listeners may (un)register themselves while notified
+    protected List<ListChangeListener> changeListeners = new CopyOnWriteArrayList<ListChangeListener>();
+    private int batchDepth = 0;
+    private List<E> batchSnapshot;
 
     @Override
     protected List<E> delegate() {
@@ -29,11 +40,10 @@ public class ObservableList<E> extends ForwardingList<E> {
 
     @Override
     public boolean addAll(Collection<? extends E> c) {
-        freezeEvents = true;
-        boolean changed = standardAddAll(c);
+        final List<E> added = new ArrayList<E>(c);
+        final boolean changed = delegate.addAll(added);
         if (changed) {
-            freezeEvents = false;
-            fireChangeListenerEvent(ListChangedAction.add, c, null);
+            fireChangeListenerEvent(ListChangedAction.add, added, null);
         }
 
         return changed;
@@ -41,11 +51,10 @@ public class ObservableList<E> extends ForwardingList<E> {
 
     @Override
     public boolean addAll(int index, Collection<? extends E> c) {
-        freezeEvents = true;
-        boolean changed = standardAddAll(index, c);
+        final List<E> added = new ArrayList<E>(c);
+        final boolean changed = delegate.addAll(index, added);
         if (changed) {
-            freezeEvents = false;
-            fireChangeListenerEvent(ListChangedAction.add, c, null);
+            fireChangeListenerEvent(ListChangedAction.add, added, null);
         }
 
         return changed;
@@ -72,14 +81,22 @@ public class ObservableList<E> extends ForwardingList<E> {
 
     @Override
     public boolean removeAll(Collection<?> c) {
-        freezeEvents = true;
-        boolean changed = standardRemoveAll(c);
-        if (changed) {
-            freezeEvents = false;
-            fireChangeListenerEvent(ListChangedAction.remove, null, c);
-        }
+        return removeIf(c, true);
+    }
 
-        return standardRemoveAll(c);
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return removeIf(c, false);
+    }
+
+    @Override
+    public void clear() {
+        if (delegate.isEmpty()) {
+            return;
+        }
+        final List<E> removed = new ArrayList<E>(delegate);
+        delegate.clear();
+        fireChangeListenerEvent(ListChangedAction.remove, null, removed);
     }
 
     @Override
@@ -95,10 +112,98 @@ public class ObservableList<E> extends ForwardingList<E> {
         return removed;
     }
 
+    /**
+     * Start a batch of changes, the listeners are not notified until the outermost batch ends.
+     * Every call must be paired with {@link #endBatch()}, prefer {@link #batch(Runnable)} where possible.
+     */
+    public void beginBatch() {
+        if (batchDepth++ == 0) {
+            batchSnapshot = new ArrayList<E>(delegate);
+        }
+    }
+
+    /**
+     * End a batch of changes. When the outermost batch ends, the listeners are notified of the elements removed and
+     * then of the elements added since the batch began. Elements added and removed again within the batch are not
+     * reported at all.
+     */
+    public void endBatch() {
+        if (batchDepth <= 0) {
+            throw new IllegalStateException("endBatch() is called without beginBatch()");
+        }
+        if (--batchDepth > 0) {
+            return;
+        }
+        final List<E> snapshot = batchSnapshot;
+        batchSnapshot = null;
+
+        // elements are matched by identity, which is what the listeners track
+        final Map<E, int[]> remaining = new IdentityHashMap<E, int[]>();
+        for (final E element : snapshot) {
+            remaining.computeIfAbsent(element, e -> new int[1])[0]++;
+        }
+        final List<E> added = new ArrayList<E>();
+        for (final E element : delegate) {
+            final int[] count = remaining.get(element);
+            if (count != null && count[0] > 0) {
+                count[0]--;
+            } else {
+                added.add(element);
+            }
+        }
+        final List<E> removed = new ArrayList<E>();
+        for (final E element : snapshot) {
+            final int[] count = remaining.get(element);
+            if (count[0] > 0) {
+                count[0]--;
+                removed.add(element);
+            }
+        }
+
+        if (!removed.isEmpty()) {
+            fireChangeListenerEvent(ListChangedAction.remove, null, removed);
+        }
+        if (!added.isEmpty()) {
+            fireChangeListenerEvent(ListChangedAction.add, added, null);
+        }
+    }
+
+    /**
+     * Make the changes in a batch, see {@link #beginBatch()}.
+     */
+    public void batch(Runnable changes) {
+        beginBatch();
+        try {
+            changes.run();
+        } finally {
+            endBatch();
+        }
+    }
+
+    public boolean isInBatch() {
+        return batchDepth > 0;
+    }
+
+    private boolean removeIf(Collection<?> c, boolean contained) {
+        final List<E> removed = new ArrayList<E>();
+        for (final Iterator<E> iterator = delegate.iterator(); iterator.hasNext(); ) {
+            final E element = iterator.next();
+            if (c.contains(element) == contained) {
+                iterator.remove();
+                removed.add(element);
+            }
+        }
+        if (removed.isEmpty()) {
+            return false;
+        }
+        fireChangeListenerEvent(ListChangedAction.remove, null, removed);
+        return true;
+    }
+
     private void fireChangeListenerEvent(ListChangedAction action,
                                          Collection<?> newItems,
                                          Collection<?> oldItems) {
-        if (!changeListeners.isEmpty() && !freezeEvents) {
+        if (!changeListeners.isEmpty() && batchDepth == 0) {
             ListChangedEvent listChangedEvent = new ListChangedEvent(
                     this,
                     action,
@@ -119,11 +224,6 @@ public class ObservableList<E> extends ForwardingList<E> {
     }
 
     public void removeAllChangeListeners() {
-        // we remove items from the collection one by one instead
-        // of simply calling "clear" because we want the "remove" event
-        // to fire for each item that's removed
-        while (!changeListeners.isEmpty()) {
-            changeListeners.remove(0);
-        }
+        changeListeners.clear();
     }
 }
@@ -181,20 +181,23 @@ public class Node implements MvpView, BasicTelemetryProperty, Sortable {
     }
 
     public void removeAllChildNodes() {
-        while (!childNodes.isEmpty()) {
-            Node node = childNodes.get(0);
-
-            // sometimes node can be null if multiple threads access this method; safer to check than make it synchronized
-            if (node != null) {
-                // remove this node's child nodes (so they get an
-                // opportunity to clean up after them)
-                node.removeAllChildNodes();
-            }
+        // the listeners are notified once for all the removed nodes
+        childNodes.batch(() -> {
+            while (!childNodes.isEmpty()) {
+                Node node = childNodes.get(0);
+
+                // sometimes node can be null if multiple threads access this method; safer to check than make it synchronized
+                if (node != null) {
+                    // remove this node's child nodes (so they get an
+                    // opportunity to clean up after them)
+                    node.removeAllChildNodes();
+                }
 
-            // this remove call should cause the NodeListChangeListener object
-            // registered on it's child nodes to fire
-            childNodes.remove(0);
-        }
+                // this remove call should cause the NodeListChangeListener object
+                // registered on it's child nodes to fire
+                childNodes.remove(0);
+            }
+        });
     }
 
     /**
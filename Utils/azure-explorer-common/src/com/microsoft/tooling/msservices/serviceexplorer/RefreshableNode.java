@@ -81,12 +81,18 @@ public abstract class RefreshableNode extends Node {
         if (!loading) {
             setLoading(true);
             try {
-                removeAllChildNodes();
-                if (AuthMethodManager.getInstance().isSignedIn() || this instanceof AzureModule) {
-                    if (forceRefresh) {
-                        refreshFromAzure();
+                // the listeners are notified of the removed and the reloaded child nodes at once, instead of per node
+                childNodes.beginBatch();
+                try {
+                    removeAllChildNodes();
+                    if (AuthMethodManager.getInstance().isSignedIn() || this instanceof AzureModule) {
+                        if (forceRefresh) {
+                            refreshFromAzure();
+                        }
+                        refreshItems();
                     }
-                    refreshItems();
+                } finally {
+                    childNodes.endBatch();
                 }
 
                 future.set(getChildNodes());
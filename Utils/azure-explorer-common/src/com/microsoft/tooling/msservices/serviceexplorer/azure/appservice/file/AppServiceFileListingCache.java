@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.serviceexplorer.azure.appservice.file;
+
+import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
+import com.microsoft.azure.toolkit.lib.appservice.service.IAppService;
+import lombok.extern.java.Log;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Caches the directory listings of app service file systems for a short while, so that expanding, collapsing and
+ * re-expanding the file nodes doesn't list the same directory through Kudu again. Listings of child directories can be
+ * prefetched in background, a listing requested while it is being prefetched waits for the prefetch instead of
+ * sending another request.
+ */
+@Log
+public class AppServiceFileListingCache {
+    private static final long LISTING_TTL_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    private static final int MAX_PREFETCH_DIRECTORIES = 10;
+    private static final AppServiceFileListingCache INSTANCE = new AppServiceFileListingCache(LISTING_TTL_MILLIS);
+
+    private final long ttlMillis;
+    private final Map<String, Listing> listings = new ConcurrentHashMap<>();
+    private final AtomicInteger prefetcherCount = new AtomicInteger();
+    private final ExecutorService prefetcher = Executors.newFixedThreadPool(2, runnable -> {
+        final Thread thread = new Thread(runnable, "azure-app-service-file-prefetcher-" + prefetcherCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    AppServiceFileListingCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public static AppServiceFileListingCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the files in the directory, from the cache if it's listed (or being prefetched) within the TTL.
+     */
+    @Nonnull
+    public List<AppServiceFile> list(@Nonnull final IAppService app, @Nonnull final String path) {
+        try {
+            return getOrLoad(app, path, Runnable::run).files.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * List the directories in background, at most {@link #MAX_PREFETCH_DIRECTORIES} of them are prefetched.
+     */
+    public void prefetch(@Nonnull final IAppService app, @Nonnull final Collection<String> paths) {
+        paths.stream().limit(MAX_PREFETCH_DIRECTORIES).forEach(path -> getOrLoad(app, path, prefetcher));
+    }
+
+    /**
+     * Drop the cached listings of the directory and its sub directories.
+     */
+    public void invalidate(@Nonnull final IAppService app, @Nonnull final String path) {
+        final String key = getKey(app, path);
+        final String prefix = key.endsWith("/") ? key : key + "/";
+        listings.keySet().removeIf(k -> k.equals(key) || k.startsWith(prefix));
+    }
+
+    private Listing getOrLoad(@Nonnull final IAppService app, @Nonnull final String path, @Nonnull final Executor executor) {
+        final String key = getKey(app, path);
+        final Listing[] created = {null};
+        final Listing listing = listings.compute(key, (k, cached) -> {
+            if (cached != null && !cached.isExpired()) {
+                return cached;
+            }
+            created[0] = new Listing();
+            return created[0];
+        });
+        if (created[0] != null) {
+            final Listing loading = created[0];
+            executor.execute(() -> {
+                try {
+                    loading.complete(app.getFilesInDirectory(path));
+                } catch (final RuntimeException e) {
+                    // don't cache the failure, the next request will list the directory again
+                    listings.remove(key, loading);
+                    loading.files.completeExceptionally(e);
+                    if (executor == prefetcher) {
+                        log.log(Level.FINE, String.format("Failed to prefetch files in %s", path), e);
+                    }
+                }
+            });
+        }
+        return listing;
+    }
+
+    private static String getKey(@Nonnull final IAppService app, @Nonnull final String path) {
+        return app.id() + ":" + path;
+    }
+
+    private class Listing {
+        private final CompletableFuture<List<AppServiceFile>> files = new CompletableFuture<>();
+        private volatile long loadedTime;
+
+        private void complete(List<AppServiceFile> result) {
+            loadedTime = System.currentTimeMillis();
+            files.complete(result);
+        }
+
+        private boolean isExpired() {
+            // a listing being loaded is never expired, the requester just waits for it
+            return files.isDone() && System.currentTimeMillis() - loadedTime >= ttlMillis;
+        }
+    }
+}
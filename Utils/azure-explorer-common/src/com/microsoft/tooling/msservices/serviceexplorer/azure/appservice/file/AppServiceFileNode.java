@@ -29,12 +29,12 @@ import org.apache.commons.io.FileUtils;
 
 import javax.swing.*;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Log
 public class AppServiceFileNode extends AzureRefreshableNode implements TelemetryProperties {
-    private static final long SIZE_20MB = 20 * 1024 * 1024;
-
     private final AppServiceFile file;
     private final IAppService appService;
 
@@ -44,9 +44,27 @@ public class AppServiceFileNode extends AzureRefreshableNode implements Telemetr
         this.appService = webApp;
         if (this.file.getType() != AppServiceFile.Type.DIRECTORY) {
             this.addDownloadAction();
+            if (AppServiceFilePage.isPaged(this.file)) {
+                this.addOpenPageActions();
+            }
         }
     }
 
+    private void addOpenPageActions() {
+        this.addAction("Open First Page", new NodeActionListener() {
+            @Override
+            protected void actionPerformed(final NodeActionEvent e) {
+                openInBackground(AppServiceFilePage.first(file), getProject());
+            }
+        });
+        this.addAction("Open Last Page", new NodeActionListener() {
+            @Override
+            protected void actionPerformed(final NodeActionEvent e) {
+                openInBackground(AppServiceFilePage.last(file), getProject());
+            }
+        });
+    }
+
     private void addDownloadAction() {
         this.addAction("Download", new NodeActionListener() {
             @Override
@@ -68,26 +86,45 @@ public class AppServiceFileNode extends AzureRefreshableNode implements Telemetr
             if (this.file.getType() != AppServiceFile.Type.DIRECTORY) {
                 return;
             }
-            appService.getFilesInDirectory(this.file.getPath()).stream()
+            final List<AppServiceFile> files = AppServiceFileListingCache.getInstance().list(appService, this.file.getPath());
+            files.stream()
                     .map(file -> new AppServiceFileNode(file, this, appService))
                     .forEach(this::addChildNode);
+            // list the child directories in background, so that expanding them next is instant
+            AppServiceFileListingCache.getInstance().prefetch(appService, files.stream()
+                    .filter(file -> file.getType() == AppServiceFile.Type.DIRECTORY)
+                    .map(AppServiceFile::getPath)
+                    .collect(Collectors.toList()));
         });
     }
 
+    @Override
+    protected void refreshFromAzure() {
+        AppServiceFileListingCache.getInstance().invalidate(appService, this.file.getPath());
+    }
+
     @AzureOperation(name = "appservice|file.open", params = {"this.file.getName()"}, type = AzureOperation.Type.ACTION)
-    private void open(final Object context) {
-        executeWithTelemetryWrapper(TelemetryConstants.OPEN_FILE, () -> DefaultLoader.getIdeHelper().openAppServiceFile(this.file, context));
+    private void open(final AppServiceFilePage page, final Object context) {
+        executeWithTelemetryWrapper(TelemetryConstants.OPEN_FILE, () -> {
+            if (page.isWholeFile()) {
+                DefaultLoader.getIdeHelper().openAppServiceFile(this.file, context);
+            } else {
+                DefaultLoader.getIdeHelper().openAppServiceFilePage(page, context);
+            }
+        });
     }
 
     @Override
     public void onNodeDblClicked(Object context) {
         if (this.file.getType() == AppServiceFile.Type.DIRECTORY) {
             return;
-        } else if (this.file.getSize() > SIZE_20MB) {
-            DefaultLoader.getUIHelper().showError("File is too large, please download it first", "File is Too Large");
-            return;
         }
-        final Runnable runnable = () -> open(context);
+        // files too large to be opened as a whole are previewed from the last page, which is the latest part of logs
+        openInBackground(AppServiceFilePage.last(this.file), context);
+    }
+
+    private void openInBackground(final AppServiceFilePage page, final Object context) {
+        final Runnable runnable = () -> open(page, context);
         final AzureString title = AzureOperationBundle.title("appservice|file.get_content", file.getName(), file.getApp().name());
         AzureTaskManager.getInstance().runInBackground(new AzureTask(this.getProject(), title, false, runnable));
     }
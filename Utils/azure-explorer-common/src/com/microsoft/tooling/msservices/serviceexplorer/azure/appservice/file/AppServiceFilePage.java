@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.serviceexplorer.azure.appservice.file;
+
+import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
+import reactor.core.publisher.Flux;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+
+/**
+ * A byte range of an app service file, so that files too large to be opened as a whole can be previewed page by page.
+ * The content stream is cancelled once the end of the page is reached, so reading the head of a large file doesn't
+ * download the rest of it.
+ */
+public class AppServiceFilePage {
+    public static final long PAGE_SIZE = 20 * 1024 * 1024;
+
+    private final AppServiceFile file;
+    private final int index;
+
+    private AppServiceFilePage(@Nonnull final AppServiceFile file, final int index) {
+        this.file = file;
+        this.index = index;
+    }
+
+    public static boolean isPaged(@Nonnull final AppServiceFile file) {
+        return file.getSize() > PAGE_SIZE;
+    }
+
+    @Nonnull
+    public static AppServiceFilePage of(@Nonnull final AppServiceFile file, final int index) {
+        final int pageCount = getPageCount(file);
+        if (index < 0 || index >= pageCount) {
+            throw new IllegalArgumentException(String.format("page %d is out of range [0, %d)", index, pageCount));
+        }
+        return new AppServiceFilePage(file, index);
+    }
+
+    @Nonnull
+    public static AppServiceFilePage first(@Nonnull final AppServiceFile file) {
+        return of(file, 0);
+    }
+
+    @Nonnull
+    public static AppServiceFilePage last(@Nonnull final AppServiceFile file) {
+        return of(file, getPageCount(file) - 1);
+    }
+
+    public static int getPageCount(@Nonnull final AppServiceFile file) {
+        return getPageCount(file.getSize(), PAGE_SIZE);
+    }
+
+    static int getPageCount(final long size, final long pageSize) {
+        return (int) Math.max(1, (size + pageSize - 1) / pageSize);
+    }
+
+    @Nonnull
+    public AppServiceFile getFile() {
+        return file;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public long getOffset() {
+        return getOffset(file.getSize(), index, PAGE_SIZE);
+    }
+
+    /**
+     * The last page is the latest full page of the file rather than the rest after the previous pages, so that it
+     * overlaps the previous page instead of being only a few bytes at the tail.
+     */
+    static long getOffset(final long size, final int index, final long pageSize) {
+        if (index == getPageCount(size, pageSize) - 1) {
+            return Math.max(0, size - pageSize);
+        }
+        return index * pageSize;
+    }
+
+    public boolean isWholeFile() {
+        return getPageCount(file) == 1;
+    }
+
+    /**
+     * e.g. "app.log (page 3 of 5)" for a paged file, or the file name if the file fits in one page.
+     */
+    @Nonnull
+    public String getDisplayName() {
+        return isWholeFile() ? file.getName() :
+               String.format("%s (page %d of %d)", file.getName(), index + 1, getPageCount(file));
+    }
+
+    @Nonnull
+    public Flux<ByteBuffer> read() {
+        if (isWholeFile()) {
+            return file.getApp().getFileContent(file.getPath());
+        }
+        return slice(file.getApp().getFileContent(file.getPath()), getOffset(), PAGE_SIZE);
+    }
+
+    /**
+     * Emit the bytes in [offset, offset + length) of the content, and cancel the content once they are all emitted.
+     */
+    @Nonnull
+    static Flux<ByteBuffer> slice(@Nonnull final Flux<ByteBuffer> content, final long offset, final long length) {
+        final long end = offset + length;
+        return Flux.defer(() -> {
+            final long[] position = {0};
+            return content
+                    .map(buffer -> {
+                        final long start = position[0];
+                        position[0] += buffer.remaining();
+                        final long from = Math.max(offset, start);
+                        final long to = Math.min(end, position[0]);
+                        if (from >= to) {
+                            return ByteBuffer.allocate(0);
+                        }
+                        final ByteBuffer slice = buffer.duplicate();
+                        slice.position(buffer.position() + (int) (from - start));
+                        slice.limit(buffer.position() + (int) (to - start));
+                        return slice;
+                    })
+                    .filter(ByteBuffer::hasRemaining)
+                    .takeUntil(ignore -> position[0] >= end);
+        });
+    }
+}
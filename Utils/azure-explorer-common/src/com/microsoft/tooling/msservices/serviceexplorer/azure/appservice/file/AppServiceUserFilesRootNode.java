@@ -5,6 +5,7 @@
 
 package com.microsoft.tooling.msservices.serviceexplorer.azure.appservice.file;
 
+import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
 import com.microsoft.azure.toolkit.lib.appservice.service.IAppService;
 import com.microsoft.azure.toolkit.lib.appservice.service.IFunctionAppBase;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
@@ -22,7 +23,9 @@ import com.microsoft.tooling.msservices.serviceexplorer.azure.webapp.WebAppModul
 import javax.annotation.Nonnull;
 import javax.swing.*;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 public class AppServiceUserFilesRootNode extends AzureRefreshableNode implements TelemetryProperties {
     private static final String MODULE_ID = WebAppModule.class.getName();
@@ -52,12 +55,22 @@ public class AppServiceUserFilesRootNode extends AzureRefreshableNode implements
     protected void refreshItems() {
         EventUtil.executeWithLog(getServiceName(), TelemetryConstants.LIST_FILE, operation -> {
             operation.trackProperty(TelemetryConstants.SUBSCRIPTIONID, subscriptionId);
-            appService.getFilesInDirectory(getRootPath()).stream()
+            final List<AppServiceFile> files = AppServiceFileListingCache.getInstance().list(appService, getRootPath());
+            files.stream()
                     .map(file -> new AppServiceFileNode(file, this, appService))
                     .forEach(this::addChildNode);
+            AppServiceFileListingCache.getInstance().prefetch(appService, files.stream()
+                    .filter(file -> file.getType() == AppServiceFile.Type.DIRECTORY)
+                    .map(AppServiceFile::getPath)
+                    .collect(Collectors.toList()));
         });
     }
 
+    @Override
+    protected void refreshFromAzure() {
+        AppServiceFileListingCache.getInstance().invalidate(appService, getRootPath());
+    }
+
     @NotNull
     protected String getRootPath() {
         return ROOT_PATH;
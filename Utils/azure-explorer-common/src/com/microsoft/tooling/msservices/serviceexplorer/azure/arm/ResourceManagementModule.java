@@ -8,6 +8,7 @@ package com.microsoft.tooling.msservices.serviceexplorer.azure.arm;
 import com.microsoft.azure.toolkit.lib.common.model.ResourceGroup;
 import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.azuretools.core.mvp.model.AzureResourceInventory;
 import com.microsoft.azuretools.core.mvp.model.ResourceEx;
 import com.microsoft.azuretools.telemetry.TelemetryConstants;
 import com.microsoft.azuretools.telemetrywrapper.EventUtil;
@@ -42,6 +43,12 @@ public class ResourceManagementModule extends AzureRefreshableNode implements Re
         return AzureIconSymbol.ResourceManagement.MODULE;
     }
 
+    @Override
+    protected void refreshFromAzure() {
+        AzureResourceInventory.getInstance().invalidate(AzureResourceInventory.RESOURCE_GROUPS);
+        AzureResourceInventory.getInstance().invalidate(AzureResourceInventory.DEPLOYMENTS);
+    }
+
     @Override
     protected void refreshItems() throws AzureCmdException {
         try {
@@ -8,6 +8,7 @@ package com.microsoft.tooling.msservices.serviceexplorer.azure.arm;
 import com.microsoft.azure.management.Azure;
 import com.microsoft.azuretools.authmanage.AuthMethodManager;
 import com.microsoft.azuretools.core.mvp.model.AzureMvpModel;
+import com.microsoft.azuretools.core.mvp.model.AzureResourceInventory;
 import com.microsoft.azuretools.core.mvp.ui.base.MvpPresenter;
 import com.microsoft.azuretools.utils.CanceledByUserException;
 
@@ -23,5 +24,7 @@ public class ResourceManagementModulePresenter<V extends ResourceManagementModul
     public void onDeleteResourceGroup(String sid, String rgName) {
         Azure azure = AuthMethodManager.getInstance().getAzureClient(sid);
         azure.resourceGroups().deleteByName(rgName);
+        AzureResourceInventory.getInstance().invalidate(AzureResourceInventory.RESOURCE_GROUPS, sid);
+        AzureResourceInventory.getInstance().invalidate(AzureResourceInventory.DEPLOYMENTS, sid);
     }
 }
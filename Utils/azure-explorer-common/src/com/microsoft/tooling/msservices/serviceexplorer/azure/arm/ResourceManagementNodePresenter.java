@@ -8,6 +8,7 @@ package com.microsoft.tooling.msservices.serviceexplorer.azure.arm;
 import com.microsoft.azure.management.Azure;
 import com.microsoft.azuretools.authmanage.AuthMethodManager;
 import com.microsoft.azuretools.core.mvp.model.AzureMvpModel;
+import com.microsoft.azuretools.core.mvp.model.AzureResourceInventory;
 import com.microsoft.azuretools.core.mvp.ui.base.MvpPresenter;
 
 public class ResourceManagementNodePresenter<V extends ResourceManagementNodeView> extends MvpPresenter<V> {
@@ -22,5 +23,6 @@ public class ResourceManagementNodePresenter<V extends ResourceManagementNodeVie
     public void onDeleteDeployment(String sid, String deploymentId) {
         final Azure azure = AuthMethodManager.getInstance().getAzureClient(sid);
         azure.deployments().deleteById(deploymentId);
+        AzureResourceInventory.getInstance().invalidate(AzureResourceInventory.DEPLOYMENTS, sid);
     }
 }
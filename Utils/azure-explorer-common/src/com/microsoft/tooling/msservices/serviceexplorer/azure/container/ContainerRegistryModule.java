@@ -7,6 +7,7 @@ package com.microsoft.tooling.msservices.serviceexplorer.azure.container;
 
 import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.azuretools.core.mvp.model.AzureResourceInventory;
 import com.microsoft.tooling.msservices.serviceexplorer.AzureIconSymbol;
 import com.microsoft.tooling.msservices.serviceexplorer.AzureRefreshableNode;
 import com.microsoft.tooling.msservices.serviceexplorer.Node;
@@ -33,6 +34,11 @@ public class ContainerRegistryModule extends AzureRefreshableNode {
         return AzureIconSymbol.ContainerRegistry.MODULE;
     }
 
+    @Override
+    protected void refreshFromAzure() {
+        AzureResourceInventory.getInstance().invalidate(AzureResourceInventory.CONTAINER_REGISTRIES);
+    }
+
     @Override
     protected void refreshItems() throws AzureCmdException {
         containerRegistryPresenter.onModuleRefresh();
@@ -18,7 +18,7 @@ public class ContainerRegistryModulePresenter<V extends ContainerRegistryModule>
      * Called from view when the view needs refresh.
      */
     public void onModuleRefresh() {
-        List<ResourceEx<Registry>> registryList = ContainerRegistryMvpModel.getInstance().listContainerRegistries(true);
+        List<ResourceEx<Registry>> registryList = ContainerRegistryMvpModel.getInstance().listContainerRegistries(false);
         if (getMvpView() == null) {
             return;
         }
@@ -9,6 +9,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.gson.Gson;
 import com.microsoft.azure.management.containerregistry.AccessKeyType;
@@ -29,6 +30,7 @@ import com.microsoft.tooling.msservices.components.DefaultLoader;
 
 import okhttp3.HttpUrl;
 import rx.Observable;
+import rx.Subscription;
 
 public class ContainerRegistryPropertyViewPresenter<V extends ContainerRegistryPropertyMvpView>
         extends MvpPresenter<V> {
@@ -45,12 +47,18 @@ public class ContainerRegistryPropertyViewPresenter<V extends ContainerRegistryP
     private static final String KEY_PAGE_SIZE = "n";
     private static final String HEADER_LINK = "link";
     private static final String FAKE_URL = "http://a";
+    // only the repositories at the top of a page are prefetched, the others are listed when selected
+    private static final int MAX_PREFETCHED_REPOS = 5;
     private final Stack<String> repoStack = new Stack<>();
     private final Stack<String> tagStack = new Stack<>();
     private String currentRepo;
     private String currentTag;
     private String nextRepo;
     private String nextTag;
+    // first tag pages of the repositories on the current page, keyed by registry id and repository. Each page gets
+    // a new map, so that a prefetch started for an earlier page can only fill a discarded one.
+    private volatile Map<String, Map<String, String>> prefetchedTags = new ConcurrentHashMap<>();
+    private Subscription prefetchSubscription;
 
     /**
      * Constructor.
@@ -130,6 +138,7 @@ public class ContainerRegistryPropertyViewPresenter<V extends ContainerRegistryP
             updatePaginationInfo(isNextPage, Type.REPO, responseMap.get(HEADER_LINK));
             Gson gson = new Gson();
             Catalog catalog = gson.fromJson(responseMap.get(BODY), Catalog.class);
+            prefetchTags(id, registry.loginServerUrl(), setting, catalog.getRepositories());
             return catalog.getRepositories();
         })
                 .subscribeOn(getSchedulerProvider().io())
@@ -154,8 +163,12 @@ public class ContainerRegistryPropertyViewPresenter<V extends ContainerRegistryP
             PrivateRegistryImageSetting setting = ContainerRegistryMvpModel.getInstance()
                     .createImageSettingWithRegistry(registry);
             Map<String, String> query = buildQueryMap(isNextPage, tagStack, nextTag);
-            Map<String, String> responseMap = ContainerExplorerMvpModel.getInstance().listTags(registry
-                    .loginServerUrl(), setting.getUsername(), setting.getPassword(), repo, query);
+            boolean isFirstPage = isNextPage && tagStack.isEmpty() && currentTag == null;
+            Map<String, String> responseMap = isFirstPage ? prefetchedTags.remove(getTagsKey(id, repo)) : null;
+            if (responseMap == null) {
+                responseMap = ContainerExplorerMvpModel.getInstance().listTags(registry.loginServerUrl(),
+                        setting.getUsername(), setting.getPassword(), repo, query);
+            }
             updatePaginationInfo(isNextPage, Type.TAG, responseMap.get(HEADER_LINK));
             Gson gson = new Gson();
             Tag tag = gson.fromJson(responseMap.get(BODY), Tag.class);
@@ -198,6 +211,39 @@ public class ContainerRegistryPropertyViewPresenter<V extends ContainerRegistryP
         nextTag = "";
     }
 
+    /**
+     * Fetch the first tag page of the first few listed repositories concurrently in background, so that selecting
+     * one of them shows its tags without another round trip.
+     */
+    private void prefetchTags(@NotNull String id, @NotNull String serverUrl,
+                              @NotNull PrivateRegistryImageSetting setting, @Nullable List<String> repos) {
+        final Map<String, Map<String, String>> pageTags = new ConcurrentHashMap<>();
+        prefetchedTags = pageTags;
+        synchronized (this) {
+            if (prefetchSubscription != null) {
+                prefetchSubscription.unsubscribe();
+                prefetchSubscription = null;
+            }
+            if (repos == null || repos.isEmpty()) {
+                return;
+            }
+            Map<String, String> query = new HashMap<>();
+            query.put(KEY_PAGE_SIZE, PAGE_SIZE);
+            prefetchSubscription = Observable.fromCallable(() -> ContainerExplorerMvpModel.getInstance()
+                    .listTagsOfRepositories(serverUrl, setting.getUsername(), setting.getPassword(),
+                            repos.subList(0, Math.min(repos.size(), MAX_PREFETCHED_REPOS)), query))
+                    .subscribeOn(getSchedulerProvider().io())
+                    .subscribe(tagsOfRepos -> tagsOfRepos.forEach((repo, responseMap) ->
+                            pageTags.put(getTagsKey(id, repo), responseMap)), e -> {
+                                // prefetching is best effort, tags are listed again when a repository is selected
+                            });
+        }
+    }
+
+    private static String getTagsKey(@NotNull String id, @NotNull String repo) {
+        return id + "/" + repo;
+    }
+
     private ContainerRegistryProperty getProperty(Registry registry, String sid) {
         String userName = "";
         String password = "";
@@ -27,7 +27,7 @@ public class ContainerSettingPresenter<V extends ContainerSettingView> extends M
         Observable.fromCallable(() -> {
             List<Registry> registries = new ArrayList<>();
             List<ResourceEx<Registry>> registryList = ContainerRegistryMvpModel.getInstance()
-                    .listContainerRegistries(true /*force*/);
+                    .listContainerRegistries(false /*force*/);
             for (ResourceEx<Registry> registry : registryList) {
                 if (registry.getResource().adminUserEnabled()) {
                     registries.add(registry.getResource());
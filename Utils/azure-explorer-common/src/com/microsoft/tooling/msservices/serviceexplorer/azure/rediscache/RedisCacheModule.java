@@ -7,6 +7,7 @@ package com.microsoft.tooling.msservices.serviceexplorer.azure.rediscache;
 
 import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.azuretools.core.mvp.model.AzureResourceInventory;
 import com.microsoft.azuretools.core.mvp.ui.base.NodeContent;
 import com.microsoft.tooling.msservices.serviceexplorer.AzureIconSymbol;
 import com.microsoft.tooling.msservices.serviceexplorer.AzureRefreshableNode;
@@ -37,6 +38,11 @@ public class RedisCacheModule extends AzureRefreshableNode {
         return AzureIconSymbol.RedisCache.MODULE;
     }
 
+    @Override
+    protected void refreshFromAzure() {
+        AzureResourceInventory.getInstance().invalidate(AzureResourceInventory.REDIS_CACHES);
+    }
+
     @Override
     protected void refreshItems() throws AzureCmdException {
         redisCachePresenter.onModuleRefresh();
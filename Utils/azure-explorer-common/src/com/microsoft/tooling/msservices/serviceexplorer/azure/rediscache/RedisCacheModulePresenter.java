@@ -6,7 +6,6 @@
 package com.microsoft.tooling.msservices.serviceexplorer.azure.rediscache;
 
 import com.microsoft.azure.management.redis.RedisCache;
-import com.microsoft.azure.management.redis.RedisCaches;
 import com.microsoft.azuretools.core.mvp.model.rediscache.AzureRedisMvpModel;
 import com.microsoft.azuretools.core.mvp.ui.base.MvpPresenter;
 import com.microsoft.azuretools.core.mvp.ui.base.NodeContent;
@@ -14,6 +13,8 @@ import com.microsoft.tooling.msservices.serviceexplorer.Node;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class RedisCacheModulePresenter<V extends RedisCacheModule> extends MvpPresenter<V> {
 
@@ -28,10 +29,10 @@ public class RedisCacheModulePresenter<V extends RedisCacheModule> extends MvpPr
      */
     public void onModuleRefresh() {
         final HashMap<String, ArrayList<NodeContent>> nodeMap = new HashMap<>();
-        final HashMap<String, RedisCaches> redisCachesMap = azureRedisMvpModel.getRedisCaches();
+        final Map<String, List<RedisCache>> redisCachesMap = azureRedisMvpModel.listRedisCaches(false);
         for (final String sid : redisCachesMap.keySet()) {
             final ArrayList<NodeContent> nodeContentList = new ArrayList<>();
-            for (final RedisCache redisCache : redisCachesMap.get(sid).list()) {
+            for (final RedisCache redisCache : redisCachesMap.get(sid)) {
                 nodeContentList
                     .add(new NodeContent(redisCache.id(), redisCache.name(), redisCache.provisioningState()));
             }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.helpers.collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ObservableListTest {
+    private static final int BULK_SIZE = 100_000;
+
+    private ObservableList<Object> list;
+    private List<ListChangedEvent> events;
+
+    @Before
+    public void setUp() {
+        list = new ObservableList<>();
+        events = new ArrayList<>();
+        list.addChangeListener(events::add);
+    }
+
+    @Test
+    public void testRemoveAllReportsRemovedElementsOnce() {
+        list.addAll(Arrays.asList("a", "b", "c", "b"));
+        events.clear();
+
+        assertTrue(list.removeAll(Arrays.asList("b", "x")));
+
+        assertEquals(Arrays.asList("a", "c"), list);
+        assertEquals(1, events.size());
+        assertEquals(ListChangedAction.remove, events.get(0).getAction());
+        assertEquals(Arrays.asList("b", "b"), events.get(0).getOldItems());
+    }
+
+    @Test
+    public void testBatchCoalescesChanges() {
+        final Object kept = new Object();
+        final Object removed = new Object();
+        final Object temporary = new Object();
+        list.addAll(Arrays.asList(kept, removed));
+        events.clear();
+
+        list.batch(() -> {
+            list.add("x");
+            list.add(temporary);
+            list.remove(removed);
+            list.remove(temporary);
+            list.batch(() -> list.add("y"));
+        });
+
+        assertEquals(Arrays.asList(kept, "x", "y"), list);
+        assertEquals(2, events.size());
+        assertEquals(ListChangedAction.remove, events.get(0).getAction());
+        assertEquals(Collections.singletonList(removed), events.get(0).getOldItems());
+        assertEquals(ListChangedAction.add, events.get(1).getAction());
+        assertEquals(Arrays.asList("x", "y"), events.get(1).getNewItems());
+    }
+
+    @Test
+    public void testListenerRemovedWhileNotified() {
+        list.addChangeListener(new ListChangeListener() {
+            @Override
+            public void listChanged(ListChangedEvent e) {
+                list.removeChangeListener(this);
+            }
+        });
+
+        list.add("a");
+        list.add("b");
+
+        assertEquals(2, events.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndBatchWithoutBegin() {
+        list.endBatch();
+    }
+
+    @Test
+    public void testBulkUpdateInBatch() {
+        list.batch(() -> {
+            for (int i = 0; i < BULK_SIZE; i++) {
+                list.add(i);
+            }
+        });
+        list.batch(() -> {
+            while (!list.isEmpty()) {
+                list.remove(list.size() - 1);
+            }
+        });
+
+        assertEquals(2, events.size());
+        assertEquals(BULK_SIZE, events.get(0).getNewItems().size());
+        assertEquals(BULK_SIZE, events.get(1).getOldItems().size());
+
+        events.clear();
+        for (int i = 0; i < BULK_SIZE; i++) {
+            list.add(i);
+        }
+
+        assertEquals(BULK_SIZE, events.size());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.serviceexplorer.azure.appservice.file;
+
+import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
+import com.microsoft.azure.toolkit.lib.appservice.service.IAppService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AppServiceFileListingCacheTest {
+    private IAppService app;
+    private final List<AppServiceFile> files = Collections.singletonList(mock(AppServiceFile.class));
+
+    @Before
+    public void setUp() {
+        app = mock(IAppService.class);
+        when(app.id()).thenReturn("app-id");
+        when(app.getFilesInDirectory("/LogFiles")).thenReturn(files);
+    }
+
+    @Test
+    public void testListingIsCached() {
+        final AppServiceFileListingCache cache = new AppServiceFileListingCache(60_000);
+
+        assertSame(files, cache.list(app, "/LogFiles"));
+        assertSame(files, cache.list(app, "/LogFiles"));
+        verify(app, times(1)).getFilesInDirectory("/LogFiles");
+    }
+
+    @Test
+    public void testListingIsReloadedAfterInvalidation() {
+        final AppServiceFileListingCache cache = new AppServiceFileListingCache(60_000);
+
+        cache.list(app, "/LogFiles");
+        cache.invalidate(app, "/");
+        cache.list(app, "/LogFiles");
+        verify(app, times(2)).getFilesInDirectory("/LogFiles");
+    }
+
+    @Test
+    public void testPrefetchedListingIsReused() {
+        final AppServiceFileListingCache cache = new AppServiceFileListingCache(60_000);
+
+        cache.prefetch(app, Collections.singletonList("/LogFiles"));
+        verify(app, timeout(5_000).times(1)).getFilesInDirectory("/LogFiles");
+        assertSame(files, cache.list(app, "/LogFiles"));
+        verify(app, times(1)).getFilesInDirectory("/LogFiles");
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.serviceexplorer.azure.appservice.file;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class AppServiceFilePageTest {
+    private static final int CHUNK_SIZE = 4;
+    private static final int CHUNK_COUNT = 10;
+
+    @Test
+    public void testSliceAcrossChunks() {
+        final AtomicInteger emitted = new AtomicInteger();
+
+        final byte[] bytes = read(AppServiceFilePage.slice(content(emitted), 6, 7));
+
+        assertArrayEquals(new byte[]{6, 7, 8, 9, 10, 11, 12}, bytes);
+        // the content is cancelled once the slice is read, the chunks after [12, 15] are never requested
+        assertEquals(4, emitted.get());
+    }
+
+    @Test
+    public void testSliceBeyondContent() {
+        final byte[] bytes = read(AppServiceFilePage.slice(content(new AtomicInteger()), 36, 10));
+
+        assertArrayEquals(new byte[]{36, 37, 38, 39}, bytes);
+    }
+
+    @Test
+    public void testSliceLastPage() {
+        final int pageSize = 12;
+        // 40 bytes make 4 pages, the last one of which would be only 4 bytes if it followed the previous pages
+        final int lastPage = AppServiceFilePage.getPageCount(CHUNK_SIZE * CHUNK_COUNT, pageSize) - 1;
+        final long offset = AppServiceFilePage.getOffset(CHUNK_SIZE * CHUNK_COUNT, lastPage, pageSize);
+
+        final byte[] bytes = read(AppServiceFilePage.slice(content(new AtomicInteger()), offset, pageSize));
+
+        assertEquals(3, lastPage);
+        assertArrayEquals(new byte[]{28, 29, 30, 31, 32, 33, 34, 35, 36, 37, 38, 39}, bytes);
+    }
+
+    @Test
+    public void testOffsetOfLastPageNotBeforeFileStart() {
+        assertEquals(0, AppServiceFilePage.getOffset(5, 0, 12));
+        assertEquals(12, AppServiceFilePage.getOffset(40, 1, 12));
+    }
+
+    private static Flux<ByteBuffer> content(AtomicInteger emitted) {
+        return Flux.range(0, CHUNK_COUNT)
+                .map(chunk -> {
+                    emitted.incrementAndGet();
+                    final byte[] bytes = new byte[CHUNK_SIZE];
+                    for (int i = 0; i < CHUNK_SIZE; i++) {
+                        bytes[i] = (byte) (chunk * CHUNK_SIZE + i);
+                    }
+                    return ByteBuffer.wrap(bytes);
+                });
+    }
+
+    private static byte[] read(Flux<ByteBuffer> buffers) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        buffers.toIterable().forEach(buffer -> {
+            final byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            output.write(bytes, 0, bytes.length);
+        });
+        return output.toByteArray();
+    }
+}
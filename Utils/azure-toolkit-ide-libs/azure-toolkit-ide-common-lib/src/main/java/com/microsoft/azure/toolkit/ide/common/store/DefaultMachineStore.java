@@ -7,6 +7,7 @@ package com.microsoft.azure.toolkit.ide.common.store;
 import com.google.gson.reflect.TypeToken;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+import lombok.extern.java.Log;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -14,21 +15,41 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.File;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
 
+@Log
 public class DefaultMachineStore implements IMachineStore {
+    private static final long FLUSH_DELAY_MILLIS = 500;
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "azure-machine-store-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private String dataFile;
-    private Map<String, String> map = new HashMap<>();
+    private Map<String, String> map = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
 
     public DefaultMachineStore(String dataFile) {
         this.dataFile = dataFile;
         if (Files.exists(Paths.get(dataFile))) {
             load();
         }
+        // flush the pending changes, as the flusher thread is daemon
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "azure-machine-store-shutdown"));
     }
 
     @Nullable
@@ -41,14 +62,16 @@ public class DefaultMachineStore implements IMachineStore {
         return StringUtils.firstNonBlank(map.get(combineKey(service, key)), defaultValue);
     }
 
+    /**
+     * Update the property in memory, the change is written to the data file later by a background flusher,
+     * so that a burst of updates results in only one write.
+     */
     public void setProperty(@javax.annotation.Nullable String service, @Nonnull String key, @Nullable String value) {
         String hashKey = combineKey(service, key);
-        if (value == null) {
-            map.remove(hashKey);
-            return;
+        final String previous = value == null ? map.remove(hashKey) : map.put(hashKey, value);
+        if (!StringUtils.equals(previous, value)) {
+            scheduleFlush();
         }
-        map.put(hashKey, value);
-        save();
     }
 
     private static String combineKey(String service, String key) {
@@ -60,19 +83,55 @@ public class DefaultMachineStore implements IMachineStore {
             if (Files.exists(Paths.get(dataFile))) {
                 String json = FileUtils.readFileToString(new File(dataFile), "utf8");
                 Type type = new TypeToken<Map<String, String>>(){}.getType();
-                map = JsonUtils.getGson().fromJson(json, type);
+                final Map<String, String> loaded = JsonUtils.getGson().fromJson(json, type);
+                map = loaded == null ? new ConcurrentHashMap<>() : new ConcurrentHashMap<>(loaded);
             }
         } catch (Exception ex) {
             throw new AzureToolkitRuntimeException("Cannot load property.", ex);
         }
     }
 
-    public void save() {
+    /**
+     * Write all properties to the data file synchronously.
+     */
+    public synchronized void save() {
+        flushScheduled.set(false);
         try {
-            FileUtils.writeStringToFile(new File(dataFile), JsonUtils.toJson(map), "utf8");
+            final Path target = Paths.get(dataFile).toAbsolutePath();
+            Files.createDirectories(target.getParent());
+            // write to a temp file in the same folder and rename it, so that the data file is never half written
+            final Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, JsonUtils.toJson(new TreeMap<>(map)).getBytes(StandardCharsets.UTF_8));
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
         } catch (Exception ex) {
             throw new AzureToolkitRuntimeException("Cannot save property", ex);
         }
     }
 
+    /**
+     * Write the pending changes to the data file if any.
+     */
+    public void flush() {
+        if (flushScheduled.get()) {
+            try {
+                save();
+            } catch (AzureToolkitRuntimeException ex) {
+                log.log(Level.WARNING, String.format("Cannot save properties to %s", dataFile), ex);
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            FLUSHER.schedule(this::flush, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
 }
@@ -18,8 +18,6 @@ import com.microsoft.azuretools.authmanage.AuthMethodManager;
 import com.microsoft.azuretools.sdkmanage.AzureManager;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import rx.Observable;
-import rx.schedulers.Schedulers;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -103,7 +101,8 @@ public class AzureMvpModel {
     )
     public List<ResourceEx<ResourceGroup>> getResourceGroups(String sid) {
         List<ResourceEx<ResourceGroup>> resourceGroups = new ArrayList<>();
-        resourceGroups.addAll(az(AzureGroup.class).list(sid).stream().map(r -> new ResourceEx<>(r, sid)).collect(Collectors.toList()));
+        resourceGroups.addAll(AzureResourceInventory.getInstance().list(AzureResourceInventory.RESOURCE_GROUPS, sid, false).stream()
+                .map(r -> new ResourceEx<>(r, sid)).collect(Collectors.toList()));
         Collections.sort(resourceGroups, getComparator((ResourceEx<ResourceGroup> resourceGroupResourceEx) ->
                 resourceGroupResourceEx.getResource().getName()));
         return resourceGroups;
@@ -119,7 +118,7 @@ public class AzureMvpModel {
     )
     public List<ResourceEx<ResourceGroup>> getResourceGroups() {
         List<ResourceEx<ResourceGroup>> resourceGroups = new ArrayList<>();
-        resourceGroups.addAll(az(AzureGroup.class).list().stream().map(r -> new ResourceEx<>(r, r.getSubscriptionId())).collect(Collectors.toList()));
+        resourceGroups.addAll(AzureResourceInventory.getInstance().list(AzureResourceInventory.RESOURCE_GROUPS, false));
         Collections.sort(resourceGroups, getComparator((ResourceEx<ResourceGroup> resourceGroupResourceEx) ->
                 resourceGroupResourceEx.getResource().getName()));
         return resourceGroups;
@@ -138,6 +137,8 @@ public class AzureMvpModel {
     )
     public void deleteResourceGroup(String rgName, String sid) {
         az(AzureGroup.class).delete(sid, rgName);
+        AzureResourceInventory.getInstance().invalidate(AzureResourceInventory.RESOURCE_GROUPS, sid);
+        AzureResourceInventory.getInstance().invalidate(AzureResourceInventory.DEPLOYMENTS, sid);
     }
 
     /**
@@ -152,7 +153,8 @@ public class AzureMvpModel {
         type = AzureOperation.Type.SERVICE
     )
     public List<ResourceGroup> getResourceGroupsBySubscriptionId(String sid) {
-        List<ResourceGroup> ret = new ArrayList<>(az(AzureGroup.class).list(sid));
+        List<ResourceGroup> ret = new ArrayList<>(
+                AzureResourceInventory.getInstance().list(AzureResourceInventory.RESOURCE_GROUPS, sid, false));
         Collections.sort(ret, getComparator(ResourceGroup::getName));
         return ret;
     }
@@ -179,15 +181,8 @@ public class AzureMvpModel {
     )
     public List<Deployment> listAllDeployments() {
         List<Deployment> deployments = new ArrayList<>();
-        List<Subscription> subs = getSelectedSubscriptions();
-        Observable.from(subs).flatMap((sub) ->
-            Observable.create((subscriber) -> {
-                List<Deployment> sidDeployments = listDeploymentsBySid(sub.getId());
-                synchronized (deployments) {
-                    deployments.addAll(sidDeployments);
-                }
-                subscriber.onCompleted();
-            }).subscribeOn(Schedulers.io()), subs.size()).subscribeOn(Schedulers.io()).toBlocking().subscribe();
+        AzureResourceInventory.getInstance().listBySubscription(AzureResourceInventory.DEPLOYMENTS, false)
+                .values().forEach(deployments::addAll);
         Collections.sort(deployments, getComparator(Deployment::name));
         return deployments;
     }
@@ -198,8 +193,8 @@ public class AzureMvpModel {
         type = AzureOperation.Type.SERVICE
     )
     public List<Deployment> listDeploymentsBySid(String sid) {
-        Azure azure = AuthMethodManager.getInstance().getAzureClient(sid);
-        List<Deployment> deployments = azure.deployments().list();
+        List<Deployment> deployments = new ArrayList<>(
+                AzureResourceInventory.getInstance().list(AzureResourceInventory.DEPLOYMENTS, sid, false));
         Collections.sort(deployments, getComparator(Deployment::name));
         return deployments;
     }
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.core.mvp.model;
+
+import com.microsoft.azure.management.containerregistry.Registry;
+import com.microsoft.azure.management.redis.RedisCache;
+import com.microsoft.azure.management.redis.RedisCaches;
+import com.microsoft.azure.management.resources.Deployment;
+import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
+import com.microsoft.azure.toolkit.lib.common.model.ResourceGroup;
+import com.microsoft.azure.toolkit.lib.common.model.Subscription;
+import com.microsoft.azure.toolkit.lib.resource.AzureGroup;
+import com.microsoft.azuretools.authmanage.AuthMethodManager;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.microsoft.azure.toolkit.lib.Azure.az;
+
+/**
+ * Shared inventory of the resources listed across all selected subscriptions. The subscriptions are listed
+ * concurrently, and the result of each (type, subscription) is kept for the TTL of the type, so that the explorer
+ * nodes and dialogs opened one after another reuse it instead of listing the same resources again. Listings are
+ * invalidated explicitly when a resource is created or deleted, or when a node is refreshed by user.
+ */
+public class AzureResourceInventory {
+    public static final ResourceType<Registry> CONTAINER_REGISTRIES = new ResourceType<>("container registries",
+            TimeUnit.MINUTES.toMillis(5), sid -> AuthMethodManager.getInstance().getAzureClient(sid).containerRegistries().list());
+    public static final ResourceType<RedisCache> REDIS_CACHES = new ResourceType<>("redis caches",
+            TimeUnit.MINUTES.toMillis(5), sid -> {
+                final RedisCaches redisCaches = AuthMethodManager.getInstance().getAzureClient(sid).redisCaches();
+                return redisCaches == null ? Collections.emptyList() : redisCaches.list();
+            });
+    public static final ResourceType<ResourceGroup> RESOURCE_GROUPS = new ResourceType<>("resource groups",
+            TimeUnit.MINUTES.toMillis(2), sid -> az(AzureGroup.class).list(sid));
+    public static final ResourceType<Deployment> DEPLOYMENTS = new ResourceType<>("deployments",
+            TimeUnit.MINUTES.toMillis(1), sid -> AuthMethodManager.getInstance().getAzureClient(sid).deployments().list());
+
+    private static final int MAX_CONCURRENT_LISTINGS = 8;
+
+    private final Supplier<List<String>> selectedSubscriptionIds;
+    private final Map<String, Listing<?>> listings = new ConcurrentHashMap<>();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(MAX_CONCURRENT_LISTINGS, runnable -> {
+        final Thread thread = new Thread(runnable, "azure-resource-inventory-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AzureResourceInventory() {
+        this(() -> az(AzureAccount.class).account().getSelectedSubscriptions().stream()
+                .map(Subscription::getId)
+                .collect(Collectors.toList()));
+        // the listings of the previous account must not be served to the next one
+        AuthMethodManager.getInstance().addSignInEventListener(this::invalidateAll);
+        AuthMethodManager.getInstance().addSignOutEventListener(this::invalidateAll);
+    }
+
+    AzureResourceInventory(@NotNull Supplier<List<String>> selectedSubscriptionIds) {
+        this.selectedSubscriptionIds = selectedSubscriptionIds;
+    }
+
+    public static AzureResourceInventory getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * List the resources of the type in all selected subscriptions concurrently.
+     *
+     * @param force whether to ignore the cached listings
+     * @return the resources keyed by subscription id, in the order of the selected subscriptions
+     */
+    @NotNull
+    public <T> Map<String, List<T>> listBySubscription(@NotNull ResourceType<T> type, boolean force) {
+        final Map<String, CompletableFuture<List<T>>> futures = new LinkedHashMap<>();
+        for (final String sid : selectedSubscriptionIds.get()) {
+            futures.put(sid, getOrLoad(type, sid, force).resources);
+        }
+        final Map<String, List<T>> result = new LinkedHashMap<>();
+        futures.forEach((sid, future) -> result.put(sid, join(future)));
+        return result;
+    }
+
+    /**
+     * List the resources of the type in all selected subscriptions concurrently.
+     */
+    @NotNull
+    public <T> List<ResourceEx<T>> list(@NotNull ResourceType<T> type, boolean force) {
+        final List<ResourceEx<T>> result = new ArrayList<>();
+        listBySubscription(type, force).forEach((sid, resources) ->
+                resources.forEach(resource -> result.add(new ResourceEx<>(resource, sid))));
+        return result;
+    }
+
+    /**
+     * List the resources of the type in the subscription.
+     */
+    @NotNull
+    public <T> List<T> list(@NotNull ResourceType<T> type, @NotNull String sid, boolean force) {
+        return join(getOrLoad(type, sid, force).resources);
+    }
+
+    /**
+     * Drop the cached listing of the type in the subscription, e.g. after a resource is created or deleted.
+     */
+    public void invalidate(@NotNull ResourceType<?> type, @NotNull String sid) {
+        listings.remove(getKey(type, sid));
+    }
+
+    /**
+     * Drop the cached listings of the type in all subscriptions.
+     */
+    public void invalidate(@NotNull ResourceType<?> type) {
+        final String prefix = type.name + "\n";
+        listings.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Drop all cached listings, e.g. after the account is signed out or switched.
+     */
+    public void invalidateAll() {
+        listings.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Listing<T> getOrLoad(@NotNull ResourceType<T> type, @NotNull String sid, boolean force) {
+        final String key = getKey(type, sid);
+        final Listing<?>[] created = {null};
+        final Listing<T> listing = (Listing<T>) listings.compute(key, (k, cached) -> {
+            // a listing being loaded is reused even if forced, as it's loaded just now
+            if (cached != null && !(force && cached.resources.isDone()) && !cached.isExpired(type.ttlMillis)) {
+                return cached;
+            }
+            created[0] = new Listing<T>();
+            return created[0];
+        });
+        if (created[0] == listing) {
+            executor.execute(() -> {
+                try {
+                    listing.complete(new ArrayList<>(type.loader.apply(sid)));
+                } catch (final Throwable e) {
+                    // don't cache the failure, the next request will list the resources again. Errors are caught
+                    // too, otherwise the listing would never complete and block all later requests.
+                    listings.remove(key, listing);
+                    listing.resources.completeExceptionally(e);
+                }
+            });
+        }
+        return listing;
+    }
+
+    private static <T> List<T> join(CompletableFuture<List<T>> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static String getKey(ResourceType<?> type, String sid) {
+        return type.name + "\n" + sid;
+    }
+
+    public static final class ResourceType<T> {
+        private final String name;
+        private final long ttlMillis;
+        private final Function<String, List<T>> loader;
+
+        /**
+         * @param loader lists the resources of this type in a subscription
+         */
+        public ResourceType(@NotNull String name, long ttlMillis, @NotNull Function<String, List<T>> loader) {
+            this.name = name;
+            this.ttlMillis = ttlMillis;
+            this.loader = loader;
+        }
+    }
+
+    private static class Listing<T> {
+        private final CompletableFuture<List<T>> resources = new CompletableFuture<>();
+        private volatile long loadedTime;
+
+        private void complete(List<T> result) {
+            loadedTime = System.currentTimeMillis();
+            resources.complete(Collections.unmodifiableList(result));
+        }
+
+        private boolean isExpired(long ttlMillis) {
+            return resources.isDone() && System.currentTimeMillis() - loadedTime >= ttlMillis;
+        }
+    }
+
+    private static final class SingletonHolder {
+        private static final AzureResourceInventory INSTANCE = new AzureResourceInventory();
+    }
+}
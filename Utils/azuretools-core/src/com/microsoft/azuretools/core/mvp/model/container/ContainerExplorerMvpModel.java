@@ -13,9 +13,14 @@ import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import rx.Observable;
+import rx.schedulers.Schedulers;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ContainerExplorerMvpModel {
 
@@ -28,8 +33,11 @@ public class ContainerExplorerMvpModel {
     private static final String LINK_HEADER = "link";
     private static final String RESPONSE_FAIL_MSG = "Unexpected response %s. please make sure the admin user is " +
             "enabled and try again";
+    private static final int MAX_CONCURRENT_TAG_REQUESTS = 8;
 
     private final OkHttpClient sharedClient = new OkHttpClient();
+    // authenticated clients keyed by registry url, so that connections are reused across requests
+    private final Map<String, RegistryClient> registryClients = new ConcurrentHashMap<>();
 
     private ContainerExplorerMvpModel() {
     }
@@ -48,17 +56,14 @@ public class ContainerExplorerMvpModel {
     public Map<String, String> listRepositories(@NotNull String serverUrl, @NotNull String username,
                                                 @NotNull String password, @Nullable Map<String, String> query)
             throws Exception {
-        OkHttpClient client = createRestClient(username, password);
-        HttpUrl.Builder urlBuilder = new HttpUrl.Builder()
-                .scheme(URL_PREFIX)
-                .host(serverUrl)
-                .addPathSegment(REPOSITORY_PATH);
-        if (query != null) {
-            for (String key : query.keySet()) {
-                urlBuilder.addQueryParameter(key, query.get(key));
-            }
-        }
-        return getResponse(client, urlBuilder.build());
+        return listRepositories(getRegistryUrl(serverUrl), username, password, query);
+    }
+
+    Map<String, String> listRepositories(@NotNull HttpUrl registryUrl, @NotNull String username,
+                                         @NotNull String password, @Nullable Map<String, String> query)
+            throws Exception {
+        OkHttpClient client = getRestClient(registryUrl, username, password);
+        return getResponse(client, buildUrl(registryUrl, REPOSITORY_PATH, query));
     }
 
     /**
@@ -66,17 +71,61 @@ public class ContainerExplorerMvpModel {
      */
     public Map<String, String> listTags(@NotNull String serverUrl, @NotNull String username, @NotNull String password,
                                         @NotNull String repo, @Nullable Map<String, String> query) throws Exception {
-        OkHttpClient client = createRestClient(username, password);
-        HttpUrl.Builder urlBuilder = new HttpUrl.Builder()
+        return listTags(getRegistryUrl(serverUrl), username, password, repo, query);
+    }
+
+    Map<String, String> listTags(@NotNull HttpUrl registryUrl, @NotNull String username, @NotNull String password,
+                                 @NotNull String repo, @Nullable Map<String, String> query) throws Exception {
+        OkHttpClient client = getRestClient(registryUrl, username, password);
+        return getResponse(client, buildUrl(registryUrl, String.format(TAG_PATH, repo), query));
+    }
+
+    /**
+     * list the first tag page of each given repository concurrently, keyed by the repository.
+     * Repositories failed to list are left out.
+     */
+    public Map<String, Map<String, String>> listTagsOfRepositories(@NotNull String serverUrl, @NotNull String username,
+                                                                   @NotNull String password,
+                                                                   @NotNull List<String> repos,
+                                                                   @Nullable Map<String, String> query) {
+        return listTagsOfRepositories(getRegistryUrl(serverUrl), username, password, repos, query);
+    }
+
+    Map<String, Map<String, String>> listTagsOfRepositories(@NotNull HttpUrl registryUrl, @NotNull String username,
+                                                            @NotNull String password, @NotNull List<String> repos,
+                                                            @Nullable Map<String, String> query) {
+        return Observable.from(repos)
+                .flatMap(repo -> Observable
+                        .fromCallable(() -> listTags(registryUrl, username, password, repo, query))
+                        .map(response -> Collections.singletonMap(repo, response))
+                        .onErrorResumeNext(Observable.empty())
+                        .subscribeOn(Schedulers.io()), MAX_CONCURRENT_TAG_REQUESTS)
+                .reduce(new HashMap<String, Map<String, String>>(), (all, tags) -> {
+                    all.putAll(tags);
+                    return all;
+                })
+                .toBlocking()
+                .single();
+    }
+
+    @NotNull
+    private static HttpUrl getRegistryUrl(@NotNull String serverUrl) {
+        return new HttpUrl.Builder()
                 .scheme(URL_PREFIX)
                 .host(serverUrl)
-                .addPathSegment(String.format(TAG_PATH, repo));
+                .build();
+    }
+
+    @NotNull
+    private static HttpUrl buildUrl(@NotNull HttpUrl registryUrl, @NotNull String path,
+                                    @Nullable Map<String, String> query) {
+        HttpUrl.Builder urlBuilder = registryUrl.newBuilder().addPathSegments(path);
         if (query != null) {
             for (String key : query.keySet()) {
                 urlBuilder.addQueryParameter(key, query.get(key));
             }
         }
-        return getResponse(client, urlBuilder.build());
+        return urlBuilder.build();
     }
 
     @NotNull
@@ -98,10 +147,19 @@ public class ContainerExplorerMvpModel {
     }
 
     @NotNull
-    private OkHttpClient createRestClient(@NotNull String username, @NotNull String password) {
+    private OkHttpClient getRestClient(@NotNull HttpUrl registryUrl, @NotNull String username,
+                                       @NotNull String password) {
+        final String credential = Credentials.basic(username, password);
+        return registryClients.compute(registryUrl.toString(), (url, cached) ->
+                cached != null && cached.credential.equals(credential)
+                        ? cached
+                        : new RegistryClient(credential, createRestClient(credential))).client;
+    }
+
+    @NotNull
+    private OkHttpClient createRestClient(@NotNull String credential) {
         return sharedClient.newBuilder()
                 .authenticator((route, response) -> {
-                    String credential = Credentials.basic(username, password);
                     if (credential.equals(response.request().header(HEADER_AUTH))) {
                         return null;
                     }
@@ -109,4 +167,14 @@ public class ContainerExplorerMvpModel {
                 })
                 .build();
     }
+
+    private static final class RegistryClient {
+        private final String credential;
+        private final OkHttpClient client;
+
+        private RegistryClient(@NotNull String credential, @NotNull OkHttpClient client) {
+            this.credential = credential;
+            this.client = client;
+        }
+    }
 }
@@ -10,33 +10,26 @@ import com.microsoft.azure.management.containerregistry.AccessKeyType;
 import com.microsoft.azure.management.containerregistry.Registries;
 import com.microsoft.azure.management.containerregistry.Registry;
 import com.microsoft.azure.management.containerregistry.RegistryCredentials;
-import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
-import com.microsoft.azure.toolkit.lib.common.model.Subscription;
 import com.microsoft.azuretools.authmanage.AuthMethodManager;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.util.Utils;
 import com.microsoft.azuretools.core.mvp.model.AzureMvpModel;
+import com.microsoft.azuretools.core.mvp.model.AzureResourceInventory;
 import com.microsoft.azuretools.core.mvp.model.ResourceEx;
 import com.microsoft.azuretools.core.mvp.model.webapp.PrivateRegistryImageSetting;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
-import static com.microsoft.azure.toolkit.lib.Azure.az;
+import java.util.stream.Collectors;
 
 public class ContainerRegistryMvpModel {
 
-    private final Map<String, List<ResourceEx<Registry>>> subscriptionIdToRegistryMap;
-
     private static final String CANNOT_GET_REGISTRY = "Cannot get Registry with resource Id: ";
     private static final String CANNOT_GET_CREDENTIAL = "Cannot get credential.";
     private static final String ADMIN_USER_NOT_ENABLED = "Admin user is not enabled.";
     private static final String IMAGE_TAG = "image:tag";
 
     private ContainerRegistryMvpModel() {
-        subscriptionIdToRegistryMap = new ConcurrentHashMap<>();
     }
 
     private static final class SingletonHolder {
@@ -48,31 +41,19 @@ public class ContainerRegistryMvpModel {
     }
 
     /**
-     * Get Registry instances mapped by Subscription id.
+     * Get Registry instances of all selected subscriptions, which are listed concurrently.
      */
     public List<ResourceEx<Registry>> listContainerRegistries(boolean force) {
-        List<ResourceEx<Registry>> registryList = new ArrayList<>();
-        List<Subscription> subscriptions = az(AzureAccount.class).account().getSelectedSubscriptions();
-        for (Subscription sub : subscriptions) {
-            registryList.addAll(listRegistryBySubscriptionId(sub.getId(), force));
-        }
-        return registryList;
+        return AzureResourceInventory.getInstance().list(AzureResourceInventory.CONTAINER_REGISTRIES, force);
     }
 
     /**
      * Get Registry by subscription id.
      */
     public List<ResourceEx<Registry>> listRegistryBySubscriptionId(@NotNull String sid, boolean force) {
-        if (!force && subscriptionIdToRegistryMap.containsKey(sid)) {
-            return subscriptionIdToRegistryMap.get(sid);
-        }
-        List<ResourceEx<Registry>> registryList = new ArrayList<>();
-        Azure azure = AuthMethodManager.getInstance().getAzureClient(sid);
-        for (Registry registry: azure.containerRegistries().list()) {
-            registryList.add(new ResourceEx<>(registry, sid));
-        }
-        subscriptionIdToRegistryMap.put(sid, registryList);
-        return registryList;
+        return AzureResourceInventory.getInstance().list(AzureResourceInventory.CONTAINER_REGISTRIES, sid, force).stream()
+                .map(registry -> new ResourceEx<>(registry, sid))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -127,6 +108,7 @@ public class ContainerRegistryMvpModel {
                 } else {
                     registry.update().withoutRegistryNameAsAdminUser().apply();
                 }
+                AzureResourceInventory.getInstance().invalidate(AzureResourceInventory.CONTAINER_REGISTRIES, sid);
             }
             return registry;
         } else {
@@ -140,8 +122,4 @@ public class ContainerRegistryMvpModel {
     private void clearTags(@NotNull final Registry registry) {
         registry.inner().withTags(null);
     }
-
-    private void clearRegistryMap() {
-        subscriptionIdToRegistryMap.clear();
-    }
 }
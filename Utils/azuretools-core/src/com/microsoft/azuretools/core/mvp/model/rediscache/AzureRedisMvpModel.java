@@ -12,9 +12,11 @@ import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.Subscription;
 import com.microsoft.azuretools.authmanage.AuthMethodManager;
 import com.microsoft.azuretools.core.mvp.model.AzureMvpModel;
+import com.microsoft.azuretools.core.mvp.model.AzureResourceInventory;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.microsoft.azure.toolkit.lib.Azure.az;
 
@@ -48,6 +50,15 @@ public class AzureRedisMvpModel {
         return redisCacheMaps;
     }
 
+    /**
+     * List redis caches of all selected subscriptions, which are listed concurrently.
+     * @param force whether to ignore the cached listings
+     * @return A map containing the redis caches with subscription id as the key
+     */
+    public Map<String, List<RedisCache>> listRedisCaches(boolean force) {
+        return AzureResourceInventory.getInstance().listBySubscription(AzureResourceInventory.REDIS_CACHES, force);
+    }
+
     /**
      * Get a Redis Cache by Id.
      * @param sid Subscription Id
@@ -75,5 +86,6 @@ public class AzureRedisMvpModel {
             return;
         }
         redisCaches.deleteById(id);
+        AzureResourceInventory.getInstance().invalidate(AzureResourceInventory.REDIS_CACHES, sid);
     }
 }
@@ -5,35 +5,53 @@
 
 package com.microsoft.azuretools.utils;
 
-import rx.Observable;
-import rx.schedulers.Schedulers;
+import lombok.extern.java.Log;
 
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 
+/**
+ * Dispatches refresh events to listeners asynchronously. Each listener has its own queue, which runs the listener
+ * for one event at a time, so a slow listener never blocks the publisher or other listeners. Events of the same type
+ * and object queued for a listener within a short window (or while the listener is busy) are coalesced into the
+ * latest one.
+ */
+@Log
 public class AzureUIRefreshCore {
   public static final boolean RUN_LISTENER_EVENT_OPS = false;
+  static final long COALESCE_WINDOW_MILLIS = 100;
   public static Map<String, AzureUIRefreshListener> listeners;
 
+  private static final Map<String, ListenerQueue> queues = new ConcurrentHashMap<>();
+  private static final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("azure-ui-refresh-scheduler"));
+  private static final ExecutorService listenerExecutor =
+      Executors.newCachedThreadPool(daemonThreadFactory("azure-ui-refresh-listener"));
+
   public static synchronized void addListener(String id, AzureUIRefreshListener listener) {
     if (listeners == null) {
-      listeners = new HashMap<>();
+      listeners = new ConcurrentHashMap<>();
     }
     listeners.put(id, listener);
+    queues.put(id, new ListenerQueue(listener));
     if (RUN_LISTENER_EVENT_OPS) execute(new AzureUIRefreshEvent(AzureUIRefreshEvent.EventType.ADD, id));
   }
 
-  public static synchronized void execute(AzureUIRefreshEvent event) {
-    if (listeners != null && !listeners.isEmpty()) {
-      Observable.from(listeners.values()).flatMap((listener) ->
-          Observable.create( subscriber -> {
-              listener.setEvent(event);
-              listener.run();
-              subscriber.onNext(listener);
-              subscriber.onCompleted();
-          })
-      ).subscribeOn(Schedulers.io()).toBlocking().subscribe();
-    }
+  /**
+   * Queue the event for all listeners and return without waiting for them.
+   */
+  public static void execute(AzureUIRefreshEvent event) {
+    queues.values().forEach(queue -> queue.offer(event));
   }
 
   public static synchronized void removeListener(String id) {
@@ -41,6 +59,7 @@ public class AzureUIRefreshCore {
       try {
         if (RUN_LISTENER_EVENT_OPS) execute(new AzureUIRefreshEvent(AzureUIRefreshEvent.EventType.REMOVE, id));
         listeners.remove(id);
+        queues.remove(id);
       } catch (Exception ex) {
         ex.printStackTrace();
       }
@@ -54,4 +73,86 @@ public class AzureUIRefreshCore {
       }
     }
   }
+
+  private static ThreadFactory daemonThreadFactory(String name) {
+    final AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      final Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static class ListenerQueue {
+    private final AzureUIRefreshListener listener;
+    // pending events keyed by (type, object), in the order of their latest occurrence
+    private final LinkedHashMap<EventKey, AzureUIRefreshEvent> pending = new LinkedHashMap<>();
+    private boolean scheduled = false;
+
+    private ListenerQueue(AzureUIRefreshListener listener) {
+      this.listener = listener;
+    }
+
+    private void offer(AzureUIRefreshEvent event) {
+      synchronized (this) {
+        final EventKey key = new EventKey(event);
+        // move the coalesced event to the tail, so that the order of different events is kept
+        pending.remove(key);
+        pending.put(key, event);
+        if (scheduled) {
+          return;
+        }
+        scheduled = true;
+      }
+      scheduler.schedule(() -> listenerExecutor.execute(this::drain), COALESCE_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void drain() {
+      while (true) {
+        final AzureUIRefreshEvent event;
+        synchronized (this) {
+          final Iterator<AzureUIRefreshEvent> iterator = pending.values().iterator();
+          if (!iterator.hasNext()) {
+            scheduled = false;
+            return;
+          }
+          event = iterator.next();
+          iterator.remove();
+        }
+        try {
+          listener.setEvent(event);
+          listener.run();
+        } catch (RuntimeException ex) {
+          log.log(Level.WARNING, "Failed to handle UI refresh event " + event.opsType, ex);
+        }
+      }
+    }
+  }
+
+  private static class EventKey {
+    private final AzureUIRefreshEvent.EventType type;
+    private final Object object;
+
+    private EventKey(AzureUIRefreshEvent event) {
+      this.type = event.opsType;
+      this.object = event.object;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof EventKey)) {
+        return false;
+      }
+      final EventKey that = (EventKey) o;
+      return type == that.type && Objects.equals(object, that.object);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, object);
+    }
+  }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.core.mvp.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AzureResourceInventoryTest {
+    private static final List<String> SUBSCRIPTIONS = Arrays.asList("sub-1", "sub-2", "sub-3", "sub-4");
+    private static final long LATENCY_MILLIS = 300;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AzureResourceInventory.ResourceType<String> slowType = new AzureResourceInventory.ResourceType<>(
+            "slow", TimeUnit.MINUTES.toMillis(5), sid -> {
+                loads.incrementAndGet();
+                sleep(LATENCY_MILLIS);
+                return Collections.singletonList(sid + "/resource");
+            });
+    private AzureResourceInventory inventory;
+
+    @Before
+    public void setUp() {
+        inventory = new AzureResourceInventory(() -> SUBSCRIPTIONS);
+    }
+
+    @Test
+    public void testListSubscriptionsConcurrently() {
+        final long start = System.currentTimeMillis();
+        final Map<String, List<String>> result = inventory.listBySubscription(slowType, false);
+        final long elapsed = System.currentTimeMillis() - start;
+
+        assertEquals(SUBSCRIPTIONS, Arrays.asList(result.keySet().toArray()));
+        assertEquals(Collections.singletonList("sub-3/resource"), result.get("sub-3"));
+        assertTrue("elapsed " + elapsed + "ms", elapsed < LATENCY_MILLIS * SUBSCRIPTIONS.size() / 2);
+    }
+
+    @Test
+    public void testReuseCachedListings() {
+        inventory.list(slowType, false);
+        final long start = System.currentTimeMillis();
+        final List<ResourceEx<String>> resources = inventory.list(slowType, false);
+
+        assertEquals(SUBSCRIPTIONS.size(), resources.size());
+        assertEquals(SUBSCRIPTIONS.size(), loads.get());
+        assertTrue(System.currentTimeMillis() - start < LATENCY_MILLIS);
+    }
+
+    @Test
+    public void testInvalidateAndForceReload() {
+        inventory.list(slowType, false);
+        inventory.invalidate(slowType, "sub-1");
+        inventory.list(slowType, false);
+        assertEquals(SUBSCRIPTIONS.size() + 1, loads.get());
+
+        inventory.list(slowType, true);
+        assertEquals(SUBSCRIPTIONS.size() * 2 + 1, loads.get());
+    }
+
+    @Test
+    public void testExpiredListingIsReloaded() {
+        final AzureResourceInventory.ResourceType<String> shortLived = new AzureResourceInventory.ResourceType<>(
+                "short-lived", 0, sid -> Collections.singletonList(String.valueOf(loads.incrementAndGet())));
+        inventory.list(shortLived, "sub-1", false);
+        inventory.list(shortLived, "sub-1", false);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testFailureIsNotCached() {
+        final AzureResourceInventory.ResourceType<String> flaky = new AzureResourceInventory.ResourceType<>(
+                "flaky", TimeUnit.MINUTES.toMillis(5), sid -> {
+                    if (loads.incrementAndGet() == 1) {
+                        throw new IllegalStateException("throttled");
+                    }
+                    return Collections.singletonList(sid);
+                });
+        try {
+            inventory.list(flaky, "sub-1", false);
+            fail("the failure should be thrown to the caller");
+        } catch (final IllegalStateException e) {
+            assertEquals("throttled", e.getMessage());
+        }
+        assertEquals(Collections.singletonList("sub-1"), inventory.list(flaky, "sub-1", false));
+    }
+
+    @Test(timeout = 5000)
+    public void testErrorIsNotCached() {
+        final AzureResourceInventory.ResourceType<String> broken = new AzureResourceInventory.ResourceType<>(
+                "broken", TimeUnit.MINUTES.toMillis(5), sid -> {
+                    if (loads.incrementAndGet() == 1) {
+                        throw new NoClassDefFoundError("missing");
+                    }
+                    return Collections.singletonList(sid);
+                });
+        try {
+            inventory.list(broken, "sub-1", false);
+            fail("the error should be thrown to the caller");
+        } catch (final NoClassDefFoundError e) {
+            assertEquals("missing", e.getMessage());
+        }
+        assertEquals(Collections.singletonList("sub-1"), inventory.list(broken, "sub-1", false));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.core.mvp.model.container;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.HttpUrl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ContainerExplorerMvpModelTest {
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "password";
+
+    private HttpServer registryServer;
+    private HttpUrl registryUrl;
+    private final AtomicInteger catalogRequests = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        registryServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        registryServer.createContext("/v2/_catalog", exchange -> {
+            // the unauthenticated request is challenged and retried by the authenticator, only count the retried one
+            if (exchange.getRequestHeaders().getFirst("Authorization") != null) {
+                catalogRequests.incrementAndGet();
+            }
+            final String query = exchange.getRequestURI().getQuery();
+            if (query != null && query.contains("last=b")) {
+                respond(exchange, "{\"repositories\":[\"c\"]}");
+            } else {
+                exchange.getResponseHeaders().set("Link", "</v2/_catalog?last=b&n=2>; rel=\"next\"");
+                respond(exchange, "{\"repositories\":[\"a\",\"b\"]}");
+            }
+        });
+        registryServer.createContext("/v2/", exchange -> {
+            final String repo = exchange.getRequestURI().getPath().replaceAll("^/v2/(.+)/tags/list$", "$1");
+            respond(exchange, String.format("{\"name\":\"%s\",\"tags\":[\"%s-v1\"]}", repo, repo));
+        });
+        registryServer.start();
+        registryUrl = HttpUrl.parse("http://localhost:" + registryServer.getAddress().getPort() + "/");
+    }
+
+    @After
+    public void tearDown() {
+        registryServer.stop(0);
+    }
+
+    @Test
+    public void testListRepositoriesReturnsLinkHeader() throws Exception {
+        final Map<String, String> page = ContainerExplorerMvpModel.getInstance()
+                .listRepositories(registryUrl, USERNAME, PASSWORD, null);
+
+        assertTrue(page.get("body").contains("\"a\",\"b\""));
+        assertEquals("</v2/_catalog?last=b&n=2>; rel=\"next\"", page.get("link"));
+        assertEquals(1, catalogRequests.get());
+    }
+
+    @Test
+    public void testListTagsOfNestedRepository() throws Exception {
+        final Map<String, String> page = ContainerExplorerMvpModel.getInstance()
+                .listTags(registryUrl, USERNAME, PASSWORD, "samples/hello", null);
+
+        assertTrue(page.get("body").contains("samples/hello-v1"));
+    }
+
+    @Test
+    public void testListTagsOfRepositories() {
+        final Map<String, Map<String, String>> tags = ContainerExplorerMvpModel.getInstance()
+                .listTagsOfRepositories(registryUrl, USERNAME, PASSWORD, Arrays.asList("a", "b", "c"), null);
+
+        assertEquals(3, tags.size());
+        assertTrue(tags.get("b").get("body").contains("b-v1"));
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        if (exchange.getRequestHeaders().getFirst("Authorization") == null) {
+            exchange.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"registry\"");
+            exchange.sendResponseHeaders(401, -1);
+            exchange.close();
+            return;
+        }
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.utils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AzureUIRefreshCoreTest {
+    private static final String SLOW_LISTENER = "slowListener";
+    private static final String FAST_LISTENER = "fastListener";
+
+    @After
+    public void tearDown() {
+        AzureUIRefreshCore.removeListener(SLOW_LISTENER);
+        AzureUIRefreshCore.removeListener(FAST_LISTENER);
+    }
+
+    @Test
+    public void testSlowListenerNeverBlocksPublisher() throws InterruptedException {
+        final CountDownLatch fastListenerCalled = new CountDownLatch(1);
+        AzureUIRefreshCore.addListener(SLOW_LISTENER, new AzureUIRefreshListener() {
+            @Override
+            public void run() {
+                sleep(1000);
+            }
+        });
+        AzureUIRefreshCore.addListener(FAST_LISTENER, new AzureUIRefreshListener() {
+            @Override
+            public void run() {
+                fastListenerCalled.countDown();
+            }
+        });
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            AzureUIRefreshCore.execute(new AzureUIRefreshEvent(AzureUIRefreshEvent.EventType.REFRESH, null));
+        }
+        final long publishMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("Publishing took " + publishMillis + "ms", publishMillis < 500);
+        assertTrue(fastListenerCalled.await(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testRepeatedEventsAreCoalescedInOrder() throws InterruptedException {
+        final List<AzureUIRefreshEvent.EventType> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch signedIn = new CountDownLatch(1);
+        AzureUIRefreshCore.addListener(FAST_LISTENER, new AzureUIRefreshListener() {
+            @Override
+            public void run() {
+                received.add(event.opsType);
+                if (event.opsType == AzureUIRefreshEvent.EventType.SIGNIN) {
+                    signedIn.countDown();
+                }
+            }
+        });
+
+        AzureUIRefreshCore.execute(new AzureUIRefreshEvent(AzureUIRefreshEvent.EventType.SIGNIN, null));
+        AzureUIRefreshCore.execute(new AzureUIRefreshEvent(AzureUIRefreshEvent.EventType.REFRESH, "a"));
+        AzureUIRefreshCore.execute(new AzureUIRefreshEvent(AzureUIRefreshEvent.EventType.SIGNOUT, null));
+        AzureUIRefreshCore.execute(new AzureUIRefreshEvent(AzureUIRefreshEvent.EventType.REFRESH, "a"));
+        AzureUIRefreshCore.execute(new AzureUIRefreshEvent(AzureUIRefreshEvent.EventType.SIGNIN, null));
+
+        assertTrue(signedIn.await(1, TimeUnit.SECONDS));
+        sleep(AzureUIRefreshCore.COALESCE_WINDOW_MILLIS * 2);
+        assertEquals(3, received.size());
+        assertEquals(AzureUIRefreshEvent.EventType.SIGNIN, received.get(received.size() - 1));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) Microsoft Corporation
+ * <p/>
+ * All rights reserved.
+ * <p/>
+ * MIT License
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED *AS IS*, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.microsoft.azure.hdinsight.common.task
+
+import com.google.common.util.concurrent.FutureCallback
+import com.google.common.util.concurrent.ListenableFuture
+import cucumber.api.java.After
+import cucumber.api.java.en.And
+import cucumber.api.java.en.Given
+import cucumber.api.java.en.Then
+import org.assertj.core.api.Assertions.assertThat
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class TaskExecutorScenario {
+    private val running = AtomicInteger()
+    private val maxRunning = AtomicInteger()
+
+    var executor: TaskExecutor? = null
+    val futures = mutableListOf<ListenableFuture<String>>()
+    val tasks = mutableListOf<SleepTask>()
+    val failures = mutableListOf<Throwable>()
+
+    inner class SleepTask(private val sleepMillis: Long,
+                          private val taskPriority: TaskPriority,
+                          callback: FutureCallback<String>? = null) : Task<String>(callback) {
+        @Volatile var isStarted = false
+        @Volatile var isInterrupted = false
+        @Volatile var isNotifiedCancelled = false
+        val started = CountDownLatch(1)
+
+        override fun getPriority(): TaskPriority = taskPriority
+
+        override fun call(): String {
+            isStarted = true
+            started.countDown()
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max)
+
+            try {
+                Thread.sleep(sleepMillis)
+            } catch (ex: InterruptedException) {
+                isInterrupted = true
+                throw ex
+            } finally {
+                running.decrementAndGet()
+            }
+
+            return "done"
+        }
+
+        override fun onCancelled() {
+            isNotifiedCancelled = true
+        }
+    }
+
+    @After
+    fun tearDown() {
+        executor?.shutdownNow()
+    }
+
+    @Given("^create a task executor with (\\d+) interactive threads, (\\d+) bulk threads and (\\d+) queued tasks at most$")
+    fun createTaskExecutor(interactiveThreads: Int, bulkThreads: Int, maxQueuedTasks: Int) {
+        executor = TaskExecutor(interactiveThreads, bulkThreads, maxQueuedTasks)
+    }
+
+    @And("^submit (\\d+) bulk tasks taking (\\d+)ms and (\\d+) interactive tasks taking (\\d+)ms together$")
+    fun submitMixedTasks(bulkCount: Int, bulkMillis: Long, interactiveCount: Int, interactiveMillis: Long) {
+        repeat(bulkCount) { submit(SleepTask(bulkMillis, TaskPriority.BULK)) }
+
+        // UI lookups come one by one while the bulk tasks are running
+        repeat(interactiveCount) {
+            submit(SleepTask(interactiveMillis, TaskPriority.INTERACTIVE))
+            Thread.sleep(2)
+        }
+
+        futures.forEach { it.get(60, TimeUnit.SECONDS) }
+    }
+
+    @And("^submit a bulk task taking (\\d+)ms and a queued one, then cancel both$")
+    fun submitAndCancel(sleepMillis: Long) {
+        submit(SleepTask(sleepMillis, TaskPriority.BULK))
+        submit(SleepTask(sleepMillis, TaskPriority.BULK))
+
+        assertThat(tasks[0].started.await(5, TimeUnit.SECONDS)).isTrue()
+        assertThat(executor!!.metricsOf(TaskPriority.BULK).queueDepth).isEqualTo(1)
+
+        futures.forEach { it.cancel(true) }
+    }
+
+    @And("^submit (\\d+) bulk tasks taking (\\d+)ms$")
+    fun submitBulkTasks(count: Int, sleepMillis: Long) {
+        repeat(count) {
+            submit(SleepTask(sleepMillis, TaskPriority.BULK, object : FutureCallback<String> {
+                override fun onSuccess(result: String?) {
+                }
+
+                override fun onFailure(err: Throwable) {
+                    synchronized(failures) { failures.add(err) }
+                }
+            }))
+        }
+    }
+
+    @Then("^check at most (\\d+) tasks run at the same time$")
+    fun checkMaxRunningTasks(max: Int) {
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(max)
+    }
+
+    @Then("^check the pool threads are capped at (\\d+) interactive and (\\d+) bulk$")
+    fun checkThreadCap(interactiveThreads: Int, bulkThreads: Int) {
+        assertThat(executor!!.metricsOf(TaskPriority.INTERACTIVE).largestPoolSize)
+                .isLessThanOrEqualTo(interactiveThreads)
+        assertThat(executor!!.metricsOf(TaskPriority.BULK).largestPoolSize).isLessThanOrEqualTo(bulkThreads)
+    }
+
+    @Then("^check the p99 latency of interactive tasks is less than (\\d+)ms$")
+    fun checkInteractiveLatency(maxMillis: Long) {
+        assertThat(executor!!.metricsOf(TaskPriority.INTERACTIVE).p99LatencyMillis).isLessThan(maxMillis)
+    }
+
+    @Then("^check all tasks are completed$")
+    fun checkAllCompleted() {
+        assertThat(futures).allMatch { it.isDone && !it.isCancelled }
+        assertThat(executor!!.metricsOf(TaskPriority.INTERACTIVE).queueDepth).isEqualTo(0)
+        assertThat(executor!!.metricsOf(TaskPriority.BULK).queueDepth).isEqualTo(0)
+    }
+
+    @Then("^check the running task is interrupted and notified$")
+    fun checkRunningTaskCancelled() {
+        val deadline = System.currentTimeMillis() + 5000
+        while (!tasks[0].isInterrupted && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+
+        assertThat(tasks[0].isInterrupted).isTrue()
+        assertThat(tasks[0].isNotifiedCancelled).isTrue()
+    }
+
+    @Then("^check the queued task is removed without running$")
+    fun checkQueuedTaskCancelled() {
+        assertThat(tasks[1].isNotifiedCancelled).isTrue()
+        assertThat(tasks[1].isStarted).isFalse()
+
+        val metrics = executor!!.metricsOf(TaskPriority.BULK)
+        assertThat(metrics.queueDepth).isEqualTo(0)
+        assertThat(metrics.cancelledTasks).isEqualTo(2)
+    }
+
+    @Then("^check (\\d+) task\\(s\\) rejected with the callback notified$")
+    fun checkRejectedTasks(count: Int) {
+        assertThat(executor!!.metricsOf(TaskPriority.BULK).rejectedTasks).isEqualTo(count.toLong())
+        synchronized(failures) {
+            assertThat(failures).hasSize(count)
+            assertThat(failures).allMatch { it is RejectedExecutionException }
+        }
+    }
+
+    private fun submit(task: SleepTask) {
+        tasks.add(task)
+        futures.add(executor!!.execute(task))
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) Microsoft Corporation
+ * <p/>
+ * All rights reserved.
+ * <p/>
+ * MIT License
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED *AS IS*, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.cluster
+
+import com.github.tomakehurst.wiremock.client.WireMock
+import com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import com.github.tomakehurst.wiremock.client.WireMock.get
+import com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor
+import com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo
+import com.github.tomakehurst.wiremock.stubbing.Scenario
+import com.microsoft.azure.hdinsight.spark.common.MockHttpService
+import cucumber.api.java.After
+import cucumber.api.java.Before
+import cucumber.api.java.en.And
+import cucumber.api.java.en.Given
+import cucumber.api.java.en.Then
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import java.io.IOException
+import java.net.URL
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ClusterConfigurationLoaderScenario {
+    private val configurationUri = "/clusters/test/configurations"
+
+    var httpServerMock: MockHttpService? = null
+    var executor: ExecutorService? = null
+    var loader: ClusterConfigurationLoader? = null
+    @Volatile var loadedConfiguration: String? = null
+    val latencies = mutableListOf<Long>()
+
+    @Before
+    fun setUp() {
+        httpServerMock = MockHttpService()
+        executor = Executors.newCachedThreadPool()
+        WireMock.configureFor(httpServerMock!!.port)
+    }
+
+    @After
+    fun tearDown() {
+        executor!!.shutdownNow()
+    }
+
+    @Given("^setup a mock cluster configuration service responding '([^']+)' in (\\d+)ms$")
+    fun mockConfigurationService(configuration: String, latencyMillis: Int) {
+        WireMock.stubFor(get(urlEqualTo(configurationUri))
+                .willReturn(aResponse().withStatus(200).withBody(configuration).withFixedDelay(latencyMillis)))
+    }
+
+    @Given("^setup a mock cluster configuration service responding '(.+)' then '(.+)' in (\\d+)ms$")
+    fun mockChangedConfigurationService(first: String, second: String, latencyMillis: Int) {
+        WireMock.stubFor(get(urlEqualTo(configurationUri))
+                .inScenario("configuration changed")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(200).withBody(first).withFixedDelay(latencyMillis))
+                .willSetStateTo("changed"))
+        WireMock.stubFor(get(urlEqualTo(configurationUri))
+                .inScenario("configuration changed")
+                .whenScenarioStateIs("changed")
+                .willReturn(aResponse().withStatus(200).withBody(second).withFixedDelay(latencyMillis)))
+    }
+
+    @Given("^setup a mock cluster configuration service failing once then responding '(.+)'$")
+    fun mockFlakyConfigurationService(configuration: String) {
+        WireMock.stubFor(get(urlEqualTo(configurationUri))
+                .inScenario("flaky configuration")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(500).withBody("Internal Server Error"))
+                .willSetStateTo("recovered"))
+        WireMock.stubFor(get(urlEqualTo(configurationUri))
+                .inScenario("flaky configuration")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse().withStatus(200).withBody(configuration)))
+    }
+
+    @And("^create a cluster configuration loader with (\\d+)ms time-to-live$")
+    fun createLoader(ttlMillis: Long) {
+        loader = ClusterConfigurationLoader("test", {
+            loadedConfiguration = URL(httpServerMock!!.completeUrl(configurationUri)).readText()
+        }, ttlMillis, executor!!)
+    }
+
+    @And("^load the cluster configuration by (\\d+) concurrent callers$")
+    fun loadConcurrently(callers: Int) {
+        latencies.clear()
+        val loads = (1..callers).map {
+            CompletableFuture.supplyAsync({ measure { loader!!.load() } }, executor!!)
+        }
+
+        loads.forEach { latencies.add(it.get(10, TimeUnit.SECONDS)) }
+    }
+
+    @And("^load the cluster configuration by (\\d+) sequential callers$")
+    fun loadSequentially(callers: Int) {
+        latencies.clear()
+        repeat(callers) { latencies.add(measure { loader!!.load() }) }
+    }
+
+    @And("^invalidate the cluster configuration$")
+    fun invalidate() {
+        loader!!.invalidate()
+    }
+
+    @And("^wait for (\\d+)ms$")
+    fun waitFor(millis: Long) {
+        Thread.sleep(millis)
+    }
+
+    @Then("^check (\\d+) cluster configuration request\\(s\\) sent$")
+    fun checkRequestsSent(count: Int) {
+        WireMock.verify(count, getRequestedFor(urlEqualTo(configurationUri)))
+    }
+
+    @Then("^check the loaded cluster configuration is '(.+)'$")
+    fun checkLoadedConfiguration(expected: String) {
+        assertThat(loadedConfiguration).isEqualTo(expected)
+    }
+
+    @Then("^check each of the last loads took less than (\\d+)ms$")
+    fun checkLatencies(maxMillis: Long) {
+        assertThat(latencies).isNotEmpty
+        latencies.forEach { assertThat(it).isLessThan(maxMillis) }
+    }
+
+    @Then("^check loading the cluster configuration fails$")
+    fun checkLoadingFails() {
+        assertThatThrownBy { loader!!.load() }.isInstanceOf(IOException::class.java)
+        assertThat(loader!!.isLoaded).isFalse()
+    }
+
+    private fun measure(action: () -> Unit): Long {
+        val start = System.nanoTime()
+        action()
+
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+    }
+}
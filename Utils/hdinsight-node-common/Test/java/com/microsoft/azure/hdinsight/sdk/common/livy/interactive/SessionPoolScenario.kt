@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) Microsoft Corporation
+ * <p/>
+ * All rights reserved.
+ * <p/>
+ * MIT License
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED *AS IS*, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.common.livy.interactive
+
+import com.github.tomakehurst.wiremock.client.WireMock
+import com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import com.github.tomakehurst.wiremock.client.WireMock.deleteRequestedFor
+import com.github.tomakehurst.wiremock.client.WireMock.get
+import com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor
+import com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor
+import com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo
+import com.github.tomakehurst.wiremock.stubbing.Scenario
+import com.microsoft.azure.hdinsight.spark.common.MockHttpService
+import cucumber.api.java.After
+import cucumber.api.java.Before
+import cucumber.api.java.en.And
+import cucumber.api.java.en.Given
+import cucumber.api.java.en.Then
+import org.assertj.core.api.Assertions.assertThat
+import java.net.URI
+import java.util.concurrent.TimeUnit
+
+class SessionPoolScenario {
+    private val sessionName = "testPooledSparkREPL"
+    private val startingSession = """{"id":6,"appId":null,"state":"starting","kind":"spark","log":[]}"""
+    private val idleSession = """{"id":6,"appId":"application_1517029729598_0086","state":"idle","kind":"spark","log":[]}"""
+
+    var httpServerMock: MockHttpService? = null
+    var pool: SessionPool? = null
+    // the session status requests sent by each successful run
+    val statusPollsOfRuns = mutableListOf<Int>()
+    val failures = mutableListOf<Throwable>()
+
+    @Before
+    fun setUp() {
+        httpServerMock = MockHttpService()
+        pool = SessionPool(TimeUnit.MINUTES.toMillis(1), TimeUnit.MINUTES.toMillis(1))
+    }
+
+    @After
+    fun tearDown() {
+        pool!!.clear()
+    }
+
+    @Given("^setup a mock livy interactive service whose session starts after (\\d+) status polls$")
+    fun mockLivyServiceWithSessionStartDelay(polls: Int) {
+        val server = httpServerMock!!
+        server.stub("POST", "/sessions", 200, startingSession)
+        server.stub("DELETE", "/sessions/6", 200, "{}")
+
+        // The session stays starting for the first polls, then becomes idle
+        WireMock.configureFor(server.port)
+        (0..polls).forEach { poll ->
+            WireMock.stubFor(get(urlEqualTo("/sessions/6"))
+                    .inScenario("session start")
+                    .whenScenarioStateIs(if (poll == 0) Scenario.STARTED else "poll $poll")
+                    .willReturn(aResponse().withStatus(200).withBody(if (poll < polls) startingSession else idleSession))
+                    .willSetStateTo(if (poll < polls) "poll ${poll + 1}" else "poll $polls"))
+        }
+    }
+
+    @And("^setup the mock livy interactive service to return statement output '(.+)'$")
+    fun mockStatementOutput(output: String) {
+        httpServerMock!!.stub("POST", "/sessions/6/statements", 200, """{"id":0,"state":"waiting","output":null}""")
+        httpServerMock!!.stub("GET", "/sessions/6/statements/0", 200, """{"id":0,"state":"available","output":$output}""")
+    }
+
+    @And("^run codes '(.+)' with a pooled Spark session for (\\d+) times$")
+    fun runCodesWithPooledSession(codes: String, times: Int) {
+        val baseUrl = URI.create(httpServerMock!!.completeUrl("/"))
+        val key = SessionPool.keyOf(SparkSession(sessionName, baseUrl))
+
+        repeat(times) {
+            val statusPolls = countStatusPolls()
+            try {
+                pool!!.use(key, { SparkSession(sessionName, baseUrl) }, { session -> session.runCodes(codes) })
+                        .toBlocking()
+                        .single()
+                statusPollsOfRuns.add(countStatusPolls() - statusPolls)
+            } catch (err: Throwable) {
+                failures.add(err)
+            }
+        }
+    }
+
+    @Then("^check (\\d+) Livy session\\(s\\) created$")
+    fun checkSessionsCreated(count: Int) {
+        WireMock.verify(count, postRequestedFor(urlEqualTo("/sessions")))
+    }
+
+    @Then("^check only the first run waits for the session to start with (\\d+) status polls$")
+    fun checkOnlyFirstRunWaits(polls: Int) {
+        assertThat(failures).isEmpty()
+        // the new session is polled with the backoff until it turns idle from starting
+        assertThat(statusPollsOfRuns.first()).isGreaterThan(polls)
+        // a pooled session is already idle, so it's polled only once before running the statement
+        statusPollsOfRuns.drop(1).forEach { assertThat(it).isEqualTo(1) }
+    }
+
+    private fun countStatusPolls(): Int =
+            httpServerMock!!.livyServerMock.findAll(getRequestedFor(urlEqualTo("/sessions/6"))).size
+
+    @Then("^check (\\d+) idle session\\(s\\) in the pool$")
+    fun checkIdleSessions(count: Int) {
+        val baseUrl = URI.create(httpServerMock!!.completeUrl("/"))
+        val key = SessionPool.keyOf(SparkSession(sessionName, baseUrl))
+
+        assertThat(pool!!.getIdleSessionCount(key)).isEqualTo(count)
+    }
+
+    @Then("^check all runs failed and the session is killed$")
+    fun checkFailedSessionKilled() {
+        assertThat(statusPollsOfRuns).isEmpty()
+        assertThat(failures).isNotEmpty
+
+        // The failed session is killed in background
+        val deadline = System.currentTimeMillis() + 5000
+        while (httpServerMock!!.livyServerMock.findAll(deleteRequestedFor(urlEqualTo("/sessions/6"))).isEmpty() &&
+                System.currentTimeMillis() < deadline) {
+            Thread.sleep(100)
+        }
+
+        WireMock.verify(deleteRequestedFor(urlEqualTo("/sessions/6")))
+    }
+}
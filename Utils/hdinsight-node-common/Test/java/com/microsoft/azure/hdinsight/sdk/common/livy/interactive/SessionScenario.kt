@@ -23,16 +23,23 @@
 package com.microsoft.azure.hdinsight.sdk.common.livy.interactive
 
 import com.github.tomakehurst.wiremock.client.WireMock
+import com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import com.github.tomakehurst.wiremock.client.WireMock.get
+import com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor
 import com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo
+import com.github.tomakehurst.wiremock.stubbing.Scenario
 import com.microsoft.azure.hdinsight.sdk.common.errorresponse.BadRequestHttpErrorStatus
+import com.microsoft.azure.hdinsight.sdk.common.errorresponse.HttpErrorStatus
 import com.microsoft.azure.hdinsight.spark.common.MockHttpService
 import cucumber.api.java.Before
 import cucumber.api.java.en.And
 import cucumber.api.java.en.Given
 import cucumber.api.java.en.Then
 import org.assertj.core.api.Assertions.assertThat
+import rx.schedulers.TestScheduler
 import rx.subjects.PublishSubject
 import java.net.URI
+import java.util.concurrent.TimeUnit
 import kotlin.test.fail
 
 class SessionScenario {
@@ -41,6 +48,9 @@ class SessionScenario {
     var code: String = ""
     var result: Map<String, String>? = null
     var userAgent: String? = null
+    val testScheduler = TestScheduler()
+    val polledStatements = mutableMapOf<Int, com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement>()
+    val pollErrors = mutableMapOf<Int, Throwable>()
 
     @Before
     fun setUp() {
@@ -116,6 +126,101 @@ class SessionScenario {
 
     }
 
+    @And("^setup a mock livy statements listing '(.+)' which returns '(.+)' for (\\d+) polls and then '(.+)'$")
+    fun mockStatementsListing(serviceUrl: String, runningResponse: String, polls: Int, doneResponse: String) {
+        WireMock.configureFor(httpServerMock!!.port)
+        (0..polls).forEach { poll ->
+            WireMock.stubFor(get(urlEqualTo(serviceUrl))
+                    .inScenario("statements listing")
+                    .whenScenarioStateIs(if (poll == 0) Scenario.STARTED else "poll $poll")
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withBody(httpServerMock!!.normalizeResponse(
+                                    if (poll < polls) runningResponse else doneResponse)))
+                    .willSetStateTo(if (poll < polls) "poll ${poll + 1}" else "poll $polls"))
+        }
+    }
+
+    @And("^setup a mock livy statements listing '(.+)' which fails with status code (\\d+) for (\\d+) polls and then returns '(.+)'$")
+    fun mockFailedStatementsListing(serviceUrl: String, statusCode: Int, polls: Int, doneResponse: String) {
+        WireMock.configureFor(httpServerMock!!.port)
+        (0..polls).forEach { poll ->
+            WireMock.stubFor(get(urlEqualTo(serviceUrl))
+                    .inScenario("statements listing")
+                    .whenScenarioStateIs(if (poll == 0) Scenario.STARTED else "poll $poll")
+                    .willReturn(if (poll < polls) aResponse().withStatus(statusCode).withBody("failed")
+                                else aResponse().withStatus(200).withBody(httpServerMock!!.normalizeResponse(doneResponse)))
+                    .willSetStateTo(if (poll < polls) "poll ${poll + 1}" else "poll $polls"))
+        }
+    }
+
+    @And("^run the following codes in livy Spark interactive session for (\\d+) times$")
+    fun runCodesForTimes(times: Int, codes: List<String>) {
+        code = codes.joinToString("\n")
+
+        repeat(times) {
+            WireMock.resetAllScenarios()
+
+            result = sessionMock!!.runCodes(code)
+                    .toBlocking()
+                    .single()
+        }
+    }
+
+    @And("^await the statements '(.+)' with a statement result poller on a test scheduler$")
+    fun awaitStatementsOnTestScheduler(idsCsv: String) {
+        val poller = StatementResultPoller(sessionMock!!, testScheduler)
+
+        idsCsv.split(",").map { it.trim().toInt() }.forEach { id ->
+            poller.await(id).subscribe({ polledStatements[id] = it }, { pollErrors[id] = it })
+        }
+    }
+
+    @And("^advance the test scheduler through (\\d+) polling backoff delays$")
+    fun advanceThroughBackoffDelays(polls: Int) {
+        (0 until polls).forEach { testScheduler.advanceTimeBy(PollingBackoff.delayOf(it), TimeUnit.MILLISECONDS) }
+    }
+
+    @Then("^check '(.+)' is requested once right after each of (\\d+) polling backoff delays$")
+    fun checkRequestedAfterBackoffDelays(url: String, polls: Int) {
+        (0 until polls).forEach { poll ->
+            testScheduler.advanceTimeBy(PollingBackoff.delayOf(poll) - 1, TimeUnit.MILLISECONDS)
+            WireMock.verify(poll, getRequestedFor(urlEqualTo(url)))
+
+            testScheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS)
+            WireMock.verify(poll + 1, getRequestedFor(urlEqualTo(url)))
+        }
+    }
+
+    @Then("^check GET request sent to '(.+)' for (\\d+) times$")
+    fun checkGetRequestTimes(url: String, times: Int) {
+        WireMock.verify(times, getRequestedFor(urlEqualTo(url)))
+    }
+
+    @Then("^check the statement (\\d+) is polled as '(.+)'$")
+    fun checkPolledStatement(id: Int, state: String) {
+        assertThat(pollErrors).doesNotContainKey(id)
+        assertThat(polledStatements[id]?.state?.toString()).isEqualToIgnoringCase(state)
+    }
+
+    @Then("^check the statement (\\d+) is still polling$")
+    fun checkStatementPolling(id: Int) {
+        assertThat(polledStatements).doesNotContainKey(id)
+        assertThat(pollErrors).doesNotContainKey(id)
+    }
+
+    @Then("^check the statement (\\d+) polling fails with status code (\\d+)$")
+    fun checkStatementPollingFailed(id: Int, statusCode: Int) {
+        assertThat(polledStatements).doesNotContainKey(id)
+        assertThat(pollErrors[id]).isInstanceOf(HttpErrorStatus::class.java)
+        assertThat((pollErrors[id] as HttpErrorStatus).statusCode).isEqualTo(statusCode)
+    }
+
+    @Then("^check no GET request sent to '(.+)'$")
+    fun checkNoGetRequest(url: String) {
+        WireMock.verify(0, getRequestedFor(urlEqualTo(url)))
+    }
+
     @Then("^check Spark interactive session statement run result stdout should be$")
     fun checkStatementRunResultOutput(outputExpect: List<String>) {
         assertThat(result!!["text/plain"]!!.split("\n"))
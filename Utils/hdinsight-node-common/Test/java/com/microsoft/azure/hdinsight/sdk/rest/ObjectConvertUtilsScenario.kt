@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) Microsoft Corporation
+ * <p/>
+ * All rights reserved.
+ * <p/>
+ * MIT License
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED *AS IS*, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.rest
+
+import cucumber.api.java.en.Given
+import cucumber.api.java.en.Then
+import org.apache.http.HttpEntity
+import org.apache.http.entity.ByteArrayEntity
+import org.assertj.core.api.Assertions.assertThat
+import java.nio.charset.Charset
+
+class ObjectConvertUtilsScenario {
+    private var entity: HttpEntity? = null
+
+    @Given("^an HTTP entity of Content-Type '(.+)' with the body '(.+)' encoded in (.+)$")
+    fun createEntity(contentType: String, body: String, charset: String) {
+        entity = ByteArrayEntity(body.toByteArray(Charset.forName(charset))).apply { setContentType(contentType) }
+    }
+
+    @Then("^check the entity is converted to an object with the field '(.+)' of '(.+)'$")
+    fun checkConvertedObject(field: String, value: String) {
+        val converted = ObjectConvertUtils.convertEntityToObject(entity!!, Map::class.java)
+
+        assertThat(converted).hasValueSatisfying { assertThat(it[field]).isEqualTo(value) }
+    }
+
+    @Then("^check the entity is converted to a list of '(.+)'$")
+    fun checkConvertedList(valuesCsv: String) {
+        val converted = ObjectConvertUtils.convertEntityToList(entity!!, String::class.java)
+
+        assertThat(converted).hasValueSatisfying { assertThat(it).containsExactlyElementsOf(valuesCsv.split(",")) }
+    }
+}
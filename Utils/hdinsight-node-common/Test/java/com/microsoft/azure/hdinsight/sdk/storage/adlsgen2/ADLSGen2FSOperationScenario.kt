@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) Microsoft Corporation
+ * <p/>
+ * All rights reserved.
+ * <p/>
+ * MIT License
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED *AS IS*, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.storage.adlsgen2
+
+import com.github.tomakehurst.wiremock.client.WireMock
+import com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo
+import com.microsoft.azure.hdinsight.sdk.common.HttpObservable
+import com.microsoft.azure.hdinsight.spark.common.MockHttpService
+import cucumber.api.java.Before
+import cucumber.api.java.en.Given
+import cucumber.api.java.en.Then
+import org.assertj.core.api.Assertions.assertThat
+
+class ADLSGen2FSOperationScenario {
+    var httpServerMock: MockHttpService? = null
+    var pages: List<List<String>> = emptyList()
+
+    @Before
+    fun setUp() {
+        httpServerMock = MockHttpService()
+    }
+
+    @Given("^setup a mock ADLS Gen2 service for GET request '(.+)' to return '(.+)' with continuation '(.*)'$")
+    fun mockGen2ListService(serviceUrl: String, response: String, continuation: String) {
+        val headers = mutableMapOf("Content-Type" to "application/json; charset=UTF-8")
+        if (continuation.isNotEmpty()) {
+            headers[ADLSGen2FSOperation.CONTINUATION_HEADER] = continuation
+        }
+
+        httpServerMock!!.stubWithHeader("GET", serviceUrl, 200, response, headers)
+    }
+
+    @Given("^list the directory '(.+)' of file system '(.+)' page by page$")
+    fun listPages(directory: String, fileSystem: String) {
+        pages = ADLSGen2FSOperation(HttpObservable())
+                .listPages(httpServerMock!!.completeUrl(fileSystem), directory)
+                .map { page -> page.map { it.name } }
+                .toList()
+                .toBlocking()
+                .single()
+    }
+
+    @Then("^check the listed pages should be$")
+    fun checkPages(pagesExpect: List<String>) {
+        assertThat(pages.map { it.joinToString(",") }).containsExactlyElementsOf(pagesExpect)
+    }
+
+    @Then("^check the GET request sent to '(.+)' (\\d+) times?$")
+    fun checkGen2Requests(urlExpect: String, times: Int) {
+        WireMock.verify(times, WireMock.getRequestedFor(urlEqualTo(urlExpect)))
+    }
+}
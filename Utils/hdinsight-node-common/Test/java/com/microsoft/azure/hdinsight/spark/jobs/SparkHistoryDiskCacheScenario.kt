@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) Microsoft Corporation
+ * <p/>
+ * All rights reserved.
+ * <p/>
+ * MIT License
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED *AS IS*, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs
+
+import com.github.tomakehurst.wiremock.client.WireMock
+import com.microsoft.azure.hdinsight.common.JobViewManager
+import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail
+import com.microsoft.azure.hdinsight.sdk.rest.spark.executor.Executor
+import com.microsoft.azure.hdinsight.sdk.rest.spark.job.Job
+import com.microsoft.azure.hdinsight.sdk.rest.spark.stage.Stage
+import com.microsoft.azure.hdinsight.sdk.rest.spark.task.Task
+import com.microsoft.azure.hdinsight.spark.common.MockHttpService
+import cucumber.api.java.After
+import cucumber.api.java.en.Given
+import cucumber.api.java.en.Then
+import org.apache.commons.io.FileUtils
+import org.assertj.core.api.Assertions.assertThat
+import org.mockito.Mockito.doReturn
+import org.mockito.Mockito.mock
+import java.nio.file.Files
+import java.nio.file.Path
+
+class SparkHistoryDiskCacheScenario {
+    data class History(val jobs: List<Job>, val stages: List<Stage>, val executors: List<Executor>, val tasks: List<Task>)
+
+    private var historyServerMock: MockHttpService? = null
+    private var clusterMock: IClusterDetail? = null
+    private var appIds: List<String> = emptyList()
+    private var cacheRoot: Path? = null
+    private var maxSizeBytes = SparkHistoryDiskCache.DEFAULT_MAX_SIZE_BYTES
+    private var cache: SparkHistoryDiskCache? = null
+    private val histories = mutableMapOf<String, History>()
+
+    @After
+    fun cleanUp() {
+        clusterMock?.let { JobViewManager.unRegisterJobView(it.name) }
+        historyServerMock?.livyServerMock?.stop()
+        cacheRoot?.let { FileUtils.deleteQuietly(it.toFile()) }
+    }
+
+    @Given("^setup a mock Spark history server with the (completed|running) applications '([^']+)' of (\\d+) stages and (\\d+) tasks per stage$")
+    fun mockSparkHistoryServer(state: String, appIdsCsv: String, stagesPerApp: Int, tasksPerStage: Int) {
+        val serverMock = MockHttpService()
+        historyServerMock = serverMock
+        appIds = appIdsCsv.split(",").map { it.trim() }
+
+        val cluster = mock(IClusterDetail::class.java)
+        doReturn("disk-cache-cluster-${serverMock.port}").`when`(cluster).name
+        doReturn(serverMock.completeUrl("/").trimEnd('/')).`when`(cluster).connectionUrl
+        doReturn("admin").`when`(cluster).httpUserName
+        doReturn("password").`when`(cluster).httpPassword
+        clusterMock = cluster
+        // the Spark applications list is got by the cluster name
+        JobViewManager.registerJovViewNode(cluster.name, cluster)
+
+        stubHistory("", appIds.joinToString(",", "[", "]") {
+            """{"id":"$it","name":"$it","attempts":[{"attemptId":"1","completed":${state == "completed"}}]}"""
+        })
+
+        appIds.forEach { appId ->
+            stubHistory("/$appId/1/jobs", """[{"jobId":0,"name":"count","status":"SUCCEEDED"}]""")
+            stubHistory("/$appId/1/executors", """[{"id":"driver","hostPort":"hn0:7077"},{"id":"1","hostPort":"wn0:7077"}]""")
+            stubHistory("/$appId/1/stages", (0 until stagesPerApp).joinToString(",", "[", "]") {
+                """{"stageId":$it,"attemptId":0,"status":"COMPLETE","name":"stage $it"}"""
+            })
+
+            (0 until stagesPerApp).forEach { stageId ->
+                stubHistory("/$appId/1/stages/$stageId/0/taskList", (0 until tasksPerStage).joinToString(",", "[", "]") {
+                    """{"taskId":"${stageId * tasksPerStage + it}","index":"$it","attempt":"0","executorId":"1","host":"wn0"}"""
+                })
+            }
+        }
+
+        val root = Files.createTempDirectory("SparkHistoryCache")
+        cacheRoot = root
+        cache = SparkHistoryDiskCache(root, maxSizeBytes)
+    }
+
+    @Given("^limit the disk cache size to hold (\\d+) applications$")
+    fun limitDiskCacheSize(appsToHold: Int) {
+        // measure the snapshots of one application with a separated cache
+        val probeRoot = Files.createTempDirectory("SparkHistoryCacheProbe")
+        try {
+            val probe = SparkHistoryDiskCache(probeRoot, SparkHistoryDiskCache.DEFAULT_MAX_SIZE_BYTES)
+            openHistory(probe, appIds.first())
+
+            val appSizeBytes = probe.totalSizeBytes
+            assertThat(appSizeBytes).isGreaterThan(0)
+
+            maxSizeBytes = appSizeBytes * appsToHold + appSizeBytes / 10
+        } finally {
+            FileUtils.deleteQuietly(probeRoot.toFile())
+        }
+
+        cache = SparkHistoryDiskCache(cacheRoot!!, maxSizeBytes)
+    }
+
+    @Given("^open the Spark history of '([^']+)' with the disk cache$")
+    fun openSparkHistory(appId: String) {
+        histories[appId] = openHistory(cache!!, appId)
+    }
+
+    @Given("^restart the IDE to drop the in-memory caches$")
+    fun restartIde() {
+        cache = SparkHistoryDiskCache(cacheRoot!!, maxSizeBytes)
+        historyServerMock!!.livyServerMock.resetRequests()
+    }
+
+    @Then("^check no request sent to the mock Spark history server$")
+    fun checkNoHistoryRequest() {
+        assertThat(historyServerMock!!.livyServerMock.allServeEvents).isEmpty()
+    }
+
+    @Then("^check requests sent to the mock Spark history server for '([^']+)'$")
+    fun checkHistoryRequests(appId: String) {
+        assertThat(historyServerMock!!.livyServerMock.allServeEvents.map { it.request.url })
+                .anyMatch { it.contains(appId) }
+    }
+
+    @Then("^check the Spark history of '([^']+)' has (\\d+) jobs, (\\d+) stages, (\\d+) executors and (\\d+) tasks$")
+    fun checkSparkHistory(appId: String, jobs: Int, stages: Int, executors: Int, tasks: Int) {
+        val history = histories[appId]!!
+
+        assertThat(history.jobs.map { it.jobId }).hasSize(jobs).containsOnly(0)
+        assertThat(history.stages.map { it.stageId }).containsExactlyElementsOf(0 until stages)
+        assertThat(history.executors.map { it.id }).hasSize(executors).contains("driver")
+        assertThat(history.tasks.map { it.taskId }).containsExactlyElementsOf((0 until tasks).map { it.toString() })
+    }
+
+    @Then("^check the disk cache holds '([^']+)' but not '([^']+)'$")
+    fun checkDiskCacheHeld(heldCsv: String, evictedCsv: String) {
+        val kinds = listOf("jobs", "stages", "executors", "tasks")
+
+        heldCsv.split(",").forEach { appId ->
+            val key = ApplicationKey(clusterMock!!, appId.trim())
+            assertThat(kinds).allMatch { cache!!.contains(key, it) }
+        }
+
+        evictedCsv.split(",").forEach { appId ->
+            val key = ApplicationKey(clusterMock!!, appId.trim())
+            assertThat(kinds).anyMatch { !cache!!.contains(key, it) }
+        }
+
+        assertThat(cache!!.totalSizeBytes).isLessThanOrEqualTo(maxSizeBytes)
+    }
+
+    private fun openHistory(diskCache: SparkHistoryDiskCache, appId: String): History {
+        val key = ApplicationKey(clusterMock!!, appId)
+        val isCompleted = { JobViewCacheManager.isApplicationCompleted(key) }
+
+        val jobs = diskCache.getOrLoad(key, "jobs", Job::class.java,
+                { SparkRestUtil.getLastAttemptJobsFromApp(key) }, isCompleted)
+        val stages = diskCache.getOrLoad(key, "stages", Stage::class.java,
+                { SparkRestUtil.getAllStageFromApp(key) }, isCompleted)
+        val executors = diskCache.getOrLoad(key, "executors", Executor::class.java,
+                { SparkRestUtil.getAllExecutorFromApp(key) }, isCompleted)
+        val tasks = diskCache.getOrLoad(key, "tasks", Task::class.java,
+                { stages.flatMap { SparkRestUtil.getSparkTasks(key, it.stageId, it.attemptId) } }, isCompleted)
+
+        return History(jobs, stages, executors, tasks)
+    }
+
+    private fun stubHistory(restUrl: String, response: String) {
+        // the REST URL is appended to the applications endpoint with a slash, which could be doubled
+        historyServerMock!!.livyServerMock.stubFor(
+                WireMock.get(WireMock.urlMatching("/sparkhistory/api/v1/applications/+${restUrl.trimStart('/')}"))
+                        .willReturn(WireMock.aResponse()
+                                .withStatus(200)
+                                .withHeader("Content-Type", "application/json; charset=UTF-8")
+                                .withBody(response)))
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) Microsoft Corporation
+ * <p/>
+ * All rights reserved.
+ * <p/>
+ * MIT License
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED *AS IS*, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs
+
+import com.github.tomakehurst.wiremock.client.WireMock
+import com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo
+import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail
+import com.microsoft.azure.hdinsight.spark.common.MockHttpService
+import cucumber.api.java.Before
+import cucumber.api.java.en.Given
+import cucumber.api.java.en.Then
+import org.assertj.core.api.Assertions.assertThat
+import org.mockito.Mockito.doReturn
+import org.mockito.Mockito.mock
+
+class YarnRestUtilScenario {
+    var httpServerMock: MockHttpService? = null
+    var clusterMock: IClusterDetail? = null
+    var sparkAppIds: List<String> = emptyList()
+
+    @Before
+    fun setUp() {
+        httpServerMock = MockHttpService()
+        clusterMock = mock(IClusterDetail::class.java)
+        doReturn(httpServerMock!!.completeUrl("/").trimEnd('/')).`when`(clusterMock)!!.connectionUrl
+        doReturn("admin").`when`(clusterMock)!!.httpUserName
+        doReturn("password").`when`(clusterMock)!!.httpPassword
+    }
+
+    @Given("^setup a mock YARN ResourceManager service for GET request '(.+)' to return '(.+)'$")
+    fun mockYarnRMService(serviceUrl: String, response: String) {
+        httpServerMock!!.stubWithHeader(
+                "GET", serviceUrl, 200, response, mapOf("Content-Type" to "application/json; charset=UTF-8"))
+    }
+
+    @Given("^get Spark applications from YARN$")
+    fun getSparkAppsFromYarn() {
+        sparkAppIds = YarnRestUtil.getSparkAppFromYarn(clusterMock!!).map { it.id }
+    }
+
+    @Then("^check the Spark application IDs got from YARN should be$")
+    fun checkSparkAppIds(idsExpect: List<String>) {
+        assertThat(sparkAppIds).containsExactlyElementsOf(idsExpect)
+    }
+
+    @Then("^check the GET request sent to '(.+)' (\\d+) times?$")
+    fun checkYarnRequests(urlExpect: String, times: Int) {
+        WireMock.verify(times, WireMock.getRequestedFor(urlEqualTo(urlExpect)))
+    }
+}
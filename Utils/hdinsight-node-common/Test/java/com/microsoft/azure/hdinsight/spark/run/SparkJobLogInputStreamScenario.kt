@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) Microsoft Corporation
+ * <p/>
+ * All rights reserved.
+ * <p/>
+ * MIT License
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED *AS IS*, WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.microsoft.azure.hdinsight.spark.run
+
+import com.microsoft.azure.hdinsight.spark.common.ISparkBatchJob
+import com.sun.net.httpserver.HttpServer
+import cucumber.api.java.After
+import cucumber.api.java.en.And
+import cucumber.api.java.en.Given
+import cucumber.api.java.en.Then
+import org.assertj.core.api.Assertions.assertThat
+import org.mockito.ArgumentMatchers.anyInt
+import org.mockito.ArgumentMatchers.anyLong
+import org.mockito.ArgumentMatchers.anyString
+import org.mockito.Mockito.doAnswer
+import org.mockito.Mockito.mock
+import rx.Observable
+import java.io.ByteArrayOutputStream
+import java.net.InetSocketAddress
+import java.net.URL
+import java.util.AbstractMap.SimpleImmutableEntry
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+class SparkJobLogInputStreamScenario {
+    private val containerLogs = ConcurrentHashMap<String, ByteArrayOutputStream>()
+    private val tailedLogs = ConcurrentHashMap<String, ByteArray>()
+    private val requestedSizes = mutableListOf<Long>()
+    private val servedBytes = AtomicLong()
+    private val executor = Executors.newCachedThreadPool()
+
+    var server: HttpServer? = null
+    var appending: CompletableFuture<Void> = CompletableFuture.completedFuture(null)
+
+    @After
+    fun tearDown() {
+        server?.stop(0)
+        executor.shutdownNow()
+    }
+
+    @Given("^setup a local YARN container log server with (\\d+) containers$")
+    fun setupContainerLogServer(containers: Int) {
+        (1..containers).forEach { containerLogs["container_$it"] = ByteArrayOutputStream() }
+
+        // GET /{container}/{type}?start={start}&end={end} responds the log bytes in [start, end)
+        server = HttpServer.create(InetSocketAddress("localhost", 0), 0).apply {
+            createContext("/") { exchange ->
+                val container = exchange.requestURI.path.split("/")[1]
+                val query = exchange.requestURI.query.split("&").filter { it.isNotEmpty() }.associate {
+                    it.substringBefore("=") to it.substringAfter("=").toLong()
+                }
+                val log = containerLogs[container]!!.let { synchronized(it) { it.toByteArray() } }
+                val start = minOf(query.getValue("start"), log.size.toLong()).toInt()
+                val end = minOf(query["end"] ?: Long.MAX_VALUE, log.size.toLong()).toInt()
+
+                synchronized(requestedSizes) { requestedSizes.add((query["end"] ?: Long.MAX_VALUE) - start) }
+                servedBytes.addAndGet((end - start).toLong())
+
+                exchange.sendResponseHeaders(200, if (end > start) (end - start).toLong() else -1)
+                exchange.responseBody.use { it.write(log, start, end - start) }
+            }
+            executor = this@SparkJobLogInputStreamScenario.executor
+            start()
+        }
+    }
+
+    @And("^keep appending (\\d+) lines of (\\d+) bytes to each container stdout log every (\\d+)ms$")
+    fun keepAppendingLogs(lines: Int, lineSize: Int, intervalMillis: Long) {
+        appending = CompletableFuture.runAsync({
+            repeat(lines) { line ->
+                containerLogs.forEach { (container, log) ->
+                    val text = "$container line $line ".padEnd(lineSize - 1, '*') + "\n"
+                    synchronized(log) { log.write(text.toByteArray()) }
+                }
+
+                Thread.sleep(intervalMillis)
+            }
+        }, executor)
+    }
+
+    @And("^append the log '(.+)' to each container stdout log$")
+    fun appendLog(text: String) {
+        containerLogs.values.forEach { log ->
+            synchronized(log) { log.write(text.replace("\\n", "\n").toByteArray(Charsets.UTF_8)) }
+        }
+    }
+
+    @And("^append (\\d+) chars of '(.)' to each container stdout log$")
+    fun appendRepeatedChars(count: Int, char: String) {
+        appendLog(char.repeat(count))
+    }
+
+    @And("^tail the stdout logs of all containers until the logs stop growing$")
+    fun tailLogs() {
+        val baseUrl = "http://localhost:${server!!.address.port}"
+        val job = mock(ISparkBatchJob::class.java)
+        doAnswer { invocation ->
+            val logUrl = invocation.getArgument<String>(0)
+            val type = invocation.getArgument<String>(1)
+            val offset = invocation.getArgument<Long>(2)
+            val size = invocation.getArgument<Int>(3)
+            val slice = URL("$logUrl/$type?start=$offset" + (if (size > 0) "&end=${offset + size}" else ""))
+                    .readBytes()
+                    .toString(Charsets.UTF_8)
+
+            if (slice.isEmpty()) Observable.empty() else Observable.just(SimpleImmutableEntry(slice, offset))
+        }.`when`(job).getContainerLog(anyString(), anyString(), anyLong(), anyInt())
+
+        val tailing = containerLogs.keys.map { container ->
+            CompletableFuture.runAsync({
+                val stream = SparkJobExecutorLogInputStream("stdout", "$baseUrl/$container")
+                stream.attachJob(job)
+                val tailed = ByteArrayOutputStream()
+                val bytes = ByteArray(8192)
+                val deadline = System.currentTimeMillis() + 60_000
+
+                // read like the process output reader: check the available bytes, read them or sleep a while
+                while (System.currentTimeMillis() < deadline &&
+                        !(appending.isDone && tailed.size() == containerLogs[container]!!.size())) {
+                    if (stream.available() > 0) {
+                        tailed.write(bytes, 0, stream.read(bytes))
+                    } else {
+                        Thread.sleep(10)
+                    }
+                }
+
+                tailedLogs[container] = tailed.toByteArray()
+            }, executor)
+        }
+
+        CompletableFuture.allOf(*tailing.toTypedArray()).get(90, TimeUnit.SECONDS)
+    }
+
+    @Then("^check the tailed logs are the same as the container logs$")
+    fun checkTailedLogs() {
+        containerLogs.forEach { (container, log) ->
+            assertThat(tailedLogs[container]).isEqualTo(log.toByteArray())
+        }
+    }
+
+    @Then("^check each log request asks for at most (\\d+) bytes$")
+    fun checkRangedRequests(maxSize: Long) {
+        synchronized(requestedSizes) {
+            assertThat(requestedSizes).isNotEmpty.allMatch { it <= maxSize }
+        }
+    }
+
+    @Then("^check each byte of the container logs is served only once$")
+    fun checkNoRedownload() {
+        assertThat(servedBytes.get()).isEqualTo(containerLogs.values.sumBy { it.size() }.toLong())
+    }
+}
@@ -0,0 +1,20 @@
+Feature: Task Executor Tests
+
+  Scenario: Interactive tasks don't queue behind a burst of bulk tasks
+    Given create a task executor with 4 interactive threads, 4 bulk threads and 1024 queued tasks at most
+    And submit 400 bulk tasks taking 50ms and 200 interactive tasks taking 5ms together
+    Then check at most 8 tasks run at the same time
+    Then check the pool threads are capped at 4 interactive and 4 bulk
+    Then check the p99 latency of interactive tasks is less than 200ms
+    Then check all tasks are completed
+
+  Scenario: Cancelling a task interrupts it and notifies the task to abort its I/O
+    Given create a task executor with 1 interactive threads, 1 bulk threads and 10 queued tasks at most
+    And submit a bulk task taking 10000ms and a queued one, then cancel both
+    Then check the running task is interrupted and notified
+    Then check the queued task is removed without running
+
+  Scenario: Tasks over the queue capacity are rejected
+    Given create a task executor with 1 interactive threads, 1 bulk threads and 1 queued tasks at most
+    And submit 3 bulk tasks taking 500ms
+    Then check 1 task(s) rejected with the callback notified
@@ -0,0 +1,42 @@
+Feature: Cluster Configuration Loader Tests
+
+  Scenario: Concurrent first loads share one request and later loads don't block
+    Given setup a mock cluster configuration service responding 'password1' in 1000ms
+    And create a cluster configuration loader with 60000ms time-to-live
+    And load the cluster configuration by 5 concurrent callers
+    Then check 1 cluster configuration request(s) sent
+    Then check the loaded cluster configuration is 'password1'
+    And load the cluster configuration by 10 sequential callers
+    Then check 1 cluster configuration request(s) sent
+    Then check each of the last loads took less than 100ms
+
+  Scenario: Expired configuration is refreshed in background and the last-known one is returned
+    Given setup a mock cluster configuration service responding 'password1' then 'password2' in 1000ms
+    And create a cluster configuration loader with 2000ms time-to-live
+    And load the cluster configuration by 1 sequential callers
+    Then check the loaded cluster configuration is 'password1'
+    And wait for 2500ms
+    And load the cluster configuration by 3 sequential callers
+    Then check each of the last loads took less than 100ms
+    Then check the loaded cluster configuration is 'password1'
+    And wait for 1500ms
+    Then check 2 cluster configuration request(s) sent
+    Then check the loaded cluster configuration is 'password2'
+
+  Scenario: Failure of the first load is not cached
+    Given setup a mock cluster configuration service failing once then responding 'password1'
+    And create a cluster configuration loader with 60000ms time-to-live
+    Then check loading the cluster configuration fails
+    And load the cluster configuration by 1 sequential callers
+    Then check 2 cluster configuration request(s) sent
+    Then check the loaded cluster configuration is 'password1'
+
+  Scenario: Invalidated configuration is loaded again before returning
+    Given setup a mock cluster configuration service responding 'password1' then 'password2' in 500ms
+    And create a cluster configuration loader with 60000ms time-to-live
+    And load the cluster configuration by 1 sequential callers
+    Then check the loaded cluster configuration is 'password1'
+    And invalidate the cluster configuration
+    And load the cluster configuration by 1 sequential callers
+    Then check 2 cluster configuration request(s) sent
+    Then check the loaded cluster configuration is 'password2'
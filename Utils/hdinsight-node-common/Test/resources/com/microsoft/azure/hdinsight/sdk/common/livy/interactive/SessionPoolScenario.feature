@@ -0,0 +1,17 @@
+Feature: Livy Interactive Session Pool Tests
+
+  Scenario: Pooled session is reused by later work without waiting for session start
+    Given setup a mock livy interactive service whose session starts after 6 status polls
+    And setup the mock livy interactive service to return statement output '{"status":"ok","execution_count":0,"data":{"text/plain":"done"}}'
+    And run codes 'println("done")' with a pooled Spark session for 3 times
+    Then check 1 Livy session(s) created
+    Then check only the first run waits for the session to start with 6 status polls
+    Then check 1 idle session(s) in the pool
+
+  Scenario: Pooled session is killed rather than reused after the work fails
+    Given setup a mock livy interactive service whose session starts after 0 status polls
+    And setup the mock livy interactive service to return statement output '{"status":"error","execution_count":0,"ename":"Error","evalue":"failed","traceback":[]}'
+    And run codes 'throw new Exception("failed")' with a pooled Spark session for 2 times
+    Then check 2 Livy session(s) created
+    Then check 0 idle session(s) in the pool
+    Then check all runs failed and the session is killed
@@ -45,6 +45,66 @@ Feature: Livy Interactive Session Tests
     Then check Spark interactive session statement run result stdout should be
       | Hello World! |
 
+  Scenario: Session.runCodes() gets statement results from the statements listing with adaptive polling
+    Given setup a mock livy interactive service for POST request '/sessions' to return '{"id":6,"appId":null,"owner":null,"proxyUser":null,"state":"starting","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
+    And setup a mock livy interactive service for GET request '/sessions/6' to return '{"id":6,"appId":"application_1517029729598_0086","owner":null,"proxyUser":null,"state":"idle","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
+    And create a livy Spark interactive session instance with name 'testSparkREPL'
+    And create the Spark interactive session, and save the response
+    Given setup a mock livy interactive service for POST request '/sessions/6/statements' to return '{"id":0,"state":"waiting","output":null}' with status code 200
+    And setup a mock livy statements listing '/sessions/6/statements?from=0' which returns '{"total_statements":1,"statements":[{"id":0,"state":"running","output":null}]}' for 2 polls and then '{"total_statements":1,"statements":[{"id":0,"state":"available","output":{"status":"ok","execution_count":0,"data":{"text/plain":"Hello World!"}}}]}'
+    And run the following codes in livy Spark interactive session for 5 times
+      | println("Hello World!") |
+    Then check Spark interactive session statement run result stdout should be
+      | Hello World! |
+    Then check GET request sent to '/sessions/6/statements?from=0' for 15 times
+    Then check no GET request sent to '/sessions/6/statements/0'
+
+  Scenario: Statement results are polled after the polling backoff delays
+    Given setup a mock livy interactive service for POST request '/sessions' to return '{"id":6,"appId":null,"owner":null,"proxyUser":null,"state":"starting","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
+    And create a livy Spark interactive session instance with name 'testSparkREPL'
+    And create the Spark interactive session, and save the response
+    And setup a mock livy statements listing '/sessions/6/statements?from=0' which returns '{"total_statements":1,"statements":[{"id":0,"state":"running","output":null}]}' for 3 polls and then '{"total_statements":1,"statements":[{"id":0,"state":"available","output":null}]}'
+    And await the statements '0' with a statement result poller on a test scheduler
+    Then check '/sessions/6/statements?from=0' is requested once right after each of 4 polling backoff delays
+    Then check the statement 0 is polled as 'available'
+    Then check no GET request sent to '/sessions/6/statements/0'
+
+  Scenario: Statements listing is retried in the next round after a server error
+    Given setup a mock livy interactive service for POST request '/sessions' to return '{"id":6,"appId":null,"owner":null,"proxyUser":null,"state":"starting","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
+    And create a livy Spark interactive session instance with name 'testSparkREPL'
+    And create the Spark interactive session, and save the response
+    And setup a mock livy statements listing '/sessions/6/statements?from=0' which fails with status code 500 for 1 polls and then returns '{"total_statements":1,"statements":[{"id":0,"state":"available","output":null}]}'
+    And setup a mock livy interactive service for GET request '/sessions/6/statements/0' to return '{"id":0,"state":"running","output":null}' with status code 200
+    And await the statements '0' with a statement result poller on a test scheduler
+    And advance the test scheduler through 2 polling backoff delays
+    Then check the statement 0 is polled as 'available'
+    Then check GET request sent to '/sessions/6/statements?from=0' for 2 times
+    Then check GET request sent to '/sessions/6/statements/0' for 1 times
+
+  Scenario: Statements are polled one by one if the listing isn't supported
+    Given setup a mock livy interactive service for POST request '/sessions' to return '{"id":6,"appId":null,"owner":null,"proxyUser":null,"state":"starting","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
+    And create a livy Spark interactive session instance with name 'testSparkREPL'
+    And create the Spark interactive session, and save the response
+    And setup a mock livy interactive service for GET request '/sessions/6/statements?from=0' to return 'Not Found' with status code 404
+    And setup a mock livy interactive service for GET request '/sessions/6/statements/0' to return '{"id":0,"state":"running","output":null}' with status code 200
+    And await the statements '0' with a statement result poller on a test scheduler
+    And advance the test scheduler through 3 polling backoff delays
+    Then check the statement 0 is still polling
+    Then check GET request sent to '/sessions/6/statements?from=0' for 1 times
+    Then check GET request sent to '/sessions/6/statements/0' for 3 times
+
+  Scenario: A failed statement poll only fails its own statement
+    Given setup a mock livy interactive service for POST request '/sessions' to return '{"id":6,"appId":null,"owner":null,"proxyUser":null,"state":"starting","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
+    And create a livy Spark interactive session instance with name 'testSparkREPL'
+    And create the Spark interactive session, and save the response
+    And setup a mock livy interactive service for GET request '/sessions/6/statements?from=0' to return 'Not Found' with status code 404
+    And setup a mock livy interactive service for GET request '/sessions/6/statements/0' to return 'Internal Server Error' with status code 500
+    And setup a mock livy interactive service for GET request '/sessions/6/statements/1' to return '{"id":1,"state":"available","output":null}' with status code 200
+    And await the statements '0,1' with a statement result poller on a test scheduler
+    And advance the test scheduler through 1 polling backoff delays
+    Then check the statement 0 polling fails with status code 500
+    Then check the statement 1 is polled as 'available'
+
   Scenario: Session.create() UA with random UUID IT positive case with mocked http server
     Given setup a mock livy interactive service for POST request '/sessions' to return '{"id":6,"appId":null,"owner":null,"proxyUser":null,"state":"starting","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
     And create a livy Spark interactive session instance with name 'testSparkREPL1'
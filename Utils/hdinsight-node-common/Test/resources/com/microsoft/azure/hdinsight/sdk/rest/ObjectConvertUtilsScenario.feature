@@ -0,0 +1,13 @@
+Feature: Object Convert Utils Tests
+
+  Scenario: JSON entity without the charset parameter is decoded as UTF-8
+    Given an HTTP entity of Content-Type 'application/json' with the body '{"name":"日志 лог"}' encoded in UTF-8
+    Then check the entity is converted to an object with the field 'name' of '日志 лог'
+
+  Scenario: JSON list entity without the charset parameter is decoded as UTF-8
+    Given an HTTP entity of Content-Type 'application/json' with the body '["日志","лог"]' encoded in UTF-8
+    Then check the entity is converted to a list of '日志,лог'
+
+  Scenario: The charset parameter of the entity Content-Type is respected
+    Given an HTTP entity of Content-Type 'application/json; charset=ISO-8859-1' with the body '{"name":"café"}' encoded in ISO-8859-1
+    Then check the entity is converted to an object with the field 'name' of 'café'
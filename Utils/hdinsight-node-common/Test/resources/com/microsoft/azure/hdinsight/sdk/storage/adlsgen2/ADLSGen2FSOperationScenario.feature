@@ -0,0 +1,13 @@
+Feature: ADLS Gen2 File System Operation Tests
+
+  Scenario: ADLSGen2FSOperation.listPages() follows the continuation token with mocked http server
+    Given setup a mock ADLS Gen2 service for GET request '/fs?recursive=false&resource=filesystem&directory=sub&maxResults=5000' to return '{"paths":[{"name":"sub/a.jar","isDirectory":"false"},{"name":"sub/lib","isDirectory":"true"}]}' with continuation 'page2'
+    And setup a mock ADLS Gen2 service for GET request '/fs?recursive=false&resource=filesystem&directory=sub&maxResults=5000&continuation=page2' to return '{"paths":[{"name":"sub/b.jar","isDirectory":"false"}]}' with continuation 'page3'
+    And setup a mock ADLS Gen2 service for GET request '/fs?recursive=false&resource=filesystem&directory=sub&maxResults=5000&continuation=page3' to return '{"paths":[{"name":"sub/c.jar","isDirectory":"false"}]}' with continuation ''
+    And list the directory 'sub' of file system '/fs/' page by page
+    Then check the listed pages should be
+      | sub/a.jar,sub/lib |
+      | sub/b.jar         |
+      | sub/c.jar         |
+    Then check the GET request sent to '/fs?recursive=false&resource=filesystem&directory=sub&maxResults=5000' 1 time
+    Then check the GET request sent to '/fs?recursive=false&resource=filesystem&directory=sub&maxResults=5000&continuation=page3' 1 time
@@ -0,0 +1,28 @@
+Feature: Spark History Disk Cache Tests
+
+  Scenario: Reopen a completed application after IDE restart without any history server call
+    Given setup a mock Spark history server with the completed applications 'application_1_0001' of 3 stages and 500 tasks per stage
+    And open the Spark history of 'application_1_0001' with the disk cache
+    Then check the Spark history of 'application_1_0001' has 1 jobs, 3 stages, 2 executors and 1500 tasks
+    And restart the IDE to drop the in-memory caches
+    And open the Spark history of 'application_1_0001' with the disk cache
+    Then check no request sent to the mock Spark history server
+    Then check the Spark history of 'application_1_0001' has 1 jobs, 3 stages, 2 executors and 1500 tasks
+
+  Scenario: Running application isn't cached on disk
+    Given setup a mock Spark history server with the running applications 'application_1_0002' of 1 stages and 10 tasks per stage
+    And open the Spark history of 'application_1_0002' with the disk cache
+    And restart the IDE to drop the in-memory caches
+    And open the Spark history of 'application_1_0002' with the disk cache
+    Then check requests sent to the mock Spark history server for 'application_1_0002'
+    Then check the Spark history of 'application_1_0002' has 1 jobs, 1 stages, 2 executors and 10 tasks
+
+  Scenario: Least recently used application is evicted when the disk cache is full
+    Given setup a mock Spark history server with the completed applications 'application_1_0003,application_1_0004,application_1_0005' of 2 stages and 100 tasks per stage
+    And limit the disk cache size to hold 2 applications
+    And open the Spark history of 'application_1_0003' with the disk cache
+    And open the Spark history of 'application_1_0004' with the disk cache
+    And restart the IDE to drop the in-memory caches
+    And open the Spark history of 'application_1_0003' with the disk cache
+    And open the Spark history of 'application_1_0005' with the disk cache
+    Then check the disk cache holds 'application_1_0003,application_1_0005' but not 'application_1_0004'
@@ -0,0 +1,8 @@
+Feature: YARN Rest Utilities Tests
+
+  Scenario: YarnRestUtil.getSparkAppFromYarn() lists Livy Spark applications only with mocked http server
+    Given setup a mock YARN ResourceManager service for GET request '/yarnui/ws/v1/cluster/apps?applicationTypes=SPARK' to return '{"apps":{"app":[{"id":"application_1_0001","user":"livy","state":"RUNNING","startedTime":1000,"finishedTime":0},{"id":"application_1_0002","user":"admin","state":"FINISHED","startedTime":2000,"finishedTime":3000}]}}'
+    And get Spark applications from YARN
+    Then check the Spark application IDs got from YARN should be
+      | application_1_0001 |
+    Then check the GET request sent to '/yarnui/ws/v1/cluster/apps?applicationTypes=SPARK' 1 time
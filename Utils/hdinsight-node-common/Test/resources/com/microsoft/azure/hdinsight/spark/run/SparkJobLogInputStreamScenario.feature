@@ -0,0 +1,23 @@
+Feature: Spark Job Log Input Stream Tests
+
+  Scenario: Tail many growing container logs at once with ranged requests
+    Given setup a local YARN container log server with 20 containers
+    And keep appending 100 lines of 200 bytes to each container stdout log every 20ms
+    And tail the stdout logs of all containers until the logs stop growing
+    Then check the tailed logs are the same as the container logs
+    Then check each log request asks for at most 65536 bytes
+    Then check each byte of the container logs is served only once
+
+  Scenario: Non-ASCII log is decoded and offset in bytes
+    Given setup a local YARN container log server with 1 containers
+    And append the log '日志 line 1\nлог line 2\n' to each container stdout log
+    And tail the stdout logs of all containers until the logs stop growing
+    Then check the tailed logs are the same as the container logs
+    Then check each byte of the container logs is served only once
+
+  Scenario: Multi-byte chars cut by the ranged requests are not corrupted
+    Given setup a local YARN container log server with 1 containers
+    And append 30000 chars of '日' to each container stdout log
+    And tail the stdout logs of all containers until the logs stop growing
+    Then check the tailed logs are the same as the container logs
+    Then check each log request asks for at most 65536 bytes
@@ -47,7 +47,9 @@ public class CosmosSparkClusterNode extends AzureRefreshableNode implements ILog
     @Override
     protected void refreshItems() throws AzureCmdException {
         try {
-            cluster.get().toBlocking().singleOrDefault(cluster);
+            // get the cluster details through the configuration loader, so that it's not stale for the other callers
+            cluster.invalidateConfigurationInfo();
+            cluster.getConfigurationInfo();
             getNodeActionByName(UPDATE_ACTION_NAME).setEnabled(isClusterStable());
             getNodeActionByName(SUBMIT_COSMOS_SPARK_JOB_ACTION_NAME).setEnabled(isClusterStable());
         } catch (Exception ex) {
@@ -9,6 +9,7 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
 import com.microsoft.azure.hdinsight.sdk.common.HDIException;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.auth.AuthScope;
@@ -29,6 +30,8 @@ public class LivyTask extends Task<String> {
     protected final IClusterDetail clusterDetail;
     protected final String path;
     private final CredentialsProvider credentialsProvider =  new BasicCredentialsProvider();
+    @Nullable
+    private volatile HttpGet currentRequest;
 
     public LivyTask(@NotNull IClusterDetail clusterDetail, @NotNull String path, @NotNull FutureCallback<String> callback ) {
         super(callback);
@@ -46,8 +49,10 @@ public class LivyTask extends Task<String> {
     public String call() throws Exception {
         CloseableHttpClient httpclient = HttpClients.custom()
                 .useSystemProperties()
+                .setDefaultRequestConfig(REQUEST_CONFIG)
                 .setDefaultCredentialsProvider(credentialsProvider).build();
         HttpGet httpGet = new HttpGet(path);
+        currentRequest = httpGet;
         httpGet.addHeader("Content-Type", "application/json");
         CloseableHttpResponse response = httpclient.execute(httpGet);
         int code = response.getStatusLine().getStatusCode();
@@ -56,4 +61,12 @@ public class LivyTask extends Task<String> {
 
         return IOUtils.toString(httpEntity.getContent(), Charset.forName("utf-8"));
     }
+
+    @Override
+    protected void onCancelled() {
+        HttpGet request = currentRequest;
+        if (request != null) {
+            request.abort();
+        }
+    }
 }
@@ -10,6 +10,7 @@ import com.microsoft.azure.hdinsight.common.HttpResponseWithoutHeader;
 import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
 import com.microsoft.azure.hdinsight.sdk.common.HDIException;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
@@ -27,6 +28,8 @@ public class MultiRestTask extends Task<List<String>> {
     protected final IClusterDetail clusterDetail;
     protected final List<String> paths;
     private final CredentialsProvider credentialsProvider =  new BasicCredentialsProvider();
+    @Nullable
+    private volatile HttpGet currentRequest;
 
     public MultiRestTask(@NotNull IClusterDetail clusterDetail, @NotNull List<String> paths, @NotNull FutureCallback<List<String>> callback) {
         super(callback);
@@ -39,14 +42,25 @@ public class MultiRestTask extends Task<List<String>> {
         }
     }
 
+    @Override
+    public TaskPriority getPriority() {
+        return TaskPriority.BULK;
+    }
+
     @Override
     public List<String> call() throws Exception {
         CloseableHttpClient httpclient = HttpClients.custom()
                 .useSystemProperties()
+                .setDefaultRequestConfig(REQUEST_CONFIG)
                 .setDefaultCredentialsProvider(credentialsProvider).build();
         List<String> results = new ArrayList<>();
         for(String path: paths) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException("Task is cancelled");
+            }
+
             HttpGet httpGet = new HttpGet(path);
+            currentRequest = httpGet;
             httpGet.addHeader("Content-Type", "application/json");
             CloseableHttpResponse response = httpclient.execute(httpGet);
             int code = response.getStatusLine().getStatusCode();
@@ -59,4 +73,12 @@ public class MultiRestTask extends Task<List<String>> {
 
         return results;
     }
+
+    @Override
+    protected void onCancelled() {
+        HttpGet request = currentRequest;
+        if (request != null) {
+            request.abort();
+        }
+    }
 }
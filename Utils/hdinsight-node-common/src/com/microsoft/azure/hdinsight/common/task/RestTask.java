@@ -11,6 +11,7 @@ import com.microsoft.azure.hdinsight.sdk.common.HDIException;
 import com.microsoft.azure.hdinsight.sdk.common.HttpResponse;
 import com.microsoft.azure.hdinsight.common.HttpResponseWithoutHeader;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.http.HttpEntity;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
@@ -31,6 +32,8 @@ public class RestTask extends Task<String> {
     protected final IClusterDetail clusterDetail;
     protected final String path;
     private final CredentialsProvider credentialsProvider =  new BasicCredentialsProvider();
+    @Nullable
+    private volatile HttpGet currentRequest;
 
     public RestTask(@NotNull IClusterDetail clusterDetail, @NotNull String path, @NotNull FutureCallback<String> callback) {
         super(callback);
@@ -47,8 +50,10 @@ public class RestTask extends Task<String> {
     public String call() throws Exception {
         CloseableHttpClient httpclient = HttpClients.custom()
                 .useSystemProperties()
+                .setDefaultRequestConfig(REQUEST_CONFIG)
                 .setDefaultCredentialsProvider(credentialsProvider).build();
         HttpGet httpGet = new HttpGet(path);
+        currentRequest = httpGet;
         httpGet.addHeader("Content-Type", "application/json");
 
         CloseableHttpResponse response = httpclient.execute(httpGet);
@@ -60,6 +65,14 @@ public class RestTask extends Task<String> {
         }
     }
 
+    @Override
+    protected void onCancelled() {
+        HttpGet request = currentRequest;
+        if (request != null) {
+            request.abort();
+        }
+    }
+
     private static HttpResponseWithoutHeader getResultFromHttpResponse(@NotNull CloseableHttpResponse response) throws IOException {
         int code = response.getStatusLine().getStatusCode();
         String reason = response.getStatusLine().getReasonPhrase();
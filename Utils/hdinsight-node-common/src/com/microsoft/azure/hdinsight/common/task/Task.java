@@ -7,20 +7,46 @@ package com.microsoft.azure.hdinsight.common.task;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.http.client.config.RequestConfig;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 public abstract class Task<V> implements Callable<V> {
 
     protected static Logger logger = Logger.getLogger(Task.class.getName());
 
+    /**
+     * Timeouts of the REST requests sent by tasks. {@link TaskExecutor} runs tasks with a few threads, so a stalled
+     * request must fail in time rather than hold a thread forever.
+     */
+    protected static final RequestConfig REQUEST_CONFIG = RequestConfig.custom()
+            .setConnectTimeout((int) TimeUnit.SECONDS.toMillis(30))
+            .setConnectionRequestTimeout((int) TimeUnit.SECONDS.toMillis(30))
+            .setSocketTimeout((int) TimeUnit.SECONDS.toMillis(60))
+            .build();
+
     protected FutureCallback<V> callback;
 
     public Task(@Nullable FutureCallback<V> callback) {
             this.callback = callback;
     }
 
+    /**
+     * @return the priority to choose the thread pool of {@link TaskExecutor} to run the task
+     */
+    public TaskPriority getPriority() {
+        return TaskPriority.INTERACTIVE;
+    }
+
+    /**
+     * Called when the future of the task is cancelled. The running thread is interrupted, but blocking I/O isn't
+     * aborted by the interruption, so override it to abort the in-flight requests.
+     */
+    protected void onCancelled() {
+    }
+
     public static final FutureCallback<Object> EMPTY_CALLBACK = new FutureCallback<Object>() {
         @Override
         public void onSuccess(Object o) {
@@ -7,18 +7,254 @@ package com.microsoft.azure.hdinsight.common.task;
 
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.ListenableFutureTask;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 
-import java.util.concurrent.Executors;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class TaskExecutor {
-    private static ListeningExecutorService executors = MoreExecutors.listeningDecorator(Executors.newCachedThreadPool());
+/**
+ * Runs the HDInsight background tasks with bounded thread pools, one per {@link TaskPriority}, so that bursts of
+ * tasks never spawn unbounded threads and the interactive tasks never queue behind the bulk I/O.
+ * <ul>
+ *     <li>Each pool has a fixed thread cap and a bounded queue, tasks over the queue capacity are failed with
+ *     {@link RejectedExecutionException}.</li>
+ *     <li>Cancelling the returned future removes the queued task, or interrupts the running one and calls
+ *     {@link Task#onCancelled()} to abort its I/O.</li>
+ *     <li>The queue depth and latencies (from submission to completion) of each pool are available from
+ *     {@link #getMetrics(TaskPriority)}.</li>
+ * </ul>
+ */
+public class TaskExecutor implements ILogger {
+    static final int INTERACTIVE_THREADS = 4;
+    static final int BULK_THREADS = 4;
+    static final int MAX_QUEUED_TASKS = 1024;
+
+    private static final TaskExecutor DEFAULT = new TaskExecutor(INTERACTIVE_THREADS, BULK_THREADS, MAX_QUEUED_TASKS);
+
+    private final Pool interactivePool;
+    private final Pool bulkPool;
+
+    TaskExecutor(final int interactiveThreads, final int bulkThreads, final int maxQueuedTasks) {
+        this.interactivePool = new Pool("hdinsight-interactive-task", interactiveThreads, maxQueuedTasks);
+        this.bulkPool = new Pool("hdinsight-bulk-task", bulkThreads, maxQueuedTasks);
+    }
 
     public static <T> ListenableFuture<T> submit(@NotNull Task<T> task) {
-        final ListenableFuture<T> listenableFuture = executors.submit(task);
-        Futures.addCallback(listenableFuture, task.callback, MoreExecutors.directExecutor());
-        return listenableFuture;
+        return DEFAULT.execute(task);
+    }
+
+    @NotNull
+    public static Metrics getMetrics(@NotNull TaskPriority priority) {
+        return DEFAULT.metricsOf(priority);
+    }
+
+    <T> ListenableFuture<T> execute(@NotNull Task<T> task) {
+        final ListenableFuture<T> future = poolOf(task.getPriority()).submit(task);
+
+        future.addListener(() -> {
+            if (future.isCancelled()) {
+                task.onCancelled();
+            }
+        }, MoreExecutors.directExecutor());
+
+        if (task.callback != null) {
+            Futures.addCallback(future, task.callback, MoreExecutors.directExecutor());
+        }
+
+        return future;
+    }
+
+    @NotNull
+    Metrics metricsOf(@NotNull TaskPriority priority) {
+        return poolOf(priority).getMetrics();
+    }
+
+    void shutdownNow() {
+        interactivePool.executor.shutdownNow();
+        bulkPool.executor.shutdownNow();
+    }
+
+    private Pool poolOf(final TaskPriority priority) {
+        return priority == TaskPriority.BULK ? bulkPool : interactivePool;
+    }
+
+    private final class Pool {
+        private final ThreadPoolExecutor executor;
+        private final LatencyRecorder latencies = new LatencyRecorder();
+        private final AtomicLong rejectedCount = new AtomicLong();
+        private final AtomicLong cancelledCount = new AtomicLong();
+
+        private Pool(final String name, final int threads, final int maxQueuedTasks) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                                                   new LinkedBlockingQueue<>(maxQueuedTasks),
+                                                   runnable -> {
+                                                       final Thread thread = new Thread(
+                                                               runnable, name + "-" + threadCount.incrementAndGet());
+                                                       thread.setDaemon(true);
+                                                       return thread;
+                                                   });
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        private <T> ListenableFuture<T> submit(final Task<T> task) {
+            final long submittedTime = System.nanoTime();
+            final ListenableFutureTask<T> futureTask = ListenableFutureTask.create(task);
+
+            futureTask.addListener(() -> {
+                if (futureTask.isCancelled()) {
+                    cancelledCount.incrementAndGet();
+                    // don't leave the cancelled task in the queue to count the depth
+                    executor.remove(futureTask);
+                } else {
+                    latencies.record(System.nanoTime() - submittedTime);
+                }
+            }, MoreExecutors.directExecutor());
+
+            try {
+                executor.execute(futureTask);
+            } catch (final RejectedExecutionException ex) {
+                rejectedCount.incrementAndGet();
+                log().warn("Reject the task " + task.getClass().getSimpleName() + " since "
+                                   + executor.getQueue().size() + " tasks are queued.");
+
+                return Futures.immediateFailedFuture(ex);
+            }
+
+            return futureTask;
+        }
+
+        private Metrics getMetrics() {
+            return new Metrics(executor.getQueue().size(),
+                               executor.getActiveCount(),
+                               executor.getLargestPoolSize(),
+                               executor.getMaximumPoolSize(),
+                               executor.getCompletedTaskCount(),
+                               rejectedCount.get(),
+                               cancelledCount.get(),
+                               latencies.percentileMillis(50),
+                               latencies.percentileMillis(99));
+        }
+    }
+
+    /**
+     * Keeps the latencies of the recent tasks to get the percentiles.
+     */
+    private static final class LatencyRecorder {
+        private static final int SAMPLES = 1024;
+
+        // guarded by this
+        private final long[] samples = new long[SAMPLES];
+        private int count = 0;
+        private int next = 0;
+
+        private synchronized void record(final long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % SAMPLES;
+            count = Math.min(count + 1, SAMPLES);
+        }
+
+        private long percentileMillis(final int percentile) {
+            final long[] sorted;
+            synchronized (this) {
+                sorted = Arrays.copyOf(samples, count);
+            }
+
+            if (sorted.length == 0) {
+                return 0;
+            }
+
+            Arrays.sort(sorted);
+            final int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+
+            return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]);
+        }
+    }
+
+    /**
+     * A snapshot of a task pool's state.
+     */
+    public static final class Metrics {
+        private final int queueDepth;
+        private final int activeThreads;
+        private final int largestPoolSize;
+        private final int maxThreads;
+        private final long completedTasks;
+        private final long rejectedTasks;
+        private final long cancelledTasks;
+        private final long p50LatencyMillis;
+        private final long p99LatencyMillis;
+
+        Metrics(final int queueDepth,
+                final int activeThreads,
+                final int largestPoolSize,
+                final int maxThreads,
+                final long completedTasks,
+                final long rejectedTasks,
+                final long cancelledTasks,
+                final long p50LatencyMillis,
+                final long p99LatencyMillis) {
+            this.queueDepth = queueDepth;
+            this.activeThreads = activeThreads;
+            this.largestPoolSize = largestPoolSize;
+            this.maxThreads = maxThreads;
+            this.completedTasks = completedTasks;
+            this.rejectedTasks = rejectedTasks;
+            this.cancelledTasks = cancelledTasks;
+            this.p50LatencyMillis = p50LatencyMillis;
+            this.p99LatencyMillis = p99LatencyMillis;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public int getActiveThreads() {
+            return activeThreads;
+        }
+
+        public int getLargestPoolSize() {
+            return largestPoolSize;
+        }
+
+        public int getMaxThreads() {
+            return maxThreads;
+        }
+
+        public long getCompletedTasks() {
+            return completedTasks;
+        }
+
+        public long getRejectedTasks() {
+            return rejectedTasks;
+        }
+
+        public long getCancelledTasks() {
+            return cancelledTasks;
+        }
+
+        public long getP50LatencyMillis() {
+            return p50LatencyMillis;
+        }
+
+        public long getP99LatencyMillis() {
+            return p99LatencyMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("queued: %d, active: %d, largest pool: %d/%d, completed: %d, rejected: %d, "
+                                         + "cancelled: %d, latency p50: %dms, p99: %dms",
+                                 queueDepth, activeThreads, largestPoolSize, maxThreads, completedTasks,
+                                 rejectedTasks, cancelledTasks, p50LatencyMillis, p99LatencyMillis);
+        }
     }
 }
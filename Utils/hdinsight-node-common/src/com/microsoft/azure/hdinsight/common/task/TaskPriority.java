@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.common.task;
+
+/**
+ * The kinds of background work, which are run by separated thread pools of {@link TaskExecutor} so that the
+ * interactive work never queues behind the bulk one.
+ */
+public enum TaskPriority {
+    /**
+     * Short lookups which a user is waiting for, such as the REST queries of the job view.
+     */
+    INTERACTIVE,
+
+    /**
+     * Long running I/O, such as uploading, fetching logs or a batch of queries.
+     */
+    BULK
+}
@@ -25,6 +25,11 @@ public class YarnHistoryTask extends Task<String> {
     private final CredentialsProvider credentialsProvider  =  new BasicCredentialsProvider();
     private static final WebClient WEB_CLIENT = new WebClient();
 
+    static {
+        // the connection and socket timeout of the YARN history pages, same as the other REST tasks
+        WEB_CLIENT.getOptions().setTimeout(REQUEST_CONFIG.getSocketTimeout());
+    }
+
     public YarnHistoryTask(@NotNull IClusterDetail clusterDetail, @NotNull String path, @NotNull FutureCallback<String> callback) {
         super(callback);
         this.clusterDetail = clusterDetail;
@@ -36,6 +41,11 @@ public class YarnHistoryTask extends Task<String> {
         }
     }
 
+    @Override
+    public TaskPriority getPriority() {
+        return TaskPriority.BULK;
+    }
+
     @Override
     public String call() throws Exception {
         WEB_CLIENT.setCredentialsProvider(credentialsProvider);
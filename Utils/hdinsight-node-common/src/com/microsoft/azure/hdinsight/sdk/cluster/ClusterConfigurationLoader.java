@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.cluster;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.sdk.common.HDIException;
+import com.microsoft.azuretools.azurecommons.helpers.AzureCmdException;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the configuration of a cluster at most once per time-to-live, for the {@code getConfigurationInfo()} of
+ * clusters which is called by every getter of the credential and storage information.
+ * <ul>
+ *     <li>The first load blocks the callers, and concurrent callers share one request.</li>
+ *     <li>Once loaded, callers get the last-known configuration without blocking. After the time-to-live expires, the
+ *     configuration is refreshed in the background, and the last-known one is kept if the refresh fails.</li>
+ *     <li>Failures of the first load are not cached, the next call loads again.</li>
+ *     <li>{@link #invalidate()} makes the next call block for a new load, as the first load does.</li>
+ * </ul>
+ */
+public class ClusterConfigurationLoader implements ILogger {
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final ExecutorService REFRESH_EXECUTOR = Executors.newFixedThreadPool(2, runnable -> {
+        final Thread thread = new Thread(runnable, "cluster-configuration-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The actual loading of the cluster configuration, which applies the loaded configuration to the cluster.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        void load() throws IOException, HDIException, AzureCmdException;
+    }
+
+    private final String clusterName;
+    private final Loader loader;
+    private final long ttlMillis;
+    private final Executor refreshExecutor;
+
+    private volatile boolean loaded = false;
+    private volatile long loadedTime = 0;
+    // guarded by this
+    @Nullable
+    private CompletableFuture<Void> loading;
+
+    public ClusterConfigurationLoader(final String clusterName, final Loader loader) {
+        this(clusterName, loader, DEFAULT_TTL_MILLIS, REFRESH_EXECUTOR);
+    }
+
+    ClusterConfigurationLoader(final String clusterName,
+                               final Loader loader,
+                               final long ttlMillis,
+                               final Executor refreshExecutor) {
+        this.clusterName = clusterName;
+        this.loader = loader;
+        this.ttlMillis = ttlMillis;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Make sure the configuration is loaded. Only blocks if it has never been loaded successfully.
+     */
+    public void load() throws IOException, HDIException, AzureCmdException {
+        if (loaded) {
+            if (System.currentTimeMillis() - loadedTime >= ttlMillis) {
+                refreshInBackground();
+            }
+
+            return;
+        }
+
+        final CompletableFuture<Void> future;
+        final boolean isOwner;
+        synchronized (this) {
+            isOwner = loading == null;
+            if (isOwner) {
+                loading = new CompletableFuture<>();
+            }
+
+            future = loading;
+        }
+
+        if (isOwner) {
+            runLoading(future);
+        }
+
+        waitFor(future);
+    }
+
+    /**
+     * Drop the loaded configuration, e.g. when the cluster is refreshed by user. The next {@link #load()} blocks for
+     * a new load as the first one does, instead of returning the last-known configuration.
+     */
+    public void invalidate() {
+        loaded = false;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    private void refreshInBackground() {
+        final CompletableFuture<Void> future;
+        synchronized (this) {
+            if (loading != null) {
+                return;
+            }
+
+            future = loading = new CompletableFuture<>();
+        }
+
+        future.whenComplete((any, err) -> {
+            if (err != null) {
+                log().warn("Refresh configuration of cluster " + clusterName + " failed, keep the last-known one. "
+                                   + ExceptionUtils.getStackTrace(err));
+            }
+        });
+
+        refreshExecutor.execute(() -> runLoading(future));
+    }
+
+    private void runLoading(final CompletableFuture<Void> future) {
+        try {
+            loader.load();
+            loadedTime = System.currentTimeMillis();
+            loaded = true;
+            complete(future, null);
+        } catch (final Throwable err) {
+            complete(future, err);
+        }
+    }
+
+    private void complete(final CompletableFuture<Void> future, @Nullable final Throwable err) {
+        synchronized (this) {
+            if (loading == future) {
+                loading = null;
+            }
+        }
+
+        if (err == null) {
+            future.complete(null);
+        } else {
+            future.completeExceptionally(err);
+        }
+    }
+
+    private static void waitFor(final CompletableFuture<Void> future)
+            throws IOException, HDIException, AzureCmdException {
+        try {
+            future.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new HDIException("Interrupted when waiting for the cluster configuration", ex);
+        } catch (final ExecutionException | CompletionException ex) {
+            final Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof HDIException) {
+                throw (HDIException) cause;
+            } else if (cause instanceof AzureCmdException) {
+                throw (AzureCmdException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new HDIException("Failed to load the configuration of cluster", cause);
+        }
+    }
+}
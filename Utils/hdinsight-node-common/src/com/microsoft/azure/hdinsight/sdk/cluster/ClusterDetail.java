@@ -54,9 +54,10 @@ public class ClusterDetail implements IClusterDetail, LivyCluster, YarnCluster,
     private String passWord;
     private IHDIStorageAccount defaultStorageAccount;
     private List<HDStorageAccount> additionalStorageAccounts;
-    private boolean isConfigInfoAvailable = false;
+    private volatile boolean isConfigInfoAvailable = false;
     @Nullable
     private Map<String, String> coresiteMap = null;
+    private final ClusterConfigurationLoader configurationLoader;
 
     public ClusterDetail(SubscriptionDetail paramSubscription,
                          ClusterRawInfo paramClusterRawInfo,
@@ -64,6 +65,7 @@ public class ClusterDetail implements IClusterDetail, LivyCluster, YarnCluster,
         this.subscription = paramSubscription;
         this.clusterRawInfo = paramClusterRawInfo;
         this.clusterOperation = clusterOperation;
+        this.configurationLoader = new ClusterConfigurationLoader(getName(), this::loadConfigurationInfo);
         ExtractInfoFromComputeProfile();
     }
 
@@ -256,62 +258,69 @@ public class ClusterDetail implements IClusterDetail, LivyCluster, YarnCluster,
         }
     }
 
+    /**
+     * Load the cluster configuration, which is cached and refreshed in the background by
+     * {@link ClusterConfigurationLoader}, only the first successful call blocks for the request.
+     */
     public void getConfigurationInfo() throws IOException, HDIException, AzureCmdException {
-        // If exception happens, isConfigInfoAvailable is still false, which means
-        // next time we call getConfigurationInfo(), load configuration codes will still be executed.
-        if (!isConfigInfoAvailable()) {
-            String userName = null;
-            String passWord = null;
-            Map<String, String> coresiteMap = null;
-            IHDIStorageAccount defaultStorageAccount = null;
-            List<HDStorageAccount> additionalStorageAccounts = null;
-
-            ClusterConfiguration clusterConfiguration =
-                    clusterOperation.getClusterConfiguration(subscription, clusterRawInfo.getId());
-            if (clusterConfiguration != null && clusterConfiguration.getConfigurations() != null) {
-                Configurations configurations = clusterConfiguration.getConfigurations();
-                Gateway gateway = configurations.getGateway();
-                if (gateway != null) {
-                    userName = gateway.getUsername();
-                    passWord = gateway.getPassword();
-                }
+        configurationLoader.load();
+    }
 
-                Map<String, String> coresSiteMap = configurations.getCoresite();
-                ClusterIdentity clusterIdentity = configurations.getClusterIdentity();
-                if (coresSiteMap != null) {
-                    coresiteMap = coresSiteMap;
-                    try {
-                        defaultStorageAccount = getDefaultStorageAccount(coresSiteMap, clusterIdentity);
-                    } catch (HDIException exp) {
-                        String errMsg = String.format("Encounter exception when getting storage configuration for cluster name:%s,type:%s,location:%s," +
-                                        "state:%s,version:%s,osType:%s,kind:%s,spark version:%s",
-                                clusterRawInfo.getName(),
-                                clusterRawInfo.getType(),
-                                clusterRawInfo.getLocation(),
-                                clusterRawInfo.getProperties().getClusterState(),
-                                clusterRawInfo.getProperties().getClusterVersion(),
-                                clusterRawInfo.getProperties().getOsType(),
-                                clusterRawInfo.getProperties().getClusterDefinition().getKind(),
-                                clusterRawInfo.getProperties().getClusterDefinition().getComponentVersion().getSpark());
-                        log().warn(errMsg, exp);
-                        throw new HDIException(errMsg, exp);
-                    }
-
-                    additionalStorageAccounts = getAdditionalStorageAccounts(coresSiteMap);
-                }
+    @Override
+    public void invalidateConfigurationInfo() {
+        configurationLoader.invalidate();
+    }
+
+    private void loadConfigurationInfo() throws IOException, HDIException, AzureCmdException {
+        String userName = null;
+        String passWord = null;
+        Map<String, String> coresiteMap = null;
+        IHDIStorageAccount defaultStorageAccount = null;
+        List<HDStorageAccount> additionalStorageAccounts = null;
+
+        ClusterConfiguration clusterConfiguration =
+                clusterOperation.getClusterConfiguration(subscription, clusterRawInfo.getId());
+        if (clusterConfiguration != null && clusterConfiguration.getConfigurations() != null) {
+            Configurations configurations = clusterConfiguration.getConfigurations();
+            Gateway gateway = configurations.getGateway();
+            if (gateway != null) {
+                userName = gateway.getUsername();
+                passWord = gateway.getPassword();
             }
 
-            synchronized (this) {
-                if (!isConfigInfoAvailable()) {
-                    this.userName = userName;
-                    this.passWord = passWord;
-                    this.coresiteMap = coresiteMap;
-                    this.defaultStorageAccount = defaultStorageAccount;
-                    this.additionalStorageAccounts = additionalStorageAccounts;
-                    isConfigInfoAvailable = true;
+            Map<String, String> coresSiteMap = configurations.getCoresite();
+            ClusterIdentity clusterIdentity = configurations.getClusterIdentity();
+            if (coresSiteMap != null) {
+                coresiteMap = coresSiteMap;
+                try {
+                    defaultStorageAccount = getDefaultStorageAccount(coresSiteMap, clusterIdentity);
+                } catch (HDIException exp) {
+                    String errMsg = String.format("Encounter exception when getting storage configuration for cluster name:%s,type:%s,location:%s," +
+                                    "state:%s,version:%s,osType:%s,kind:%s,spark version:%s",
+                            clusterRawInfo.getName(),
+                            clusterRawInfo.getType(),
+                            clusterRawInfo.getLocation(),
+                            clusterRawInfo.getProperties().getClusterState(),
+                            clusterRawInfo.getProperties().getClusterVersion(),
+                            clusterRawInfo.getProperties().getOsType(),
+                            clusterRawInfo.getProperties().getClusterDefinition().getKind(),
+                            clusterRawInfo.getProperties().getClusterDefinition().getComponentVersion().getSpark());
+                    log().warn(errMsg, exp);
+                    throw new HDIException(errMsg, exp);
                 }
+
+                additionalStorageAccounts = getAdditionalStorageAccounts(coresSiteMap);
             }
         }
+
+        synchronized (this) {
+            this.userName = userName;
+            this.passWord = passWord;
+            this.coresiteMap = coresiteMap;
+            this.defaultStorageAccount = defaultStorageAccount;
+            this.additionalStorageAccounts = additionalStorageAccounts;
+            isConfigInfoAvailable = true;
+        }
     }
 
     @Nullable
@@ -97,6 +97,12 @@ public interface IClusterDetail extends ComparableCluster {
     default void getConfigurationInfo() throws IOException, HDIException, AzureCmdException {
     }
 
+    /**
+     * Drop the cached configuration information, so that the next {@link #getConfigurationInfo()} loads it again.
+     */
+    default void invalidateConfigurationInfo() {
+    }
+
     default String getSparkVersion() {
         return null;
     }
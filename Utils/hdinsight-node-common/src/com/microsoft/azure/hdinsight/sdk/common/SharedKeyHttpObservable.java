@@ -19,6 +19,7 @@ import org.apache.http.message.HeaderGroup;
 import rx.Observable;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -69,9 +70,12 @@ public class SharedKeyHttpObservable extends HttpObservable {
         ofNullable(addOrReplaceHeaders).orElse(emptyList()).forEach(headerGroup::addHeader);
         String key = cred.generateSharedKey(httpRequest, headerGroup, ofNullable(parameters).orElse(emptyList()));
 
-        getDefaultHeaderGroup().updateHeader(new BasicHeader("Authorization", key));
+        // The signature is sent with this request only instead of being set to the shared default headers, so that
+        // concurrent requests can't send each other's signature
+        final List<Header> signedHeaders = new ArrayList<>(ofNullable(addOrReplaceHeaders).orElse(emptyList()));
+        signedHeaders.add(new BasicHeader("Authorization", key));
 
-        return super.request(httpRequest, entity, ofNullable(parameters).orElse(emptyList()), ofNullable(addOrReplaceHeaders).orElse(emptyList()));
+        return super.request(httpRequest, entity, ofNullable(parameters).orElse(emptyList()), signedHeaders);
     }
 
     @Override
@@ -306,7 +306,10 @@ public class AzureSparkCosmosCluster extends SparkCluster
     @NotNull
     private final AzureHttpObservable http;
 
-    private boolean isConfigInfoAvailable = false;
+    private volatile boolean isConfigInfoAvailable = false;
+
+    @NotNull
+    private final ClusterConfigurationLoader configurationLoader;
 
     public AzureSparkCosmosCluster(@NotNull AzureSparkServerlessAccount azureSparkServerlessAccount, @NotNull String guid) {
         this.account = azureSparkServerlessAccount;
@@ -319,6 +322,7 @@ public class AzureSparkCosmosCluster extends SparkCluster
                 azureSparkServerlessAccount.getSubscription().getSubscriptionId());
 
         this.http = new AzureDataLakeHttpObservable(azureSparkServerlessAccount.getSubscription().getTenantId(), ApiVersion.VERSION);
+        this.configurationLoader = new ClusterConfigurationLoader(guid, () -> get().toBlocking().subscribe());
 
         // FIXME with Enum type
         this.state = "unknown";
@@ -543,9 +547,14 @@ public class AzureSparkCosmosCluster extends SparkCluster
     }
 
     @Override
-    public synchronized void getConfigurationInfo() throws IOException, HDIException, AzureCmdException {
-        // Get the information from the server, block.
-        get().toBlocking().subscribe();
+    public void getConfigurationInfo() throws IOException, HDIException, AzureCmdException {
+        // Only blocks for the first load, the last-known information is refreshed in the background after expired
+        configurationLoader.load();
+    }
+
+    @Override
+    public void invalidateConfigurationInfo() {
+        configurationLoader.invalidate();
     }
 
     @Nullable
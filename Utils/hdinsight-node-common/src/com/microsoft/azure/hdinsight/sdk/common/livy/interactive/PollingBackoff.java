@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.common.livy.interactive;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func1;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delays between polls of Livy resources, which start short so that quick statements are got back in tens of
+ * milliseconds, and double up to {@link #MAX_DELAY_MILLIS} so that long running ones don't flood the service.
+ */
+public final class PollingBackoff {
+    static final long INITIAL_DELAY_MILLIS = 50;
+    static final long MAX_DELAY_MILLIS = 2000;
+
+    private PollingBackoff() {
+    }
+
+    /**
+     * @param attempt the count of polls already sent, starting from 0
+     * @return the delay in milliseconds before the next poll
+     */
+    public static long delayOf(final int attempt) {
+        return Math.min(MAX_DELAY_MILLIS, INITIAL_DELAY_MILLIS << Math.min(attempt, 16));
+    }
+
+    /**
+     * A handler for {@link Observable#repeatWhen(Func1)} to repeat with the backoff delays.
+     */
+    static Func1<Observable<? extends Void>, Observable<?>> repeatWithBackoff(final Scheduler scheduler) {
+        return completions -> completions
+                .zipWith(Observable.range(0, Integer.MAX_VALUE), (completion, attempt) -> attempt)
+                .flatMap(attempt -> Observable.timer(delayOf(attempt), TimeUnit.MILLISECONDS, scheduler));
+    }
+}
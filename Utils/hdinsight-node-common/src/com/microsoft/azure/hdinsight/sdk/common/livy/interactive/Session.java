@@ -18,6 +18,7 @@ import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.exceptions.Stat
 import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.SessionKind;
 import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.SessionState;
 import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.api.PostSessions;
+import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.api.session.GetStatementsResponse;
 import com.microsoft.azure.hdinsight.spark.common.Deployable;
 import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
@@ -25,7 +26,9 @@ import com.microsoft.azuretools.telemetry.AppInsightsClient;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.http.NameValuePair;
 import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicNameValuePair;
 import rx.Observable;
 import rx.Scheduler;
 import rx.schedulers.Schedulers;
@@ -74,6 +77,9 @@ public abstract class Session implements AutoCloseable, Closeable, ILogger {
 
     private final List<String> artifactsToDeploy = new ArrayList<>(); // Artifacts to deploy
 
+    private final StatementResultPoller statementResultPoller =     // Poller of running statements' results
+            new StatementResultPoller(this, Schedulers.computation());
+
     public static class CreateParameters {
         public static final String DRIVER_MEMORY = "driverMemory";
         public static final String DRIVER_MEMORY_DEFAULT_VALUE = "4G";
@@ -303,6 +309,8 @@ public abstract class Session implements AutoCloseable, Closeable, ILogger {
     }
 
     private final CreateParameters createParameters;
+    @Nullable
+    private final String username;
 
     final private PublishSubject<SparkLogLine> ctrlSubject;
 
@@ -329,6 +337,7 @@ public abstract class Session implements AutoCloseable, Closeable, ILogger {
         this.baseUrl = baseUrl;
         this.lastState = SessionState.NOT_STARTED;
         this.createParameters = createParameters;
+        this.username = username;
 
         if (username == null || password == null) {
             this.http = new HttpObservable();
@@ -366,7 +375,7 @@ public abstract class Session implements AutoCloseable, Closeable, ILogger {
         return appId != null ?
                Observable.just(appId) :
                this.get()
-                   .repeatWhen(ob -> ob.delay(1, TimeUnit.SECONDS))
+                   .repeatWhen(PollingBackoff.repeatWithBackoff(Schedulers.computation()))
                    .takeUntil(session -> session.appId != null)
                    .filter(session -> session.appId != null)
                    .timeout(3, TimeUnit.MINUTES)
@@ -390,6 +399,11 @@ public abstract class Session implements AutoCloseable, Closeable, ILogger {
         return createParameters;
     }
 
+    @Nullable
+    public String getUsername() {
+        return username;
+    }
+
     @Nullable
     public Deployable getDeploy() {
         return deploy;
@@ -427,6 +441,10 @@ public abstract class Session implements AutoCloseable, Closeable, ILogger {
         return ctrlSubject;
     }
 
+    StatementResultPoller getStatementResultPoller() {
+        return statementResultPoller;
+    }
+
     /*
      * Overrides
      */
@@ -596,6 +614,29 @@ public abstract class Session implements AutoCloseable, Closeable, ILogger {
                 .get(uri.toString(), null, null, com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Session.class);
     }
 
+    /**
+     * To get the statements of a session in one request.
+     *
+     * @param from the first statement ID to fetch, ignored by Livy servers not supporting paging of statements
+     * @return the statements with ID not less than {@code from}, in ID order
+     */
+    public Observable<List<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement>> getStatements(final int from) {
+        final URI uri = URI.create(getUri().toString() + "/" + Statement.REST_SEGMENT_STATEMENTS);
+        final List<NameValuePair> parameters = Collections.singletonList(
+                new BasicNameValuePair("from", String.valueOf(from)));
+
+        return getHttp()
+                .setUserAgent(getUserAgent())
+                .get(uri.toString(), parameters, null, GetStatementsResponse.class)
+                .map(resp -> Optional.ofNullable(resp.getStatements())
+                        .orElse(Collections.emptyList())
+                        .stream()
+                        .filter(statement -> statement.getId() >= from)
+                        .sorted(Comparator.comparingInt(
+                                com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement::getId))
+                        .collect(Collectors.toList()));
+    }
+
     public Observable<Map<String, String>> runStatement(final Statement statement) {
         return awaitReady()
                 .flatMap(session -> statement
@@ -614,14 +655,15 @@ public abstract class Session implements AutoCloseable, Closeable, ILogger {
         return get()
                 .repeatWhen(ob -> scheduler != null ?
                                   // Use specified scheduler to delay
-                                  ob.doOnNext(any -> {
-                                      try {
-                                          sleep(1000);
-                                      } catch (InterruptedException ignored) {
-                                      }
-                                  }) :
+                                  ob.zipWith(Observable.range(0, Integer.MAX_VALUE), (any, attempt) -> attempt)
+                                    .doOnNext(attempt -> {
+                                        try {
+                                            sleep(PollingBackoff.delayOf(attempt));
+                                        } catch (InterruptedException ignored) {
+                                        }
+                                    }) :
                                   // Use the default delay scheduler if scheduler not specified
-                                  ob.delay(1, TimeUnit.SECONDS),
+                                  PollingBackoff.repeatWithBackoff(Schedulers.computation()).call(ob),
                             scheduler != null ? scheduler : Schedulers.trampoline())
                 .takeUntil(Session::isStatementRunnable)
                 .reduce(new ImmutablePair<>(this, getLastLogs()), (sesLogsPair, ses) -> {
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.common.livy.interactive;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azuretools.authmanage.AuthMethodManager;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static rx.exceptions.Exceptions.propagate;
+
+/**
+ * A pool of warm Livy interactive sessions for the tool's own helper work, such as uploading artifacts through a
+ * session. Starting a session takes a Yarn application which costs 30 ~ 90 seconds, so a session is returned to the
+ * pool after the work completes and the next work with the same key (cluster and session configuration) reuses it.
+ * <ul>
+ *     <li>A session is leased exclusively, the work never shares a session with other work running at the same time.
+ *     </li>
+ *     <li>A session idle for more than the idle timeout is killed, at most {@link #MAX_IDLE_SESSIONS_PER_KEY} idle
+ *     sessions are kept per key.</li>
+ *     <li>A session idle for more than the health check interval is checked before being leased again, and killed if
+ *     it's not able to run statements anymore.</li>
+ *     <li>A session is killed rather than returned if the work fails or is cancelled, since its state is unknown.</li>
+ * </ul>
+ */
+public class SessionPool implements ILogger {
+    static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    static final long DEFAULT_HEALTH_CHECK_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    static final int MAX_IDLE_SESSIONS_PER_KEY = 2;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final long idleTimeoutMillis;
+    private final long healthCheckIntervalMillis;
+    // guarded by this
+    private final Map<String, Deque<IdleSession>> idleSessions = new HashMap<>();
+    private final ScheduledExecutorService reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "livy-session-pool-reaper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    SessionPool(final long idleTimeoutMillis, final long healthCheckIntervalMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.healthCheckIntervalMillis = healthCheckIntervalMillis;
+
+        final long reapIntervalMillis = Math.max(1000, idleTimeoutMillis / 2);
+        reaper.scheduleWithFixedDelay(this::reapIdleSessions,
+                                      reapIntervalMillis, reapIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static SessionPool getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Get the pool key of sessions to the Livy service, sessions are only shared by work with the same key.
+     *
+     * @param session the session instance to be created by the pool, the key is derived from its Livy URL, user and
+     *                the session options it posts
+     * @return the pool key
+     */
+    public static String keyOf(final Session session) {
+        return keyOf(session.getBaseUrl(), session.getUsername(), session.getCreateParameters());
+    }
+
+    private static String keyOf(final URI baseUrl,
+                                final @Nullable String username,
+                                final Session.CreateParameters createParameters) {
+        final String config = createParameters.build()
+                                              .convertToJson()
+                                              .orElseThrow(() -> new IllegalArgumentException(
+                                                      "Bad session arguments to post."));
+
+        return String.join("\n", baseUrl.toString(), StringUtils.defaultString(username), config);
+    }
+
+    /**
+     * Do the work with a session leased from the pool, a new session is created by the factory if there is no
+     * idle session with the key. The session is returned to the pool once the work completes.
+     *
+     * @param key            the pool key, see {@link #keyOf(Session)}
+     * @param sessionFactory to create a session instance when there is no idle one, the session will be created
+     *                       on the Livy service by the pool
+     * @param work           the work to do with the leased session
+     * @return the result of the work
+     */
+    public <T> Observable<T> use(final String key,
+                                 final Func0<? extends Session> sessionFactory,
+                                 final Func1<? super Session, ? extends Observable<T>> work) {
+        return acquire(key, sessionFactory)
+                .flatMap(session -> Observable.using(
+                        () -> new Lease(key, session),
+                        lease -> work.call(session).doOnCompleted(lease::complete),
+                        Lease::release));
+    }
+
+    /**
+     * Kill all idle sessions.
+     */
+    public void clear() {
+        final List<Session> toKill = new ArrayList<>();
+        synchronized (this) {
+            idleSessions.values().forEach(sessions -> sessions.forEach(idle -> toKill.add(idle.session)));
+            idleSessions.clear();
+        }
+
+        toKill.forEach(this::killInBackground);
+    }
+
+    /**
+     * Kill all idle sessions and wait a while for the kill requests, before the IDE exits.
+     */
+    void shutdown() {
+        clear();
+        reaper.shutdown();
+
+        try {
+            reaper.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    synchronized int getIdleSessionCount(final String key) {
+        final Deque<IdleSession> sessions = idleSessions.get(key);
+
+        return sessions == null ? 0 : sessions.size();
+    }
+
+    private Observable<Session> acquire(final String key, final Func0<? extends Session> sessionFactory) {
+        return Observable.defer(() -> {
+            final IdleSession idle = pollIdleSession(key);
+
+            if (idle == null) {
+                return sessionFactory.call().create();
+            }
+
+            if (System.currentTimeMillis() - idle.returnedTime < healthCheckIntervalMillis) {
+                return Observable.just(idle.session);
+            }
+
+            return idle.session
+                    .get()
+                    .map(session -> {
+                        if (!session.isStatementRunnable()) {
+                            throw propagate(new IllegalStateException(
+                                    "Session " + session.getName() + " is " + session.getLastState()));
+                        }
+
+                        return session;
+                    })
+                    .onErrorResumeNext(err -> {
+                        log().info("Drop the unhealthy pooled Livy session " + idle.session.getUri() + ": " + err);
+                        killInBackground(idle.session);
+
+                        // try the next idle session or create a new one
+                        return acquire(key, sessionFactory);
+                    });
+        });
+    }
+
+    @Nullable
+    private synchronized IdleSession pollIdleSession(final String key) {
+        final Deque<IdleSession> sessions = idleSessions.get(key);
+
+        while (sessions != null && !sessions.isEmpty()) {
+            // the most recently used session first, which is the most likely to be healthy
+            final IdleSession idle = sessions.pollFirst();
+
+            if (!idle.isExpired()) {
+                return idle;
+            }
+
+            killInBackground(idle.session);
+        }
+
+        return null;
+    }
+
+    private void giveBack(final String key, final Session session) {
+        synchronized (this) {
+            final Deque<IdleSession> sessions = idleSessions.computeIfAbsent(key, k -> new ArrayDeque<>());
+
+            if (sessions.size() < MAX_IDLE_SESSIONS_PER_KEY) {
+                sessions.addFirst(new IdleSession(session));
+                return;
+            }
+        }
+
+        killInBackground(session);
+    }
+
+    private void reapIdleSessions() {
+        final List<Session> toKill = new ArrayList<>();
+        synchronized (this) {
+            for (final Iterator<Deque<IdleSession>> keys = idleSessions.values().iterator(); keys.hasNext(); ) {
+                final Deque<IdleSession> sessions = keys.next();
+
+                sessions.removeIf(idle -> idle.isExpired() && toKill.add(idle.session));
+
+                if (sessions.isEmpty()) {
+                    keys.remove();
+                }
+            }
+        }
+
+        toKill.forEach(session -> {
+            log().info("Kill the idle pooled Livy session " + session.getUri());
+            session.close();
+        });
+    }
+
+    private void killInBackground(final Session session) {
+        reaper.execute(() -> {
+            try {
+                session.close();
+            } catch (final Exception ex) {
+                log().warn("Kill pooled Livy session failed. " + ExceptionUtils.getStackTrace(ex));
+            }
+        });
+    }
+
+    private final class Lease {
+        private final String key;
+        private final Session session;
+        private boolean completed = false;
+        private boolean released = false;
+
+        private Lease(final String key, final Session session) {
+            this.key = key;
+            this.session = session;
+        }
+
+        private synchronized void complete() {
+            completed = true;
+        }
+
+        private synchronized void release() {
+            if (released) {
+                return;
+            }
+
+            released = true;
+
+            if (completed && !session.isStop()) {
+                giveBack(key, session);
+            } else {
+                killInBackground(session);
+            }
+        }
+    }
+
+    private final class IdleSession {
+        private final Session session;
+        private final long returnedTime = System.currentTimeMillis();
+
+        private IdleSession(final Session session) {
+            this.session = session;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - returnedTime >= idleTimeoutMillis;
+        }
+    }
+
+    private static final class SingletonHolder {
+        private static final SessionPool INSTANCE = create();
+
+        private static SessionPool create() {
+            final SessionPool pool = new SessionPool(DEFAULT_IDLE_TIMEOUT_MILLIS, DEFAULT_HEALTH_CHECK_INTERVAL_MILLIS);
+
+            // idle sessions hold Yarn containers, don't leave them to Livy's session timeout
+            AuthMethodManager.getInstance().addSignOutEventListener(pool::clear);
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "livy-session-pool-shutdown"));
+
+            return pool;
+        }
+    }
+}
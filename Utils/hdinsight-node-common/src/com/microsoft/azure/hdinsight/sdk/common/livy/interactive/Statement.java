@@ -22,7 +22,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.TimeUnit;
 
 public class Statement implements ILogger {
     public static final String REST_SEGMENT_STATEMENTS = "statements";
@@ -118,12 +117,9 @@ public class Statement implements ILogger {
     public Observable<StatementOutput> run() {
         return runStatementRequest()
                 .map(this::updateWithResponse)
-                .flatMap(statement -> statement.get()                    // Get statement result
-                        .repeatWhen(ob -> ob.delay(1, TimeUnit.SECONDS)) // The unmet state won't trigger retries,
-                                                                         // which is handled by repeatWhen()
-                        .takeUntil(Statement::isDone)
-                        .filter(Statement::isDone)
-                )
+                // The results of outstanding statements in the session are polled together with adaptive delays
+                .flatMap(statement -> getSession().getStatementResultPoller().await(statement.id))
+                .map(this::updateWithResponse)
                 .map(Statement::getOutput);
     }
 
@@ -183,7 +179,7 @@ public class Statement implements ILogger {
                 .defaultIfEmpty(this);
     }
 
-    private Observable<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement> getStatementRequest() {
+    Observable<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement> getStatementRequest() {
         URI uri;
 
         try {
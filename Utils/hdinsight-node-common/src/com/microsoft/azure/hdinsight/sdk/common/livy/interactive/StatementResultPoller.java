@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.common.livy.interactive;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.sdk.common.errorresponse.HttpErrorStatus;
+import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.StatementState;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.http.HttpStatus;
+import rx.Observable;
+import rx.Scheduler;
+import rx.subjects.AsyncSubject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the results of all outstanding statements of a session together, with one
+ * {@code GET /sessions/{id}/statements} request per round instead of one request per statement. The delay between
+ * rounds follows {@link PollingBackoff}, and is reset when a new statement is submitted.
+ *
+ * If the listing isn't supported by the Livy service or misses a statement, the statement is polled individually.
+ * A failed listing is retried in the next round, and a failed individual poll only fails its own statement.
+ */
+class StatementResultPoller implements ILogger {
+    private final Session session;
+    private final Scheduler scheduler;
+
+    // guarded by this
+    private final Map<Integer, AsyncSubject<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement>> pending =
+            new TreeMap<>();
+    private boolean polling = false;
+    private int attempt = 0;
+    private volatile boolean listingSupported = true;
+
+    StatementResultPoller(final Session session, final Scheduler scheduler) {
+        this.session = session;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Wait for the statement to be done (available, error or cancelled).
+     *
+     * @param statementId the ID of the submitted statement
+     * @return the done statement
+     */
+    Observable<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement> await(final int statementId) {
+        final AsyncSubject<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement> result;
+        final boolean start;
+
+        synchronized (this) {
+            result = pending.computeIfAbsent(statementId, id -> AsyncSubject.create());
+            // a new statement is likely to be a quick one, poll sooner
+            attempt = 0;
+            start = !polling;
+            polling = true;
+        }
+
+        if (start) {
+            schedulePoll();
+        }
+
+        return result.asObservable();
+    }
+
+    private void schedulePoll() {
+        final long delay;
+        final Set<Integer> ids;
+
+        synchronized (this) {
+            delay = PollingBackoff.delayOf(attempt++);
+            ids = new HashSet<>(pending.keySet());
+        }
+
+        Observable.timer(delay, TimeUnit.MILLISECONDS, scheduler)
+                  .flatMap(any -> poll(ids))
+                  .subscribe(round -> dispatch(round.left, round.right), this::retry);
+    }
+
+    /**
+     * @return the statements got in the round, and the errors of the statements failed to poll
+     */
+    private Observable<ImmutablePair<List<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement>, Map<Integer, Throwable>>> poll(
+            final Set<Integer> ids) {
+        final int from = ids.stream().mapToInt(Integer::intValue).min().orElse(0);
+        final Observable<List<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement>> listed =
+                listingSupported
+                ? session.getStatements(from)
+                         .onErrorReturn(err -> {
+                             if (isListingUnsupported(err)) {
+                                 log().debug("Listing statements of session " + session.getId()
+                                                     + " isn't supported, poll them one by one. " + err);
+                                 listingSupported = false;
+                             } else {
+                                 log().debug("Listing statements of session " + session.getId()
+                                                     + " failed, poll them one by one in this round. " + err);
+                             }
+
+                             return new ArrayList<>();
+                         })
+                : Observable.just(new ArrayList<>());
+
+        return listed.flatMap(statements -> {
+            final Set<Integer> missing = new HashSet<>(ids);
+            statements.forEach(statement -> missing.remove(statement.getId()));
+            final Map<Integer, Throwable> failures = new HashMap<>();
+
+            if (missing.isEmpty()) {
+                return Observable.just(ImmutablePair.of(statements, failures));
+            }
+
+            return Observable.from(missing)
+                             .concatMap(id -> new Statement(session, id)
+                                     .getStatementRequest()
+                                     .onErrorResumeNext(err -> {
+                                         failures.put(id, err);
+
+                                         return Observable.empty();
+                                     }))
+                             .toList()
+                             .map(polled -> {
+                                 final List<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement> all =
+                                         new ArrayList<>(statements);
+                                 all.addAll(polled);
+
+                                 return ImmutablePair.of(all, failures);
+                             });
+        });
+    }
+
+    private void dispatch(final List<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement> statements,
+                          final Map<Integer, Throwable> failures) {
+        final List<ImmutablePair<AsyncSubject<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement>,
+                com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement>> done = new ArrayList<>();
+        final List<ImmutablePair<AsyncSubject<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement>,
+                Throwable>> failed = new ArrayList<>();
+        final boolean continuePolling;
+
+        synchronized (this) {
+            for (final com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement statement : statements) {
+                if (isDone(statement.getState())) {
+                    final AsyncSubject<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement> result =
+                            pending.remove(statement.getId());
+
+                    if (result != null) {
+                        done.add(ImmutablePair.of(result, statement));
+                    }
+                }
+            }
+
+            failures.forEach((id, err) -> {
+                final AsyncSubject<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement> result =
+                        pending.remove(id);
+
+                if (result != null) {
+                    failed.add(ImmutablePair.of(result, err));
+                }
+            });
+
+            polling = !pending.isEmpty();
+            continuePolling = polling;
+        }
+
+        done.forEach(pair -> {
+            pair.left.onNext(pair.right);
+            pair.left.onCompleted();
+        });
+        failed.forEach(pair -> pair.left.onError(pair.right));
+
+        if (continuePolling) {
+            schedulePoll();
+        }
+    }
+
+    private void retry(final Throwable err) {
+        // the errors of requests are handled in the round, keep the pending statements polled with the backoff
+        log().warn("Polling statements of session " + session.getId() + " failed, retry in the next round. " + err);
+
+        synchronized (this) {
+            polling = !pending.isEmpty();
+            if (!polling) {
+                return;
+            }
+        }
+
+        schedulePoll();
+    }
+
+    private static boolean isListingUnsupported(final Throwable err) {
+        if (!(err instanceof HttpErrorStatus)) {
+            return false;
+        }
+
+        final int statusCode = ((HttpErrorStatus) err).getStatusCode();
+
+        return statusCode == HttpStatus.SC_NOT_FOUND ||
+                statusCode == HttpStatus.SC_METHOD_NOT_ALLOWED ||
+                statusCode == HttpStatus.SC_NOT_IMPLEMENTED;
+    }
+
+    private static boolean isDone(final StatementState state) {
+        return state == StatementState.AVAILABLE ||
+                state == StatementState.ERROR ||
+                state == StatementState.CANCELLED;
+    }
+}
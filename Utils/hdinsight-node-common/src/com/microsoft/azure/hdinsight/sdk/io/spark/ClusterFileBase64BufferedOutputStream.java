@@ -23,6 +23,8 @@ public class ClusterFileBase64BufferedOutputStream extends OutputStream {
     @NotNull
     private final ByteBuffer buf;
 
+    private final boolean closeSession;     // whether to kill the session when the stream is closed
+
     private final String preloadedCodes = String.join("\n",
             "import java.io._",
             "import java.util.Base64",
@@ -40,7 +42,18 @@ public class ClusterFileBase64BufferedOutputStream extends OutputStream {
 
 
     public ClusterFileBase64BufferedOutputStream(@NotNull Session session, @NotNull URI destination, final int blockSizeKB) {
+        this(session, destination, blockSizeKB, true);
+    }
+
+    /**
+     * @param closeSession false to keep the session alive after the stream is closed, e.g. a pooled session
+     */
+    public ClusterFileBase64BufferedOutputStream(@NotNull Session session,
+                                                 @NotNull URI destination,
+                                                 final int blockSizeKB,
+                                                 final boolean closeSession) {
         this.session = session;
+        this.closeSession = closeSession;
         this.buf = ByteBuffer.allocate(blockSizeKB * 1024); // Due to BASE64 requirement, the block size
                                                             // must be aligned to 4 bytes
 
@@ -54,6 +67,12 @@ public class ClusterFileBase64BufferedOutputStream extends OutputStream {
         this(session, destination, DEFAULT_BLOCK_SIZE_KB);
     }
 
+    public ClusterFileBase64BufferedOutputStream(@NotNull Session session,
+                                                 @NotNull URI destination,
+                                                 final boolean closeSession) {
+        this(session, destination, DEFAULT_BLOCK_SIZE_KB, closeSession);
+    }
+
     @Override
     public void close() throws IOException {
         flush();
@@ -62,7 +81,9 @@ public class ClusterFileBase64BufferedOutputStream extends OutputStream {
                 .toBlocking()
                 .singleOrDefault(null);
 
-        session.close();
+        if (closeSession) {
+            session.close();
+        }
         super.close();
     }
 
@@ -5,17 +5,29 @@
 
 package com.microsoft.azure.hdinsight.sdk.rest;
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.CollectionType;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.protocol.HTTP;
 import org.apache.http.util.EntityUtils;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -48,9 +60,13 @@ public final class ObjectConvertUtils {
 
         switch (type) {
             case "application/json" :
-                return convertJsonToObject(EntityUtils.toString(entity), clazz);
+                try (final Reader reader = getEntityReader(entity)) {
+                    return Optional.ofNullable(objectMapper.readValue(jsonFactory.createParser(reader), clazz));
+                }
             case "application/xml" :
-                return convertXmlToObject(EntityUtils.toString(entity), clazz);
+                try (final Reader reader = getEntityReader(entity)) {
+                    return Optional.ofNullable(xmlMapper.readValue(reader, clazz));
+                }
             default:
         }
         return Optional.empty();
@@ -63,16 +79,45 @@ public final class ObjectConvertUtils {
         //   Content-Type: application/xml; charset=UTF-8
         final String type = entity.getContentType().getValue().toLowerCase().split(";")[0].trim();
 
+        final CollectionType listType = TypeFactory.defaultInstance().constructCollectionType(List.class, clazz);
+
         switch (type) {
             case "application/json" :
-                return convertJsonToList(EntityUtils.toString(entity), clazz);
+                try (final Reader reader = getEntityReader(entity)) {
+                    return Optional.ofNullable(objectMapper.readValue(jsonFactory.createParser(reader), listType));
+                }
             case "application/xml" :
-                return convertXmlToList(EntityUtils.toString(entity), clazz);
+                try (final Reader reader = getEntityReader(entity)) {
+                    return Optional.ofNullable(xmlMapper.readValue(reader, listType));
+                }
             default:
         }
         return Optional.empty();
     }
 
+    /**
+     * Get a reader over the entity content stream to parse the entity without materializing it as a String.
+     * The charset is decided the same as {@link EntityUtils#toString(HttpEntity)} does: the charset parameter of the
+     * Content-Type header, or the default one of the MIME type (e.g. UTF-8 for application/json), or ISO-8859-1.
+     */
+    @NotNull
+    private static Reader getEntityReader(@NotNull HttpEntity entity) throws IOException {
+        final InputStream content = entity.getContent();
+        if (content == null) {
+            throw new IOException("The HTTP entity has no content");
+        }
+
+        final ContentType contentType = ContentType.get(entity);
+        final Charset charset = Optional.ofNullable(contentType)
+                                        .map(ContentType::getCharset)
+                                        .orElseGet(() -> Optional.ofNullable(contentType)
+                                                                 .map(type -> ContentType.getByMimeType(type.getMimeType()))
+                                                                 .map(ContentType::getCharset)
+                                                                 .orElse(HTTP.DEF_CONTENT_CHARSET));
+
+        return new BufferedReader(new InputStreamReader(content, charset));
+    }
+
     public static <T> Optional<List<T>> convertJsonToList(@NotNull String jsonString, Class<T> clazz) throws IOException {
         List<T> myLists = objectMapper.readValue(jsonString, TypeFactory.defaultInstance().constructCollectionType(List.class, clazz));
         return Optional.ofNullable(myLists);
@@ -102,6 +147,16 @@ public final class ObjectConvertUtils {
         return Optional.empty();
     }
 
+    /**
+     * Write the object as JSON into the stream directly, without building the whole JSON string in memory.
+     * The stream is left open.
+     */
+    public static <T> void convertObjectToJsonStream(@Nullable T obj, @NotNull OutputStream out) throws IOException {
+        final JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        objectMapper.writeValue(generator, obj);
+    }
+
     public static <T> Optional<String> convertObjectToXmlString(@NotNull T obj) {
         try {
             return Optional.ofNullable(xmlMapper.writeValueAsString(obj));
@@ -5,6 +5,7 @@
 
 package com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.api.session;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.microsoft.azure.hdinsight.sdk.rest.IConvertible;
 import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Statement;
 
@@ -22,9 +23,10 @@ import java.util.List;
  *   GET
  *
  * Query Parameters Supported
- *   None
+ *   from (since Livy 0.5), size (since Livy 0.5)
  */
 
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class GetStatementsResponse implements IConvertible {
     private List<Statement> statements;     // statement list
 
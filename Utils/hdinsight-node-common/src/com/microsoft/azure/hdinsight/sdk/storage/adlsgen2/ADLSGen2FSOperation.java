@@ -14,6 +14,7 @@ import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.entity.BufferedHttpEntity;
@@ -28,11 +29,14 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 public class ADLSGen2FSOperation {
     public static final String DEFAULT_UMASK = "0000";
     public static final String PERMISSIONS_HEADER = "x-ms-permissions";
     public static final String UMASK_HEADER = "x-ms-umask";
+    public static final String CONTINUATION_HEADER = "x-ms-continuation";
+    public static final int LIST_PAGE_SIZE = 5000;
 
     private HttpObservable http;
 
@@ -45,9 +49,6 @@ public class ADLSGen2FSOperation {
     @NotNull
     private List<NameValuePair> appendReqParams;
 
-    @NotNull
-    private ADLSGen2ParamsBuilder listReqBuilder;
-
     @NotNull
     private ADLSGen2ParamsBuilder flushReqParamsBuilder;
 
@@ -116,16 +117,48 @@ public class ADLSGen2FSOperation {
     }
 
     public Observable<RemoteFile> list(String rootPath, String relativePath) {
-        this.listReqBuilder = new ADLSGen2ParamsBuilder()
+        return listPages(rootPath, relativePath)
+                .concatMap(Observable::from);
+    }
+
+    /**
+     * List the direct children of the directory page by page. The next page is requested with the continuation
+     * token of the previous one only when the previous page has been emitted, so that the caller can render the
+     * children while the rest of a large directory is still being listed.
+     */
+    public Observable<List<RemoteFile>> listPages(String rootPath, String relativePath) {
+        return listPages(rootPath, relativePath, null);
+    }
+
+    private Observable<List<RemoteFile>> listPages(String rootPath,
+                                                   String relativePath,
+                                                   @Nullable String continuation) {
+        final ADLSGen2ParamsBuilder listReqBuilder = new ADLSGen2ParamsBuilder()
                 .enableRecursive(false)
-                .setResource("filesystem");
+                .setResource("filesystem")
+                .setDirectory(relativePath)
+                .setMaxResults(LIST_PAGE_SIZE);
+        if (continuation != null) {
+            listReqBuilder.setContinuation(continuation);
+        }
 
-        return http.get(
-                StringUtils.stripEnd(rootPath, "/"),
-                listReqBuilder.setDirectory(relativePath).build(),
+        return http.requestWithHttpResponse(
+                new HttpGet(StringUtils.stripEnd(rootPath, "/")),
                 null,
-                GetRemoteFilesResponse.class)
-                .flatMap(pathList -> Observable.from(pathList.getRemoteFiles()));
+                listReqBuilder.build(),
+                null)
+                .concatMap(resp -> {
+                    final List<RemoteFile> remoteFiles = Optional
+                            .ofNullable(http.convertJsonResponseToObject(resp, GetRemoteFilesResponse.class)
+                                                .getRemoteFiles())
+                            .orElse(Collections.emptyList());
+                    final String nextContinuation = resp.findHeader(CONTINUATION_HEADER);
+
+                    return StringUtils.isEmpty(nextContinuation)
+                           ? Observable.just(remoteFiles)
+                           : Observable.just(remoteFiles).concatWith(
+                                   Observable.defer(() -> listPages(rootPath, relativePath, nextContinuation)));
+                });
     }
 
     private Observable<Long> appendData(String filePath, File src) {
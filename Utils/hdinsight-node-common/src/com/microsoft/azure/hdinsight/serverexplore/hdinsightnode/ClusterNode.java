@@ -137,6 +137,8 @@ public class ClusterNode extends RefreshableNode implements TelemetryProperties,
 
     @Override
     protected void refreshItems() {
+        // the credential and storage accounts may have been changed, load them again for the new child nodes
+        clusterDetail.invalidateConfigurationInfo();
         if(!clusterDetail.isEmulator()) {
             JobViewManager.registerJovViewNode(clusterDetail.getName(), clusterDetail);
             JobViewNode jobViewNode = new JobViewNode(this, clusterDetail);
@@ -27,8 +27,10 @@ import com.microsoft.azure.hdinsight.sdk.cluster.MfaEspCluster;
 import com.microsoft.azure.hdinsight.sdk.common.AuthenticationException;
 import com.microsoft.azure.hdinsight.sdk.common.HDIException;
 import com.microsoft.azure.hdinsight.sdk.common.HttpObservable;
+import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.SessionPool;
 import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.SparkSession;
 import com.microsoft.azure.hdinsight.sdk.io.spark.ClusterFileBase64BufferedOutputStream;
+import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.App;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.ApplicationMasterLogs;
 import com.microsoft.azure.hdinsight.sdk.storage.HDStorageAccount;
@@ -49,6 +51,7 @@ import com.microsoft.tooling.msservices.helpers.CallableSingleArg;
 import com.microsoft.tooling.msservices.helpers.azure.sdk.StorageClientSDKManager;
 import com.microsoft.tooling.msservices.model.storage.BlobContainer;
 import com.microsoft.tooling.msservices.model.storage.ClientStorageAccount;
+import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import org.apache.commons.codec.binary.Base64OutputStream;
 import org.apache.commons.io.IOUtils;
@@ -85,6 +88,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.UnknownServiceException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.List;
 import java.util.AbstractMap.SimpleImmutableEntry;
@@ -92,6 +96,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
 import static com.microsoft.azure.hdinsight.common.MessageInfoType.Info;
 import static com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine.TOOL;
@@ -105,6 +110,8 @@ public class JobUtils {
 
     private static final String sparkUIHistoryFormat = "%s/sparkhistory/history/%s/%s/jobs";
 
+    private static final String HELPER_SESSION_NAME = "Helper session to upload files";
+
     private static final CredentialsProvider provider = new BasicCredentialsProvider();
 
     public static void setResponse(@NotNull HttpExchange httpExchange, @NotNull String message) {
@@ -113,9 +120,10 @@ public class JobUtils {
 
     public static void setResponse(@NotNull HttpExchange httpExchange, @NotNull String message, int code) {
         try {
-            httpExchange.sendResponseHeaders(code, message.length());
+            final byte[] messageBytes = message.getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(code, messageBytes.length);
             final OutputStream stream = httpExchange.getResponseBody();
-            stream.write(message.getBytes());
+            stream.write(messageBytes);
             stream.flush();
             httpExchange.close();
         } catch (final IOException e) {
@@ -123,6 +131,69 @@ public class JobUtils {
         }
     }
 
+    /**
+     * Send the object as JSON with chunked transfer, compressed by gzip if the client accepts it.
+     */
+    public static void setJsonResponse(@NotNull HttpExchange httpExchange, @Nullable Object obj) {
+        setJsonResponse(httpExchange, obj, null);
+    }
+
+    /**
+     * Send the object as JSON with chunked transfer, compressed by gzip if the client accepts it. The JSON is
+     * serialized into the response body directly, so the ETag isn't digested from the content but given by the caller,
+     * e.g. {@link JobViewCacheManager#getETag(ApplicationKey)}, and an unchanged content gets a 304.
+     *
+     * @param etag the ETag of the content, or null if the content can't be fingerprinted cheaply
+     */
+    public static void setJsonResponse(@NotNull HttpExchange httpExchange,
+                                       @Nullable Object obj,
+                                       @Nullable String etag) {
+        try {
+            final Headers responseHeaders = httpExchange.getResponseHeaders();
+            responseHeaders.set("Vary", "Accept-Encoding");
+
+            if (etag != null) {
+                responseHeaders.set("ETag", etag);
+                responseHeaders.set("Cache-Control", "no-cache");
+
+                final String ifNoneMatch = httpExchange.getRequestHeaders().getFirst("If-None-Match");
+                if (ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(","))
+                                                 .map(String::trim)
+                                                 .anyMatch(tag -> tag.equals(etag) || tag.equals("*"))) {
+                    httpExchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+            }
+
+            final boolean isGzipAccepted = StringUtils.containsIgnoreCase(
+                    httpExchange.getRequestHeaders().getFirst("Accept-Encoding"), "gzip");
+            responseHeaders.set("Content-Type", "application/json; charset=utf-8");
+            if (isGzipAccepted) {
+                responseHeaders.set("Content-Encoding", "gzip");
+            }
+
+            // The zero length stands for chunked transfer encoding
+            httpExchange.sendResponseHeaders(200, 0);
+            final OutputStream body = httpExchange.getResponseBody();
+            try (final OutputStream stream = isGzipAccepted ? new GZIPOutputStream(body) : body) {
+                ObjectConvertUtils.convertObjectToJsonStream(obj, stream);
+            }
+        } catch (final IOException e) {
+            LOGGER.error("JobUtils set Response error", e);
+
+            // The status can't be changed once the body is started, then the unterminated chunks fail the client
+            if (httpExchange.getResponseCode() == -1) {
+                try {
+                    httpExchange.getResponseHeaders().remove("ETag");
+                    httpExchange.sendResponseHeaders(500, -1);
+                } catch (final IOException ignored) {
+                }
+            }
+        } finally {
+            httpExchange.close();
+        }
+    }
+
     public static URI getLivyLogPath(@NotNull String rootPath, @NotNull String applicationId) {
         final String path = StringHelper.concat(rootPath, File.separator, JobLogFolderName, File.separator, applicationId);
         final File file = new File(path);
@@ -638,58 +709,71 @@ public class JobUtils {
 
         final String username = selectedClusterDetail.getHttpUserName();
         final String password = selectedClusterDetail.getHttpPassword();
-        final String sessionName = "Helper session to upload " + destUri.toString();
 
         final URI livyUri = selectedClusterDetail instanceof LivyCluster ?
                             URI.create(((LivyCluster) selectedClusterDetail).getLivyConnectionUrl()) :
                             URI.create(selectedClusterDetail.getConnectionUrl());
 
-        ctrlInfo(legacyLogSubject, newLogSubject, "Create Spark helper interactive session...");
+        // The helper session is pooled, uploads to the same cluster reuse it rather than waiting for a new one
+        final SparkSession helperSession = new SparkSession(HELPER_SESSION_NAME, livyUri, username, password);
+        final String sessionPoolKey = SessionPool.keyOf(helperSession);
+
+        ctrlInfo(legacyLogSubject, newLogSubject, "Get Spark helper interactive session...");
 
         try {
-            return Observable.using(() -> new SparkSession(sessionName, livyUri, username, password),
-                                    SparkSession::create,
-                                    SparkSession::close)
-                             .map(sparkSession -> {
-                                 sparkSession.getCtrlSubject()
-                                             .subscribe(logLine -> ctrlInfo(legacyLogSubject, newLogSubject,
-                                                                            logLine.getRawLog()),
-                                                        err -> ctrlError(legacyLogSubject, newLogSubject, err),
-                                                        () -> {});
-
-                                 ClusterFileBase64BufferedOutputStream clusterFileBase64Out =
-                                         new ClusterFileBase64BufferedOutputStream(sparkSession, destUri);
-                                 Base64OutputStream base64Enc = new Base64OutputStream(clusterFileBase64Out, true);
-                                 InputStream inFile;
-
-                                 try {
-                                     inFile = new BufferedInputStream(new FileInputStream(srcJarFile));
-
-                                     ctrlInfo(legacyLogSubject, newLogSubject, String.format("Uploading %s...",
-                                                                                             srcJarFile));
-                                     IOUtils.copy(inFile, base64Enc);
-
-                                     inFile.close();
-                                     base64Enc.close();
-                                 } catch (FileNotFoundException fnfEx) {
-                                     throw propagate(new HDIException(String.format("Source file %s not found.",
-                                                                                    srcJarFile), fnfEx));
-                                 } catch (IOException ioEx) {
-                                     throw propagate(new HDIException(String.format("Failed to upload file %s.",
-                                                                                    destUri), ioEx));
-                                 }
-                                 ctrlInfo(legacyLogSubject, newLogSubject, String.format("Uploaded to %s.", destUri));
-
-                                 return destUri.toString();
-                             })
-                             .toBlocking()
-                             .single();
+            return SessionPool.getInstance()
+                              .use(sessionPoolKey,
+                                   () -> helperSession,
+                                   sparkSession -> Observable.fromCallable(() -> uploadFileThroughSession(
+                                           sparkSession, srcJarFile, destUri, legacyLogSubject, newLogSubject)))
+                              .toBlocking()
+                              .single();
         } catch (final NoSuchElementException ignored) {
             // The cause exception will be thrown inside
             throw new HDIException("Failed to upload file to HDFS (Should Not Reach).");
         }
     }
 
+    private static String uploadFileThroughSession(
+            com.microsoft.azure.hdinsight.sdk.common.livy.interactive.Session sparkSession,
+            File srcJarFile,
+            URI destUri,
+            @Nullable Observer<SimpleImmutableEntry<MessageInfoType, String>> legacyLogSubject,
+            @Nullable Observer<SparkLogLine> newLogSubject) {
+        // The session outlives this upload, so only listen to its logs during the upload
+        final Subscription ctrlSubscription = sparkSession.getCtrlSubject()
+                                                          .subscribe(logLine -> ctrlInfo(legacyLogSubject, newLogSubject,
+                                                                                         logLine.getRawLog()),
+                                                                     err -> ctrlError(legacyLogSubject, newLogSubject, err),
+                                                                     () -> {});
+
+        try {
+            ClusterFileBase64BufferedOutputStream clusterFileBase64Out =
+                    new ClusterFileBase64BufferedOutputStream(sparkSession, destUri, false);
+            Base64OutputStream base64Enc = new Base64OutputStream(clusterFileBase64Out, true);
+            InputStream inFile;
+
+            try {
+                inFile = new BufferedInputStream(new FileInputStream(srcJarFile));
+
+                ctrlInfo(legacyLogSubject, newLogSubject, String.format("Uploading %s...", srcJarFile));
+                IOUtils.copy(inFile, base64Enc);
+
+                inFile.close();
+                base64Enc.close();
+            } catch (FileNotFoundException fnfEx) {
+                throw propagate(new HDIException(String.format("Source file %s not found.", srcJarFile), fnfEx));
+            } catch (IOException ioEx) {
+                throw propagate(new HDIException(String.format("Failed to upload file %s.", destUri), ioEx));
+            }
+            ctrlInfo(legacyLogSubject, newLogSubject, String.format("Uploaded to %s.", destUri));
+
+            return destUri.toString();
+        } finally {
+            ctrlSubscription.unsubscribe();
+        }
+    }
+
     public static String uploadFileToHDFSNew(IClusterDetail selectedClusterDetail,
                                           String buildJarPath,
                                           Observer<SparkLogLine> logSubject) throws HDIException {
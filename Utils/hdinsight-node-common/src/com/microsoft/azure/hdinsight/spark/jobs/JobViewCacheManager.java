@@ -19,19 +19,29 @@ import com.microsoft.azure.hdinsight.sdk.rest.spark.task.Task;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.App;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.ApplicationMasterLogs;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class JobViewCacheManager {
+    // the caches are reset with the IDE, so are the ETags of the content in them
+    private static final String CACHE_VERSION = Long.toHexString(System.currentTimeMillis());
+    // the application list tells whether an application is completed, so it has to follow the running ones closely
+    private static final long APPLICATIONS_TTL_SECONDS = 10;
+
     private static final LoadingCache<ApplicationKey, List<Job>> sparkJobLocalCache = CacheBuilder.newBuilder()
             .maximumSize(100)
             .initialCapacity(20)
             .build(new CacheLoader<ApplicationKey, List<Job>>() {
                 @Override
                 public List<Job> load(ApplicationKey key) throws Exception {
-                    return SparkRestUtil.getLastAttemptJobsFromApp(key);
+                    return SparkHistoryDiskCache.getInstance().getOrLoad(
+                            key, "jobs", Job.class,
+                            () -> SparkRestUtil.getLastAttemptJobsFromApp(key),
+                            () -> isApplicationCompleted(key));
                 }
             });
 
@@ -41,7 +51,10 @@ public class JobViewCacheManager {
             .build(new CacheLoader<ApplicationKey, List<Stage>>() {
                 @Override
                 public List<Stage> load(ApplicationKey key) throws Exception {
-                    return SparkRestUtil.getAllStageFromApp(key);
+                    return SparkHistoryDiskCache.getInstance().getOrLoad(
+                            key, "stages", Stage.class,
+                            () -> SparkRestUtil.getAllStageFromApp(key),
+                            () -> isApplicationCompleted(key));
                 }
             });
 
@@ -51,13 +64,17 @@ public class JobViewCacheManager {
             .build(new CacheLoader<ApplicationKey, List<Executor>>() {
                 @Override
                 public List<Executor> load(ApplicationKey key) throws Exception {
-                    return SparkRestUtil.getAllExecutorFromApp(key);
+                    return SparkHistoryDiskCache.getInstance().getOrLoad(
+                            key, "executors", Executor.class,
+                            () -> SparkRestUtil.getAllExecutorFromApp(key),
+                            () -> isApplicationCompleted(key));
                 }
             });
 
     private static final LoadingCache<String, List<Application>> sparkApplicationsLocalCache = CacheBuilder.newBuilder()
             .maximumSize(100)
             .initialCapacity(20)
+            .expireAfterWrite(APPLICATIONS_TTL_SECONDS, TimeUnit.SECONDS)
             .build(new CacheLoader<String, List<Application>>() {
                 @Override
                 public List<Application> load(String key) throws Exception {
@@ -71,15 +88,20 @@ public class JobViewCacheManager {
             .build(new CacheLoader<ApplicationKey, List<Task>>() {
                 @Override
                 public List<Task> load(ApplicationKey key) throws Exception {
-                    List<Task> allTasks = new ArrayList<>();
-                    List<Stage> stages = sparkStageLocalCache.get(key);
-                    for (Stage stage: stages) {
-                        int stageId = stage.getStageId();
-                        int attemptedId = stage.getAttemptId();
-                        List<Task> tasks = SparkRestUtil.getSparkTasks(key, stageId, attemptedId);
-                        allTasks.addAll(tasks);
-                    }
-                    return allTasks;
+                    return SparkHistoryDiskCache.getInstance().getOrLoad(
+                            key, "tasks", Task.class,
+                            () -> {
+                                List<Task> allTasks = new ArrayList<>();
+                                List<Stage> stages = getStages(key);
+                                for (Stage stage: stages) {
+                                    int stageId = stage.getStageId();
+                                    int attemptedId = stage.getAttemptId();
+                                    List<Task> tasks = SparkRestUtil.getSparkTasks(key, stageId, attemptedId);
+                                    allTasks.addAll(tasks);
+                                }
+                                return allTasks;
+                            },
+                            () -> isApplicationCompleted(key));
                 }
             });
 
@@ -114,15 +136,15 @@ public class JobViewCacheManager {
             });
 
     public static List<JobStartEventLog> getJobStartEventLogs(@NotNull ApplicationKey key) throws ExecutionException {
-        return sparkJobStartEventLogCache.get(key);
+        return getOfApplication(sparkJobStartEventLogCache, key);
     }
 
     public static ApplicationMasterLogs getYarnLogs(@NotNull ApplicationKey key) throws ExecutionException {
-            return yarnAppLogLocalCache.get(key);
+            return getOfApplication(yarnAppLogLocalCache, key);
     }
 
     public static App getYarnApp(@NotNull ApplicationKey key) throws ExecutionException {
-        return yarnApplicationLocalCache.get(key);
+        return getOfApplication(yarnApplicationLocalCache, key);
     }
 
     public static List<Application> getSparkApplications(@NotNull IClusterDetail clusterDetail) throws ExecutionException {
@@ -140,18 +162,72 @@ public class JobViewCacheManager {
     }
 
     public static List<Executor> getExecutors(@NotNull ApplicationKey key) throws ExecutionException {
-        return sparkExecutorLocalCache.get(key);
+        return getOfApplication(sparkExecutorLocalCache, key);
     }
 
     public static List<Job> getJob(@NotNull ApplicationKey key) throws ExecutionException {
-        return sparkJobLocalCache.get(key);
+        return getOfApplication(sparkJobLocalCache, key);
     }
 
     public static List<Task> getTasks(@NotNull ApplicationKey key) throws ExecutionException {
-        return sparkTasksSummaryLocalCache.get(key);
+        return getOfApplication(sparkTasksSummaryLocalCache, key);
     }
 
     public static List<Stage> getStages(@NotNull ApplicationKey key) throws ExecutionException {
-        return sparkStageLocalCache.get(key);
+        return getOfApplication(sparkStageLocalCache, key);
+    }
+
+    /**
+     * Get the cached value of an application. The value is reloaded if the application isn't completed, since it
+     * keeps changing while the application runs.
+     */
+    private static <V> V getOfApplication(@NotNull LoadingCache<ApplicationKey, V> cache,
+                                          @NotNull ApplicationKey key) throws ExecutionException {
+        if (!isApplicationCompleted(key)) {
+            cache.invalidate(key);
+        }
+
+        return cache.get(key);
+    }
+
+    /**
+     * Get the ETag of the application objects served by the job view, which only stay unchanged once the application
+     * is completed. It's made of the application last attempt and the cache instance, rather than digested from the
+     * content.
+     *
+     * @return the weak ETag, or null if the application isn't completed
+     */
+    @Nullable
+    public static String getETag(@NotNull ApplicationKey key) {
+        if (!isApplicationCompleted(key)) {
+            return null;
+        }
+
+        try {
+            final Application application = getSingleSparkApplication(key);
+            return application == null ? null : String.format("W/\"%s-%s-%s-%d\"",
+                    CACHE_VERSION, key.getClusterDetails().getName(), key.getAppId(), application.getLastAttemptId());
+        } catch (ExecutionException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether the last attempt of the application is completed, then its history objects never change.
+     */
+    static boolean isApplicationCompleted(@NotNull ApplicationKey key) {
+        try {
+            final Application application = getSingleSparkApplication(key);
+            if (application == null || application.getAttempts() == null) {
+                return false;
+            }
+
+            return application.getAttempts()
+                    .stream()
+                    .filter(attempt -> String.valueOf(application.getLastAttemptId()).equals(attempt.getAttemptId()))
+                    .anyMatch(attempt -> Boolean.parseBoolean(attempt.getCompleted()));
+        } catch (ExecutionException ignored) {
+            return false;
+        }
     }
 }
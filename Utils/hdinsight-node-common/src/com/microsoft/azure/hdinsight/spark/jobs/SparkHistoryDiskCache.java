@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.microsoft.azure.hdinsight.common.HDInsightLoader;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A disk cache of the Spark history REST objects (jobs, stages, executors and tasks) of completed applications, which
+ * never change once the application finishes, so that reopening the job view after an IDE restart doesn't download
+ * them again from the Spark history server.
+ *
+ * The objects are stored as gzipped JSON snapshots keyed by the cluster and the application ID. The least recently
+ * used snapshots are evicted when the total size exceeds the limit.
+ */
+public class SparkHistoryDiskCache implements ILogger {
+    static final long DEFAULT_MAX_SIZE_BYTES = 256L * 1024 * 1024;
+    // bump it when the snapshot format changes, the snapshots of the old versions are ignored
+    private static final String FORMAT_VERSION = "v1";
+    private static final String SNAPSHOT_SUFFIX = ".json.gz";
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Path root;
+    private final long maxSizeBytes;
+
+    // guarded by this, in the access order, the eldest one is the least recently used
+    private LinkedHashMap<Path, Long> snapshotSizes;
+    private long totalSizeBytes = 0;
+
+    SparkHistoryDiskCache(@NotNull Path root, long maxSizeBytes) {
+        this.root = root.resolve(FORMAT_VERSION);
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public static SparkHistoryDiskCache getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Get the objects of an application from the disk, or load them if not cached.
+     *
+     * @param key the application key
+     * @param kind the kind of objects, such as jobs or stages
+     * @param clazz the class of objects
+     * @param loader to load the objects from the Spark history server
+     * @param isImmutable to check whether the loaded objects can be cached, i.e. the application is completed
+     * @return the objects
+     */
+    public <T> List<T> getOrLoad(@NotNull ApplicationKey key,
+                                 @NotNull String kind,
+                                 @NotNull Class<T> clazz,
+                                 @NotNull Callable<List<T>> loader,
+                                 @NotNull BooleanSupplier isImmutable) throws Exception {
+        final Path snapshot = getSnapshotPath(key, kind);
+        final Optional<List<T>> cached = read(snapshot, clazz);
+
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        final List<T> loaded = loader.call();
+
+        if (isImmutable.getAsBoolean()) {
+            write(snapshot, loaded);
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Remove all snapshots of the cache.
+     */
+    public synchronized void clear() {
+        getSnapshotSizes().keySet().forEach(this::deleteQuietly);
+        snapshotSizes.clear();
+        totalSizeBytes = 0;
+    }
+
+    synchronized long getTotalSizeBytes() {
+        getSnapshotSizes();
+
+        return totalSizeBytes;
+    }
+
+    synchronized boolean contains(@NotNull ApplicationKey key, @NotNull String kind) {
+        return getSnapshotSizes().containsKey(getSnapshotPath(key, kind));
+    }
+
+    @NotNull
+    Path getSnapshotPath(@NotNull ApplicationKey key, @NotNull String kind) {
+        final String cluster = DigestUtils.sha1Hex(key.getClusterConnString().toLowerCase());
+        final String appId = key.getAppId().toLowerCase().replaceAll("[^a-z0-9._-]", "_");
+
+        return root.resolve(cluster).resolve(appId).resolve(kind + SNAPSHOT_SUFFIX);
+    }
+
+    private <T> Optional<List<T>> read(@NotNull Path snapshot, @NotNull Class<T> clazz) {
+        synchronized (this) {
+            if (getSnapshotSizes().get(snapshot) == null) {
+                return Optional.empty();
+            }
+        }
+
+        final CollectionType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, clazz);
+
+        try (final InputStream input = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            final List<T> objects = objectMapper.readValue(input, listType);
+
+            // the modified time keeps the recency across IDE restarts
+            snapshot.toFile().setLastModified(System.currentTimeMillis());
+
+            return Optional.ofNullable(objects);
+        } catch (final IOException ex) {
+            log().warn("Read Spark history cache " + snapshot + " failed, drop it. " + ex);
+            remove(snapshot);
+
+            return Optional.empty();
+        }
+    }
+
+    private void write(@NotNull Path snapshot, @NotNull List<?> objects) {
+        try {
+            Files.createDirectories(snapshot.getParent());
+
+            // write to a temporary file and then move it, so that a partial snapshot is never read
+            final Path temp = Files.createTempFile(snapshot.getParent(), snapshot.getFileName().toString(), ".tmp");
+            try (final OutputStream output = new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                objectMapper.writeValue(output, objects);
+            }
+
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            add(snapshot, Files.size(snapshot));
+        } catch (final IOException ex) {
+            log().warn("Write Spark history cache " + snapshot + " failed. " + ex);
+        }
+    }
+
+    private synchronized void add(@NotNull Path snapshot, long size) {
+        final Long replaced = getSnapshotSizes().put(snapshot, size);
+        totalSizeBytes += size - (replaced == null ? 0 : replaced);
+
+        evict(snapshot);
+    }
+
+    private synchronized void remove(@NotNull Path snapshot) {
+        final Long removed = getSnapshotSizes().remove(snapshot);
+        if (removed != null) {
+            totalSizeBytes -= removed;
+        }
+
+        deleteQuietly(snapshot);
+    }
+
+    private synchronized void evict(@NotNull Path justAdded) {
+        for (final Iterator<Map.Entry<Path, Long>> eldest = snapshotSizes.entrySet().iterator();
+             totalSizeBytes > maxSizeBytes && eldest.hasNext(); ) {
+            final Map.Entry<Path, Long> entry = eldest.next();
+
+            if (entry.getKey().equals(justAdded)) {
+                continue;
+            }
+
+            eldest.remove();
+            totalSizeBytes -= entry.getValue();
+            deleteQuietly(entry.getKey());
+        }
+    }
+
+    /**
+     * Get the index of snapshots on the disk, which is built by scanning the cache directory for the first time.
+     */
+    private synchronized LinkedHashMap<Path, Long> getSnapshotSizes() {
+        if (snapshotSizes != null) {
+            return snapshotSizes;
+        }
+
+        snapshotSizes = new LinkedHashMap<>(16, 0.75f, true);
+
+        if (Files.isDirectory(root)) {
+            try (final Stream<Path> files = Files.walk(root)) {
+                final List<File> snapshots = files.filter(path -> path.toString().endsWith(SNAPSHOT_SUFFIX))
+                                                  .map(Path::toFile)
+                                                  .sorted(Comparator.comparingLong(File::lastModified))
+                                                  .collect(Collectors.toList());
+
+                for (final File snapshot : snapshots) {
+                    snapshotSizes.put(snapshot.toPath(), snapshot.length());
+                    totalSizeBytes += snapshot.length();
+                }
+            } catch (final IOException ex) {
+                log().warn("Scan Spark history cache " + root + " failed. " + ex);
+            }
+        }
+
+        return snapshotSizes;
+    }
+
+    private void deleteQuietly(@NotNull Path snapshot) {
+        try {
+            Files.deleteIfExists(snapshot);
+        } catch (final IOException ex) {
+            log().warn("Delete Spark history cache " + snapshot + " failed. " + ex);
+        }
+    }
+
+    private static final class SingletonHolder {
+        private static final SparkHistoryDiskCache INSTANCE = new SparkHistoryDiskCache(
+                Paths.get(HDInsightLoader.getHDInsightHelper().getPluginRootPath(), "SparkHistoryCache"),
+                DEFAULT_MAX_SIZE_BYTES);
+    }
+}
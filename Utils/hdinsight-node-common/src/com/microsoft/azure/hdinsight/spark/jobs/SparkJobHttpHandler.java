@@ -6,7 +6,6 @@
 package com.microsoft.azure.hdinsight.spark.jobs;
 
 import com.microsoft.azure.hdinsight.sdk.common.HDIException;
-import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.Application;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.YarnAppWithJobs;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.event.JobStartEventLog;
@@ -22,7 +21,6 @@ import com.sun.net.httpserver.HttpHandler;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 
 public class SparkJobHttpHandler implements HttpHandler {
@@ -36,8 +34,7 @@ public class SparkJobHttpHandler implements HttpHandler {
             if (path.equalsIgnoreCase("/applications/") && requestDetail.getAppId().equalsIgnoreCase("0")) {
                 try {
                     List<Application> applications = SparkRestUtil.getSparkApplications(requestDetail.getCluster());
-                    Optional<String> responseString = ObjectConvertUtils.convertObjectToJsonString(applications);
-                    JobUtils.setResponse(httpExchange, responseString.orElseThrow(IOException::new));
+                    JobUtils.setJsonResponse(httpExchange, applications);
                 } catch (HDIException e) {
                     DefaultLoader.getUIHelper().logError("get applications list error", e);
                 }
@@ -47,20 +44,19 @@ public class SparkJobHttpHandler implements HttpHandler {
                 App app = JobViewCacheManager.getYarnApp(key);
                 List<JobStartEventLog> jobStartEventLogs = JobViewCacheManager.getJobStartEventLogs(key);
                 YarnAppWithJobs yarnAppWithJobs = new YarnAppWithJobs(app, jobs, jobStartEventLogs);
-                Optional<String> responseString = ObjectConvertUtils.convertObjectToJsonString(yarnAppWithJobs);
-                JobUtils.setResponse(httpExchange, responseString.orElseThrow(IOException::new));
+                JobUtils.setJsonResponse(httpExchange, yarnAppWithJobs, JobViewCacheManager.getETag(key));
             } else if (path.contains("stages_summary")) {
-                List<Stage> stages = JobViewCacheManager.getStages(new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId()));
-                Optional<String> responseString = ObjectConvertUtils.convertObjectToJsonString(stages);
-                JobUtils.setResponse(httpExchange, responseString.orElseThrow(IOException::new));
+                ApplicationKey key = new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId());
+                List<Stage> stages = JobViewCacheManager.getStages(key);
+                JobUtils.setJsonResponse(httpExchange, stages, JobViewCacheManager.getETag(key));
             } else if (path.contains("executors_summary")) {
-                List<Executor> executors = JobViewCacheManager.getExecutors(new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId()));
-                Optional<String> responseString = ObjectConvertUtils.convertObjectToJsonString(executors);
-                JobUtils.setResponse(httpExchange, responseString.orElseThrow(IOException::new));
+                ApplicationKey key = new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId());
+                List<Executor> executors = JobViewCacheManager.getExecutors(key);
+                JobUtils.setJsonResponse(httpExchange, executors, JobViewCacheManager.getETag(key));
             } else if (path.contains("tasks_summary")) {
-                List<Task> tasks = JobViewCacheManager.getTasks(new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId()));
-                Optional<String> responseString = ObjectConvertUtils.convertObjectToJsonString(tasks);
-                JobUtils.setResponse(httpExchange, responseString.orElseThrow(IOException::new));
+                ApplicationKey key = new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId());
+                List<Task> tasks = JobViewCacheManager.getTasks(key);
+                JobUtils.setJsonResponse(httpExchange, tasks, JobViewCacheManager.getETag(key));
             }
         } catch (ExecutionException e) {
             JobUtils.setResponse(httpExchange, e.getMessage(), 500);
@@ -6,7 +6,6 @@
 package com.microsoft.azure.hdinsight.spark.jobs;
 
 import com.microsoft.azure.hdinsight.sdk.common.HDIException;
-import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.App;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.ApplicationMasterLogs;
 import com.microsoft.azure.hdinsight.spark.jobs.framework.JobRequestDetails;
@@ -14,7 +13,6 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 
 import java.io.IOException;
-import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 
 public class YarnJobHttpHandler implements HttpHandler {
@@ -26,13 +24,13 @@ public class YarnJobHttpHandler implements HttpHandler {
         String path = requestDetail.getRequestPath();
         try {
             if (path.contains("/apps/app") && requestDetail.isSpecificApp()) {
-                App app = JobViewCacheManager.getYarnApp(new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId()));
-                Optional<String> responseString = ObjectConvertUtils.convertObjectToJsonString(app);
-                JobUtils.setResponse(httpExchange, responseString.orElseThrow(IOException::new));
+                ApplicationKey key = new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId());
+                App app = JobViewCacheManager.getYarnApp(key);
+                JobUtils.setJsonResponse(httpExchange, app, JobViewCacheManager.getETag(key));
             } else if (path.contains("/apps/logs") && requestDetail.isSpecificApp()) {
+                // no ETag, the logs could be aggregated after the application is completed
                 ApplicationMasterLogs logs = JobViewCacheManager.getYarnLogs(new ApplicationKey(requestDetail.getCluster(), requestDetail.getAppId()));
-                Optional<String> responseString = ObjectConvertUtils.convertObjectToJsonString(logs);
-                JobUtils.setResponse(httpExchange, responseString.orElseThrow(IOException::new));
+                JobUtils.setJsonResponse(httpExchange, logs);
             }
         } catch (ExecutionException e) {
             JobUtils.setResponse(httpExchange, e.getMessage(), 500);
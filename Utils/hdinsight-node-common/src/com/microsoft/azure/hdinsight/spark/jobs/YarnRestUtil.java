@@ -13,8 +13,12 @@ import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.AppResponse;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.YarnApplicationResponse;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import org.apache.http.HttpEntity;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.message.BasicNameValuePair;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -22,19 +26,25 @@ import java.util.stream.Collectors;
 public class YarnRestUtil {
     private static final String YARN_UI_HISTORY_URL = "%s/yarnui/ws/v1/cluster/%s";
 
-    private static List<App> getSparkAppFromYarn(@NotNull final IClusterDetail clusterDetail) throws IOException, HDIException {
-        final HttpEntity entity = getYarnRestEntity(clusterDetail, "cluster/apps");
+    /**
+     * Get Livy Spark applications from YARN ResourceManager, the non-Spark applications are filtered out by
+     * ResourceManager instead of being downloaded.
+     */
+    static List<App> getSparkAppFromYarn(@NotNull final IClusterDetail clusterDetail) throws IOException, HDIException {
+        final String query = URLEncodedUtils.format(
+                Collections.singletonList(new BasicNameValuePair("applicationTypes", "SPARK")), StandardCharsets.UTF_8);
+        final HttpEntity entity = getYarnRestEntity(clusterDetail, "apps?" + query);
         Optional<YarnApplicationResponse> allApps = ObjectConvertUtils.convertEntityToObject(entity, YarnApplicationResponse.class);
         return allApps.orElse(YarnApplicationResponse.EMPTY)
                 .getAllApplication()
                 .orElse(App.EMPTY_LIST)
                 .stream()
-                .filter(app -> app.isLivyJob())
+                .filter(App::isLivyJob)
                 .collect(Collectors.toList());
     }
 
     public static App getApp(@NotNull ApplicationKey key) throws HDIException, IOException {
-        HttpEntity entity = getYarnRestEntity(key.getClusterDetails(), String.format("/apps/%s", key.getAppId()));
+        HttpEntity entity = getYarnRestEntity(key.getClusterDetails(), String.format("apps/%s", key.getAppId()));
         return ObjectConvertUtils.convertEntityToObject(entity, AppResponse.class).orElseThrow(()-> new HDIException(String.format("get Yarn app %s on cluster %s error", key.getAppId(), key.getClusterDetails().getName()))).getApp();
     }
 
@@ -7,9 +7,9 @@ package com.microsoft.azure.hdinsight.spark.run;
 
 import com.microsoft.azure.hdinsight.spark.common.ISparkBatchJob;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import rx.Observable;
 
 import java.util.AbstractMap.SimpleImmutableEntry;
-import java.util.Optional;
 
 
 class SparkJobExecutorLogInputStream extends SparkJobLogInputStream {
@@ -22,10 +22,10 @@ class SparkJobExecutorLogInputStream extends SparkJobLogInputStream {
     }
 
     @Override
-    protected synchronized Optional<SimpleImmutableEntry<String, Long>> fetchLog(long logOffset, int fetchSize) {
+    protected Observable<SimpleImmutableEntry<String, Long>> fetchLog(long logOffset, int fetchSize) {
         return getAttachedJob()
-                .map(job -> job.getContainerLog(getLogUrl(), getLogType(), logOffset, fetchSize)
-                        .toBlocking().singleOrDefault(null));
+                .map(job -> Observable.defer(() -> job.getContainerLog(getLogUrl(), getLogType(), logOffset, fetchSize)))
+                .orElse(Observable.empty());
     }
 
     @Override
@@ -5,27 +5,58 @@
 
 package com.microsoft.azure.hdinsight.spark.run;
 
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
 import com.microsoft.azure.hdinsight.spark.common.ISparkBatchJob;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import rx.Observable;
+import rx.schedulers.Schedulers;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Optional;
 
-import static java.lang.Thread.sleep;
+/**
+ * The input stream of a Spark job log, which is fetched from the remote incrementally.
+ *
+ * The log is fetched in the background with ranged requests of at most {@link #FETCH_SIZE} bytes, so that
+ * {@link #available()} never blocks the reader for the network. The next fetch is sent at once if the last one was
+ * full, otherwise the polling delay doubles from {@link #MIN_POLL_DELAY_MILLIS} to {@link #MAX_POLL_DELAY_MILLIS}
+ * while no new log comes. The fetched log is encoded into a reused buffer.
+ *
+ * The stream is designed for one reader thread, such as the output reader of a process handler, which checks
+ * {@link #available()} before reading.
+ */
+public class SparkJobLogInputStream extends InputStream implements ILogger {
+    static final int FETCH_SIZE = 64 * 1024;
+    static final long MIN_POLL_DELAY_MILLIS = 200;
+    static final long MAX_POLL_DELAY_MILLIS = 3000;
 
-public class SparkJobLogInputStream extends InputStream {
     @NotNull
     private String logType;
     @Nullable
-    private ISparkBatchJob sparkBatchJob;
+    private volatile ISparkBatchJob sparkBatchJob;
 
+    // the offset of the next log fetch, in bytes
     private long offset = 0;
     @NotNull
-    private byte[] buffer = new byte[0];
-    private int bufferPos;
+    private ByteBuffer buffer = ByteBuffer.allocate(0);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                                                                 .onMalformedInput(CodingErrorAction.REPLACE)
+                                                                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    // written by the background fetch, and taken by the reader
+    @Nullable
+    private volatile SimpleImmutableEntry<String, Long> fetched;
+    private volatile boolean isFetching = false;
+    private volatile long nextFetchTime = 0;
+    private volatile long pollDelayMillis = MIN_POLL_DELAY_MILLIS;
 
     public SparkJobLogInputStream(@NotNull String logType) {
         this.logType = logType;
@@ -37,10 +68,17 @@ public class SparkJobLogInputStream extends InputStream {
         return sparkJob;
     }
 
-    protected synchronized Optional<SimpleImmutableEntry<String, Long>> fetchLog(long logOffset, int fetchSize) {
+    /**
+     * Fetch a slice of the log.
+     *
+     * @param logOffset the offset to fetch from, in bytes
+     * @param fetchSize the size to fetch at most, in bytes
+     * @return the log slice and its actual offset, which could be reset by the job, or empty if no log is got
+     */
+    protected Observable<SimpleImmutableEntry<String, Long>> fetchLog(long logOffset, int fetchSize) {
         return getAttachedJob()
-                .map(job -> job.getDriverLog(getLogType(), logOffset, fetchSize)
-                               .toBlocking().singleOrDefault(null));
+                .map(job -> Observable.defer(() -> job.getDriverLog(getLogType(), logOffset, fetchSize)))
+                .orElse(Observable.empty());
     }
 
     void setSparkBatchJob(@Nullable ISparkBatchJob sparkBatchJob) {
@@ -53,37 +91,114 @@ public class SparkJobLogInputStream extends InputStream {
 
     @Override
     public int read() throws IOException {
-        if (bufferPos >= buffer.length) {
+        if (!buffer.hasRemaining()) {
             throw new IOException("Beyond the buffer end, needs a new log fetch");
         }
 
-        return buffer[bufferPos++];
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(@NotNull byte[] bytes, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        if (!buffer.hasRemaining()) {
+            throw new IOException("Beyond the buffer end, needs a new log fetch");
+        }
+
+        final int count = Math.min(len, buffer.remaining());
+        buffer.get(bytes, off, count);
+
+        return count;
     }
 
     @Override
     public int available() throws IOException {
-        if (bufferPos >= buffer.length) {
-            return fetchLog(offset, -1)
-                    .map(sliceOffsetPair -> {
-                        buffer = sliceOffsetPair.getKey().getBytes();
-                        bufferPos = 0;
-                        offset = sliceOffsetPair.getValue() + sliceOffsetPair.getKey().length();
-
-                        return buffer.length;
-                    }).orElseGet(() -> {
-                        try {
-                            sleep(3000);
-                        } catch (InterruptedException ignore) { }
-
-                        return 0;
-                    });
-        } else {
-            return buffer.length - bufferPos;
+        if (!buffer.hasRemaining()) {
+            final SimpleImmutableEntry<String, Long> slice = fetched;
+
+            if (slice != null) {
+                fetched = null;
+                fill(slice);
+            }
         }
+
+        // prefetch the next slice while the current one is read
+        fetchIfDue();
+
+        return buffer.remaining();
     }
 
     @NotNull
     public String getLogType() {
         return logType;
     }
+
+    private void fill(@NotNull SimpleImmutableEntry<String, Long> slice) {
+        // a multi-byte char cut by the ranged request is decoded as U+FFFD, whose 3 bytes could differ from the
+        // cut ones, so leave it to the next fetch to keep the offset on the remote bytes
+        final String log = slice.getKey();
+        int end = log.length();
+        while (end > 0 && log.charAt(end - 1) == '\uFFFD') {
+            end--;
+        }
+
+        final CharBuffer chars = CharBuffer.wrap(log, 0, end > 0 ? end : log.length());
+        final int maxBytes = (int) Math.ceil(chars.remaining() * (double) encoder.maxBytesPerChar());
+
+        if (buffer.capacity() < maxBytes) {
+            buffer = ByteBuffer.allocate(Math.max(maxBytes, buffer.capacity() * 2));
+        }
+
+        buffer.clear();
+        encoder.reset();
+        encoder.encode(chars, buffer, true);
+        encoder.flush(buffer);
+        buffer.flip();
+
+        offset = slice.getValue() + buffer.remaining();
+    }
+
+    private void fetchIfDue() {
+        // check the flag first, the fetched slice is published before the flag is cleared
+        if (isFetching || fetched != null || System.currentTimeMillis() < nextFetchTime) {
+            return;
+        }
+
+        isFetching = true;
+
+        fetchLog(offset, FETCH_SIZE)
+                .firstOrDefault(null)
+                .subscribeOn(Schedulers.io())
+                .subscribe(
+                        slice -> {
+                            final boolean isEmpty = slice == null || slice.getKey().isEmpty();
+                            // the slice is in chars, each of which is 1 ~ 3 bytes of the ranged request
+                            final boolean isFull = !isEmpty && slice.getKey().length() >= FETCH_SIZE / 3;
+
+                            if (isEmpty) {
+                                // no new log, poll less frequently
+                                scheduleNextFetch(Math.min(MAX_POLL_DELAY_MILLIS, pollDelayMillis * 2));
+                            } else {
+                                fetched = slice;
+                                // more log is likely there if got a full slice
+                                scheduleNextFetch(isFull ? 0 : MIN_POLL_DELAY_MILLIS);
+                            }
+
+                            isFetching = false;
+                        },
+                        err -> {
+                            log().warn("Fetch " + getLogType() + " log failed: " + err);
+                            scheduleNextFetch(MAX_POLL_DELAY_MILLIS);
+
+                            isFetching = false;
+                        });
+    }
+
+    private void scheduleNextFetch(long delayMillis) {
+        pollDelayMillis = Math.max(MIN_POLL_DELAY_MILLIS, delayMillis);
+        nextFetchTime = System.currentTimeMillis() + delayMillis;
+    }
 }
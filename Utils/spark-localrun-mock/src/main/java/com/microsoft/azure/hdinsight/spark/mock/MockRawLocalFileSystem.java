@@ -9,6 +9,7 @@ package com.microsoft.azure.hdinsight.spark.mock;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.*;
 import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.util.Progressable;
 import org.apache.hadoop.util.Shell;
 import org.apache.hadoop.util.StringUtils;
 
@@ -18,10 +19,21 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 class MockRawLocalFileSystem extends RawLocalFileSystem {
+    private static final boolean IS_POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+    private final Map<String, CachedListing> listingCache = new ConcurrentHashMap<>();
     private String authority;
     private String scheme = "wasb";
     private URI uri;
@@ -36,10 +48,13 @@ class MockRawLocalFileSystem extends RawLocalFileSystem {
         }
     }
 
+    /**
+     * List the directory with a single scan which reads the attributes of all children in bulk. The result is cached
+     * for the whole job, until the directory is modified or a file is changed through this file system.
+     */
     @Override
     public FileStatus[] listStatus(Path f) throws IOException {
         File localf = pathToFile(f);
-        FileStatus[] results;
 
         if (!localf.exists()) {
             throw new FileNotFoundException("File " + f + " does not exist");
@@ -49,27 +64,109 @@ class MockRawLocalFileSystem extends RawLocalFileSystem {
                     new RawLocalFileStatus(localf, getDefaultBlockSize(f), makeQualified(f)) };
         }
 
-        String[] names = localf.list();
-        if (names == null) {
-            return null;
+        String cacheKey = localf.getAbsolutePath();
+        long dirModified = localf.lastModified();
+        CachedListing cached = listingCache.get(cacheKey);
+        if (cached != null && cached.dirModified == dirModified) {
+            return cached.statuses.clone();
         }
-        results = new FileStatus[names.length];
-        int j = 0;
-        for (int i = 0; i < names.length; i++) {
-            try {
-                // Assemble the path using the Path 3 arg constructor to make sure
-                // paths with colon are properly resolved on Linux
-                results[j] = getFileStatus(new Path(f, new Path(null, null, names[i])));
-                j++;
-            } catch (FileNotFoundException e) {
-                // ignore the files not found since the dir list may have have changed
-                // since the names[] list was generated.
+
+        List<FileStatus> results = new ArrayList<>();
+        long defaultBlockSize = getDefaultBlockSize(f);
+        try (DirectoryStream<java.nio.file.Path> children = Files.newDirectoryStream(localf.toPath())) {
+            for (java.nio.file.Path child : children) {
+                try {
+                    // Assemble the path using the Path 3 arg constructor to make sure
+                    // paths with colon are properly resolved on Linux
+                    Path childPath = new Path(f, new Path(null, null, child.getFileName().toString()));
+                    results.add(new RawLocalFileStatus(
+                            child.toFile(), readAttributes(child), defaultBlockSize, makeQualified(childPath)));
+                } catch (NoSuchFileException e) {
+                    // ignore the files not found since the dir may have changed during listing
+                }
             }
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("File " + f + " does not exist");
         }
-        if (j == names.length) {
-            return results;
-        }
-        return Arrays.copyOf(results, j);
+
+        FileStatus[] statuses = results.toArray(new FileStatus[0]);
+        listingCache.put(cacheKey, new CachedListing(dirModified, statuses));
+
+        return statuses.clone();
+    }
+
+    private static BasicFileAttributes readAttributes(java.nio.file.Path path) throws IOException {
+        return IS_POSIX
+               ? Files.readAttributes(path, PosixFileAttributes.class)
+               : Files.readAttributes(path, BasicFileAttributes.class);
+    }
+
+    private void invalidateListingCache() {
+        listingCache.clear();
+    }
+
+    @Override
+    public FSDataOutputStream append(Path f, int bufferSize, Progressable progress) throws IOException {
+        invalidateListingCache();
+        return super.append(f, bufferSize, progress);
+    }
+
+    @Override
+    public FSDataOutputStream create(Path f, boolean overwrite, int bufferSize, short replication, long blockSize,
+                                     Progressable progress) throws IOException {
+        invalidateListingCache();
+        return super.create(f, overwrite, bufferSize, replication, blockSize, progress);
+    }
+
+    @Override
+    public FSDataOutputStream create(Path f, FsPermission permission, boolean overwrite, int bufferSize,
+                                     short replication, long blockSize, Progressable progress) throws IOException {
+        invalidateListingCache();
+        return super.create(f, permission, overwrite, bufferSize, replication, blockSize, progress);
+    }
+
+    @Override
+    public FSDataOutputStream createNonRecursive(Path f, FsPermission permission, EnumSet<CreateFlag> flags,
+                                                 int bufferSize, short replication, long blockSize,
+                                                 Progressable progress) throws IOException {
+        invalidateListingCache();
+        return super.createNonRecursive(f, permission, flags, bufferSize, replication, blockSize, progress);
+    }
+
+    @Override
+    public boolean rename(Path src, Path dst) throws IOException {
+        invalidateListingCache();
+        return super.rename(src, dst);
+    }
+
+    @Override
+    public boolean delete(Path p, boolean recursive) throws IOException {
+        invalidateListingCache();
+        return super.delete(p, recursive);
+    }
+
+    @Override
+    public boolean mkdirs(Path f) throws IOException {
+        invalidateListingCache();
+        return super.mkdirs(f);
+    }
+
+    @Override
+    public void setOwner(Path p, String username, String groupname) throws IOException {
+        invalidateListingCache();
+        super.setOwner(p, username, groupname);
+    }
+
+    @Override
+    public void setPermission(Path p, FsPermission permission) throws IOException {
+        invalidateListingCache();
+        super.setPermission(p, permission);
+    }
+
+    @Override
+    public void setTimes(Path p, long mtime, long atime) throws IOException {
+        invalidateListingCache();
+        super.setTimes(p, mtime, atime);
     }
 
     @Override
@@ -119,6 +216,21 @@ class MockRawLocalFileSystem extends RawLocalFileSystem {
             this.file = f;
         }
 
+        RawLocalFileStatus(File f, BasicFileAttributes attributes, long defaultBlockSize, Path p) {
+            super(attributes.size(), attributes.isDirectory(), 1, defaultBlockSize,
+                  attributes.lastModifiedTime().toMillis(), p);
+            this.file = f;
+
+            // Take the permission info already read, instead of running `ls -ld` for every file later
+            if (attributes instanceof PosixFileAttributes) {
+                PosixFileAttributes posixAttributes = (PosixFileAttributes) attributes;
+                setPermission(FsPermission.valueOf((attributes.isDirectory() ? "d" : "-") +
+                        PosixFilePermissions.toString(posixAttributes.permissions())));
+                setOwner(posixAttributes.owner().getName());
+                setGroup(posixAttributes.group().getName());
+            }
+        }
+
         @Override
         public FsPermission getPermission() {
             if (!isPermissionLoaded()) {
@@ -199,6 +311,16 @@ class MockRawLocalFileSystem extends RawLocalFileSystem {
         }
     }
 
+    private static class CachedListing {
+        private final long dirModified;
+        private final FileStatus[] statuses;
+
+        CachedListing(long dirModified, FileStatus[] statuses) {
+            this.dirModified = dirModified;
+            this.statuses = statuses;
+        }
+    }
+
     @Override
     public File pathToFile(Path path) {
         Path realPath;
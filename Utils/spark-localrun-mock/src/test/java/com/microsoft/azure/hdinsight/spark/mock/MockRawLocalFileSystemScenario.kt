@@ -24,14 +24,18 @@ package com.microsoft.azure.hdinsight.spark.mock
 
 import cucumber.api.java.en.Given
 import cucumber.api.java.en.Then
+import cucumber.api.java.en.When
 import org.apache.hadoop.conf.Configuration
 import org.apache.hadoop.fs.Path
 import org.assertj.core.api.Assertions.assertThat
 import java.io.File
+import java.nio.file.Files
 import kotlin.test.assertNotNull
 
 class MockRawLocalFileSystemScenario {
     private var workDir = ""
+    private var localFolder: File? = null
+    private val mockFs = MockRawLocalFileSystem().apply { conf = Configuration() }
 
     @Given("^set mocked file system local working directory to '(.*)'")
     fun setWorkingDirectory(workDir: String) {
@@ -51,4 +55,36 @@ class MockRawLocalFileSystemScenario {
         fs.conf = Configuration()
         assertNotNull(fs.getFileStatus(Path(path)))
     }
+
+    @Then("^mocked folder '(.*)' should list '(.*)'$")
+    fun verifyFolderList(path: String, expectedNames: String) {
+        val statuses = mockFs.listStatus(Path(path))
+
+        assertThat(statuses.map { it.path.name })
+                .containsExactlyInAnyOrder(*expectedNames.split(", ").toTypedArray())
+        statuses.forEach { assertThat(it.owner).isNotEmpty() }
+    }
+
+    @Given("^create local folder with files '(.*)'$")
+    fun createLocalFolder(names: String) {
+        localFolder = Files.createTempDirectory("mockfs").toFile().apply {
+            deleteOnExit()
+            names.split(", ").forEach { File(this, it).createNewFile() }
+        }
+    }
+
+    @When("^create file '(.*)' in mocked local folder$")
+    fun createFileInLocalFolder(name: String) {
+        mockFs.create(Path(localFolder!!.toURI().toString(), name)).close()
+    }
+
+    @When("^delete file '(.*)' in mocked local folder$")
+    fun deleteFileInLocalFolder(name: String) {
+        mockFs.delete(Path(localFolder!!.toURI().toString(), name), false)
+    }
+
+    @Then("^mocked local folder should list '(.*)'$")
+    fun verifyLocalFolderList(expectedNames: String) {
+        verifyFolderList(localFolder!!.toURI().toString(), expectedNames)
+    }
 }
\ No newline at end of file
@@ -26,3 +26,15 @@ Feature: Mock File System Unit Test
   Scenario: Resources file exists
     Given set mocked file system local working directory to 'src/test/resources/data/__default__/user/current'
     Then mocked file 'my_words.txt' should exists
+
+  Scenario: List resources folder
+    Given set mocked file system local working directory to 'src/test/resources/data/__default__/user/current'
+    Then mocked folder '/user/current' should list 'my_words.txt'
+
+  Scenario: List local folder after files are changed
+    Given create local folder with files 'a.txt, b.txt'
+    Then mocked local folder should list 'a.txt, b.txt'
+    When create file 'c.txt' in mocked local folder
+    Then mocked local folder should list 'a.txt, b.txt, c.txt'
+    When delete file 'a.txt' in mocked local folder
+    Then mocked local folder should list 'b.txt, c.txt'
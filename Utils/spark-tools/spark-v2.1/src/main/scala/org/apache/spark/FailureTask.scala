@@ -59,3 +59,7 @@ case class FailureTask(
   isResult: Boolean
 )
 
+object FailureTask {
+  // Serialized objects are saved as binary files beside the context, and referred by their file names
+  val objectFileExtension = ".bin"
+}
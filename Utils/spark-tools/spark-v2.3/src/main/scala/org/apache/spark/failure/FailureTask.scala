@@ -61,6 +61,8 @@ case class FailureTask(
 )
 
 object FailureTask {
-  val version = "0.1"
+  // Since 0.2, serialized objects are saved as binary files beside the context, and referred by their file names
+  val version = "0.2"
+  val objectFileExtension = ".bin"
 }
 
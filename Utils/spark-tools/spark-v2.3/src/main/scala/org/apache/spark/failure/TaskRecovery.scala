@@ -44,18 +44,21 @@ class TaskRecovery(sc: SparkContext, failureTask: FailureTask) extends Logging {
   import TaskRecovery._
 
   private val serializer = SparkEnv.get.closureSerializer.newInstance()
+  // the binary object files are saved beside the context file, and referred by their names
+  private val contextDir = sc.getConf.getOption("spark.failure.task.context")
+    .map(context => Paths.get(context).toAbsolutePath.getParent)
   private val fs = org.apache.hadoop.fs.FileSystem.get(sc.hadoopConfiguration)
   private val bcMap: Map[Long, Broadcast[Any]] = failureTask.bcs
     .sortBy(_.id)
     .map(bc => {
-      val newBc = sc.broadcast(decodeObj[Any](serializer, bc.value))
+      val newBc = sc.broadcast(decodeObj[Any](serializer, bc.value, contextDir))
 
       bc.id -> newBc
     }) toMap
 
   private val taskBinary = bcMap(failureTask.binaryTaskBcId).asInstanceOf[Broadcast[Array[Byte]]]
 
-  private val part = decodeObj[Partition](serializer, failureTask.partitionEnc)
+  private val part = decodeObj[Partition](serializer, failureTask.partitionEnc, contextDir)
   private val locs = failureTask.hosts.map(HostTaskLocation).toSeq
   private val metrics = TaskMetrics.registered
 
@@ -103,7 +106,7 @@ class TaskRecovery(sc: SparkContext, failureTask: FailureTask) extends Logging {
         }}
 
         val recoveryMapStatus = MapOutputTracker.deserializeMapStatuses(
-          Base64.getDecoder.decode(shuffleDep.mapStatusEnc))
+          readObjectBytes(shuffleDep.mapStatusEnc, contextDir))
           .map(loc => loc.getClass.getDeclaredFields
             .find(_.getName.endsWith("$$loc"))
             .map(locationField => {
@@ -163,8 +166,19 @@ class TaskRecovery(sc: SparkContext, failureTask: FailureTask) extends Logging {
 }
 
 object TaskRecovery {
-  def decodeObj[T : ClassTag](serializer: SerializerInstance, code: String): T = {
-    val objBytes = Base64.getDecoder.decode(code)
+  // The object is either saved in a binary file, or Base64 encoded inline by contexts before version 0.2
+  // The object file name is resolved against the directory of the context file
+  def readObjectBytes(code: String, contextDir: Option[java.nio.file.Path]): Array[Byte] =
+    if (code.endsWith(FailureTask.objectFileExtension)) {
+      Files.readAllBytes(contextDir.map(_.resolve(code)).getOrElse(Paths.get(code)))
+    } else {
+      Base64.getDecoder.decode(code)
+    }
+
+  def decodeObj[T : ClassTag](serializer: SerializerInstance,
+                              code: String,
+                              contextDir: Option[java.nio.file.Path]): T = {
+    val objBytes = readObjectBytes(code, contextDir)
 
     serializer.deserialize[T](ByteBuffer.wrap(objBytes))
   }
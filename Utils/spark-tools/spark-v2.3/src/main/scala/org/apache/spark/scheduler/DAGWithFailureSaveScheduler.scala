@@ -25,7 +25,8 @@ package org.apache.spark.scheduler
 import java.io._
 import java.net.URI
 import java.text.SimpleDateFormat
-import java.util.{Base64, Date}
+import java.util.Date
+import java.util.concurrent.{ConcurrentHashMap, CountDownLatch, Semaphore}
 
 import org.apache.commons.io.IOUtils
 import org.apache.commons.lang3.StringUtils
@@ -34,11 +35,13 @@ import org.apache.spark._
 import org.apache.spark.broadcast.Broadcast
 import org.apache.spark.failure.{BroadcastValue, FailureTask, ShuffleData, ShuffleDeps}
 import org.apache.spark.network.buffer.ManagedBuffer
+import org.apache.spark.network.shuffle.BlockFetchingListener
 import org.apache.spark.rdd.RDD
 import org.apache.spark.storage._
-import org.apache.spark.util.{Clock, SystemClock, Utils}
+import org.apache.spark.util.{Clock, SystemClock, ThreadUtils, Utils}
 import org.json4s.jackson.Serialization.write
 
+import scala.collection.JavaConverters._
 import scala.collection.mutable
 import scala.language.postfixOps
 import scala.reflect.ClassTag
@@ -83,15 +86,29 @@ class DAGWithFailureSaveScheduler(
     sc.conf.getSizeAsBytes("spark.shuffle.mapOutput.minSizeForBroadcast", "512k").toInt
   private val serializer = SparkEnv.get.closureSerializer.newInstance()
 
-  def getEncodedByteArray(buffer: Array[Byte]): String =
-    Base64.getEncoder.encode(buffer)
-      .map(_.toChar)
-      .mkString
+  private val maxBlocksInFlight = sc.conf.getInt("spark.failure.save.maxBlocksInFlight", 16)
+  private lazy val shuffleSavingPool =
+    ThreadUtils.newDaemonCachedThreadPool("failure-save-shuffle", maxBlocksInFlight)
 
-  def encodeObject[T: ClassTag](obj: T): String = {
-    val objBytes = serializer.serialize[T](obj).array()
+  def writeObjectFile[T: ClassTag](path: Path, obj: T): Unit = {
+    val objBytes = serializer.serialize[T](obj)
+    val out = fs.create(path, true)
 
-    getEncodedByteArray(objBytes)
+    Utils.tryWithSafeFinally {
+      out.write(objBytes.array(), objBytes.arrayOffset() + objBytes.position(), objBytes.remaining())
+    } {
+      out.close()
+    }
+  }
+
+  def writeBytesFile(path: Path, bytes: Array[Byte]): Unit = {
+    val out = fs.create(path, true)
+
+    Utils.tryWithSafeFinally {
+      out.write(bytes)
+    } {
+      out.close()
+    }
   }
 
   def writeIndexFile(outputStream: OutputStream, lengths: Array[Long]): Unit = {
@@ -110,21 +127,64 @@ class DAGWithFailureSaveScheduler(
   }
 
 
-  // from remote or local
-  def getShuffleBuffer(blockManagerId: BlockManagerId, blockId: BlockId): (BlockId, Option[ManagedBuffer]) = {
-    logDebug(s"Getting shuffle block $blockId from $blockManagerId")
+  /**
+    * Fetch blocks from remote or local block managers concurrently, with at most `maxBlocksInFlight` blocks being
+    * fetched or saved at the same time. Each fetched block is handed to `save` on the saving pool.
+    *
+    * @return the blocks saved successfully
+    */
+  def fetchAndSaveBlocks(blocks: Seq[(BlockManagerId, BlockId, Long)],
+                         save: (BlockId, Long, ManagedBuffer) => Unit): Set[BlockId] = {
+    val inFlight = new Semaphore(maxBlocksInFlight)
+    val pending = new CountDownLatch(blocks.size)
+    val saved = ConcurrentHashMap.newKeySet[BlockId]()
+
+    def complete(): Unit = {
+      inFlight.release()
+      pending.countDown()
+    }
+
+    blocks.foreach { case (blockManagerId, blockId, blockSize) =>
+      inFlight.acquire()
+      logDebug(s"Getting shuffle block $blockId from $blockManagerId")
 
-    try {
-      val buffer = driverBlockManager.blockTransferService.fetchBlockSync(
-        blockManagerId.host, blockManagerId.port, blockManagerId.executorId, blockId.toString(), null)
+      val listener = new BlockFetchingListener {
+        override def onBlockFetchFailure(fetchedBlockId: String, exception: Throwable): Unit = {
+          logWarning(s"Failed to fetch remote block $blockId from $blockManagerId, failure cause:", exception)
+          complete()
+        }
 
-      (blockId, Some(buffer))
-    } catch {
-      case NonFatal(e) =>
-        logWarning(s"Failed to fetch remote block $blockId from $blockManagerId, failure cause:", e)
+        override def onBlockFetchSuccess(fetchedBlockId: String, data: ManagedBuffer): Unit = {
+          // The transport releases the buffer once the callback returns, so keep it until saved
+          data.retain()
+          shuffleSavingPool.execute(new Runnable {
+            override def run(): Unit = {
+              try {
+                save(blockId, blockSize, data)
+                saved.add(blockId)
+              } catch {
+                case NonFatal(e) => logWarning(s"Failed to save block $blockId, failure cause:", e)
+              } finally {
+                data.release()
+                complete()
+              }
+            }
+          })
+        }
+      }
 
-        (blockId, None)
+      try {
+        driverBlockManager.blockTransferService.fetchBlocks(
+          blockManagerId.host, blockManagerId.port, blockManagerId.executorId, Array(blockId.toString), listener, null)
+      } catch {
+        case NonFatal(e) =>
+          logWarning(s"Failed to fetch remote block $blockId from $blockManagerId, failure cause:", e)
+          complete()
+      }
     }
+
+    pending.await()
+    saved.asScala.toSet
   }
 
   def saveFailureTask(task: Task[_], stageId: Int, taskId: String, attemptId: Int, timestamp: String): Path = {
@@ -161,58 +221,76 @@ class DAGWithFailureSaveScheduler(
     }
 
 
+    // Stream all non-empty shuffle blocks of the failed partition into files concurrently
+    val shuffleBlocks = shuffleMgrBlockIds.flatMap { case (_, mgrBlockIds) =>
+      mgrBlockIds.flatMap { case (blockMgrId, blockIds) =>
+        blockIds
+          .filter(_._2 > 0)
+          .map { case (blockId, blockSize) => (blockMgrId, blockId, blockSize) }
+      }
+    }
+
+    val savedBlocks = fetchAndSaveBlocks(shuffleBlocks, (blockId, blockSize, buffer) => {
+      // Copy the shuffle partition data into a file
+      val shuffleFile = getFailureSavingPath(blockId.toString())
+      val shuffleIn = buffer.createInputStream()
+
+      logInfo(s"Generate shuffle files: $shuffleFile")
+      val shuffleOut = fs.create(shuffleFile, true)
+
+      Utils.tryWithSafeFinally {
+        IOUtils.copy(shuffleIn, shuffleOut)
+      } {
+        shuffleIn.close()
+        shuffleOut.close()
+      }
+
+      // Need to prepare the index file for recovering
+      val SHUFFLE = "shuffle_([0-9]+)_([0-9]+)_([0-9]+)".r
+      blockId.toString() match {
+        case SHUFFLE(shuffleId, mapId, reduceId) =>
+          val shuffleIndexId = ShuffleIndexBlockId(shuffleId.toInt, mapId.toInt, 0)
+          val idxFile = driverBlockManager.diskBlockManager.getFile(shuffleIndexId).getName
+          val idxFileOutput = fs.create(getFailureSavingPath(idxFile), true)
+
+          writeIndexFile(idxFileOutput, Array.fill(reduceId.toInt)(0.toLong) :+ blockSize)
+        case _ =>
+      }
+    })
+
     val shuffleDeps = shuffleMgrBlockIds.flatMap { case (shuffleId, mgrBlockIds) =>
+      val mapStatusFile = s"map_status_$shuffleId${FailureTask.objectFileExtension}"
+      val mapStatus = mapOutputTracker.shuffleStatuses.get(shuffleId).head
+        .serializedMapStatus(SparkEnv.get.broadcastManager, sc.isLocal, minSizeForBroadcast)
+
+      writeBytesFile(getFailureSavingPath(mapStatusFile), mapStatus)
+
       mgrBlockIds
         .map { case (blockMgrId, blockIds) =>
           logInfo(blockMgrId.toString())
 
-          val mapStatus = mapOutputTracker.shuffleStatuses.get(shuffleId).head
-            .serializedMapStatus(SparkEnv.get.broadcastManager, sc.isLocal, minSizeForBroadcast)
-
           ShuffleDeps(
             shuffleId,
             blockIds
-              .filter(_._2 > 0)
-              .map { case (blockId, blockSize) =>
-                getShuffleBuffer(blockMgrId, blockId)._2 match {
-                  case Some(buffer: ManagedBuffer) =>
-                    // Copy the shuffle partition data into a file
-                    val shuffleFile = getFailureSavingPath(blockId.toString())
-                    val shuffleIn = buffer.createInputStream()
-
-                    logInfo(s"Generate shuffle files: $shuffleFile")
-                    val shuffleOut = fs.create(shuffleFile, true)
-
-                    IOUtils.copy(shuffleIn, shuffleOut)
-
-                    buffer.release()
-                    shuffleIn.close()
-                    shuffleOut.close()
-
-                    // Need to prepare the index file for recovering
-                    val SHUFFLE = "shuffle_([0-9]+)_([0-9]+)_([0-9]+)".r
-                    blockId.toString() match {
-                      case SHUFFLE(shuffleId, mapId, reduceId) =>
-                        val shuffleIndexId = ShuffleIndexBlockId(shuffleId.toInt, mapId.toInt, 0)
-                        val idxFile = driverBlockManager.diskBlockManager.getFile(shuffleIndexId).getName
-                        val idxFileOutput = fs.create(getFailureSavingPath(idxFile), true)
-
-                        writeIndexFile(idxFileOutput, Array.fill(reduceId.toInt)(0.toLong) :+ blockSize)
-                        idxFileOutput.close()
-                    }
-
-                    ShuffleData(blockId.toString, blockId.toString, blockMgrId.toString())
-                }
-              } toArray,
-            getEncodedByteArray(mapStatus))
+              .map(_._1)
+              .filter(savedBlocks.contains)
+              .map(blockId => ShuffleData(blockId.toString, blockId.toString, blockMgrId.toString()))
+              .toArray,
+            mapStatusFile)
         }
     } filter(_.shuffleData.nonEmpty) toArray
 
-    // Get broadcast values
+    // Save broadcast values
     val bcs = sc.bcIdMap.map { case (id, bc) =>
-      BroadcastValue(id, encodeObject(bc.value))
+      val bcFile = s"broadcast_$id${FailureTask.objectFileExtension}"
+      writeObjectFile(getFailureSavingPath(bcFile), bc.value)
+
+      BroadcastValue(id, bcFile)
     } toArray
 
+    val partitionFile = s"partition${FailureTask.objectFileExtension}"
+    writeObjectFile(getFailureSavingPath(partitionFile), partition)
+
     implicit val formats = org.json4s.DefaultFormats
 
     val taskName = s"task ${taskId} in stage ${task.stageId}"
@@ -222,7 +300,7 @@ class DAGWithFailureSaveScheduler(
       taskName,
       stageId,
       attemptId,
-      encodeObject(partition),
+      partitionFile,
       Array(),
       -1,
       task.localProperties,